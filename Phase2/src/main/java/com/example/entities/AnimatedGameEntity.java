@@ -2,6 +2,7 @@ package com.example.entities;
 
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
+import com.example.utils.SimulationClock;
 
 import java.awt.*;
 
@@ -17,6 +18,16 @@ import java.awt.*;
 public abstract class AnimatedGameEntity extends GameEntity {
 
     protected Animation animation;
+    /**
+     * Clock of the session the entity belongs to. Speeds tuned for the reference update rate are scaled by it.
+     */
+    protected SimulationClock clock = new SimulationClock();
+    /**
+     * Position of the collision box before the latest update. Moving entities are drawn between this position and the
+     * current one when the screen is redrawn between two updates.
+     */
+    protected float previousXPos;
+    protected float previousYPos;
 
     /**
      * Constructs an AnimationEntity instance with specified parameters including position, dimension,
@@ -30,14 +41,79 @@ public abstract class AnimatedGameEntity extends GameEntity {
     public AnimatedGameEntity(Position position, Dimension dimension, EntityStates state, GameImage animationImage) {
         super(position, dimension, animationImage, state);
         this.gameImage = animationImage;
-        animation = new Animation(animationImage);
+        animation = new Animation(animationImage, clock);
     }
 
     public abstract void update();
 
+    /**
+     * Returns the clock of the session the entity belongs to.
+     *
+     * @return The clock giving the update rate the entity moves and animates at.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock of the session the entity belongs to. The entity and its animation keep their pace at the update
+     * rate of that clock.
+     *
+     * @param clock The clock of the session.
+     */
+    public void setClock(SimulationClock clock) {
+        this.clock = clock;
+        animation.setClock(clock);
+    }
+
     protected void updateAnimation(int index) {
         animation.update(index);
     }
 
     protected abstract void updateState();
+
+    /**
+     * Records the current position of the collision box as the previous position. Moving entities call this at the start
+     * of every update, before they move.
+     */
+    protected void storePreviousPosition() {
+        previousXPos = collisionBox.getCurrentXPos();
+        previousYPos = collisionBox.getCurrentYPos();
+    }
+
+    @Override
+    public float getRenderX(float alpha) {
+        return getInterpolatedXPos(alpha) - collisionBox.getxRenderDifference();
+    }
+
+    @Override
+    public float getRenderY(float alpha) {
+        return getInterpolatedYPos(alpha) - collisionBox.getyRenderDifference();
+    }
+
+    /**
+     * Returns the x coordinate of the collision box between its previous and current position.
+     *
+     * @param alpha How far between the previous (0) and current (1) position the coordinate should lie.
+     * @return The interpolated x coordinate.
+     */
+    protected float getInterpolatedXPos(float alpha) {
+        if (alpha >= 1f) {
+            return collisionBox.getCurrentXPos();
+        }
+        return previousXPos + (collisionBox.getCurrentXPos() - previousXPos) * alpha;
+    }
+
+    /**
+     * Returns the y coordinate of the collision box between its previous and current position.
+     *
+     * @param alpha How far between the previous (0) and current (1) position the coordinate should lie.
+     * @return The interpolated y coordinate.
+     */
+    protected float getInterpolatedYPos(float alpha) {
+        if (alpha >= 1f) {
+            return collisionBox.getCurrentYPos();
+        }
+        return previousYPos + (collisionBox.getCurrentYPos() - previousYPos) * alpha;
+    }
 }
\ No newline at end of file
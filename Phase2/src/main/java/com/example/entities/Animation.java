@@ -1,6 +1,15 @@
 package com.example.entities;
 
+import com.example.utils.AtlasRegion;
+import com.example.utils.ResourceLoader;
+import com.example.utils.SimulationClock;
+import com.example.utils.SpriteAtlas;
+
+import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Represents an animation handler that manages multiple animation types and frames from a sprite sheet.
@@ -12,10 +21,45 @@ import java.awt.image.BufferedImage;
  */
 public class Animation {
 
+    /**
+     * The frames cut from each sprite sheet that is not in the {@link SpriteAtlas}, shared by every animation of the
+     * same sheet. Sheets are compared by identity, and their frames are forgotten once the sheet itself is no longer used.
+     */
+    private static final Map<BufferedImage, AtlasRegion[][]> FRAMES_BY_SHEET =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * The mirrored frames of each sprite sheet that has no mirrored frames in the {@link SpriteAtlas}, shared in the same
+     * way as {@link #FRAMES_BY_SHEET}.
+     */
+    private static final Map<BufferedImage, AtlasRegion[][]> MIRRORED_FRAMES_BY_SHEET =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Matrix of images representing the animations frames for each type.
      */
-    private final BufferedImage[][] animations;
+    private final AtlasRegion[][] animations;
+    /**
+     * Matrix of the animation frames mirrored from left to right, looked up the first time a mirrored frame is drawn.
+     */
+    private AtlasRegion[][] mirroredAnimations;
+    /**
+     * The scale of the frames in {@link #scaledAnimations} and {@link #scaledMirroredAnimations}, or 0 if none were
+     * looked up yet.
+     */
+    private float scale;
+    /**
+     * Matrix of the animation frames resampled to {@link #scale}, looked up the first time a frame is drawn at it.
+     */
+    private AtlasRegion[][] scaledAnimations;
+    /**
+     * Matrix of the mirrored animation frames resampled to {@link #scale}, looked up the first time a mirrored frame is
+     * drawn at it.
+     */
+    private AtlasRegion[][] scaledMirroredAnimations;
+    /**
+     * The sprite sheet the frames are cut from.
+     */
+    private final GameImage image;
     /**
      * Number of animation types. The number of rows in the sprite sheet.
      */
@@ -33,38 +77,60 @@ public class Animation {
      */
     private int currentFrame;
     /**
-     * Counter to track updates and determine when to advance frames.
+     * Progress towards the next frame, counted in reference updates. Every update adds the tick scale read at that
+     * moment, so the animation keeps its pace when the update rate changes while it is playing.
      */
-    private int animationCounter;
+    private float animationCounter;
     /**
-     * Speed at which the animation updates (lower is faster).
+     * Speed at which the animation updates (lower is faster). Counted in updates at the reference update rate.
      */
     private int animationSpeed;
     private final int ANIMATION_DEFAULT_SPEED = 144;
+    /**
+     * Clock of the session the animated entity belongs to, giving the pace of its updates.
+     */
+    private SimulationClock clock;
 
     /**
      * Initializes a new Animation object with a specified image source for sprite frames.
      * This constructor splits the provided image into sub-images according to the animation types and frames. It is
      * assumed that there are 2 animation types, and 6 frames, as that is the standard for the asset pack utilized.
      *
+     * The animation advances at the pace of a clock running at the reference update rate until another clock is set.
+     *
      * @param image The source {@link GameImage} containing sprite sheet.
      * @author Pardeep Singh Manhas
      */
     public Animation(GameImage image) {
+        this(image, new SimulationClock());
+    }
+
+    /**
+     * Initializes a new Animation object that advances at the pace of the given clock. See
+     * {@link #Animation(GameImage)}.
+     *
+     * @param image The source {@link GameImage} containing sprite sheet.
+     * @param clock The clock of the session the animated entity belongs to.
+     */
+    public Animation(GameImage image, SimulationClock clock) {
+        this.clock = clock;
         this.animationTypes = 2;
         this.frames = 6;
         this.animationCounter = 0;
         this.currentFrame = 0;
         this.currentAnimationType = 0;
         this.animationSpeed = ANIMATION_DEFAULT_SPEED / (frames * 2);
-        this.animations = new BufferedImage[animationTypes][frames];
+        this.animations = new AtlasRegion[animationTypes][frames];
+        this.image = image;
         initializeAnimations(image);
     }
 
 
     /**
      * Initializes the animations matrix using the provided {@link GameImage}.
-     * Each animation type and frame is extracted from the main image as a sub-image.
+     * The frames are taken from the regions of the sheet in the default {@link SpriteAtlas}. A sheet that is not in the
+     * atlas has each animation type and frame extracted as a sub-image, copied into an image of its own that the screen
+     * can draw quickly; those frames are cut once and shared by all animations of the sheet.
      *
      * @param image The game image used to extract sub-images for animations.
      * @author Pardeep Singh Manhas
@@ -73,13 +139,110 @@ public class Animation {
         BufferedImage trueImage = image.getImage();
         int width = image.getImageWidth();
         int height = image.getImageHeight();
+        AtlasRegion[] packed = SpriteAtlas.getDefault().getFrames(trueImage, width, height);
+        if (packed != null && packed.length == animationTypes * frames) {
+            for (int i = 0; i < animationTypes; i++) {
+                System.arraycopy(packed, i * frames, animations[i], 0, frames);
+            }
+            return;
+        }
+        AtlasRegion[][] sheetFrames = FRAMES_BY_SHEET.get(trueImage);
+        if (sheetFrames == null || sheetFrames[0][0].getWidth() != width || sheetFrames[0][0].getHeight() != height) {
+            sheetFrames = new AtlasRegion[animationTypes][frames];
+            for (int i = 0; i < animationTypes; i++) {
+                for (int j = 0; j < frames; j++) {
+                    BufferedImage frame = trueImage.getSubimage(width * j, height * i, width, height);
+                    sheetFrames[i][j] = new AtlasRegion(ResourceLoader.toCompatibleImage(frame), 0, 0, width, height);
+                }
+            }
+            FRAMES_BY_SHEET.put(trueImage, sheetFrames);
+        }
+        for (int i = 0; i < animationTypes; i++) {
+            System.arraycopy(sheetFrames[i], 0, animations[i], 0, frames);
+        }
+    }
+
+
+    /**
+     * Initializes the matrix of mirrored frames. The frames are taken from the mirrored regions of the sheet in the
+     * default {@link SpriteAtlas}. A sheet without mirrored frames in the atlas has each frame copied mirrored into an
+     * image of its own, once for all animations of the sheet.
+     */
+    private void initializeMirroredAnimations() {
+        BufferedImage trueImage = image.getImage();
+        int width = image.getImageWidth();
+        int height = image.getImageHeight();
+        mirroredAnimations = new AtlasRegion[animationTypes][frames];
+        AtlasRegion[] packed = SpriteAtlas.getDefault().getMirroredFrames(trueImage, width, height);
+        if (packed != null && packed.length == animationTypes * frames) {
+            for (int i = 0; i < animationTypes; i++) {
+                System.arraycopy(packed, i * frames, mirroredAnimations[i], 0, frames);
+            }
+            return;
+        }
+        AtlasRegion[][] sheetFrames = MIRRORED_FRAMES_BY_SHEET.get(trueImage);
+        if (sheetFrames == null || sheetFrames[0][0].getWidth() != width || sheetFrames[0][0].getHeight() != height) {
+            sheetFrames = new AtlasRegion[animationTypes][frames];
+            for (int i = 0; i < animationTypes; i++) {
+                for (int j = 0; j < frames; j++) {
+                    BufferedImage frame = ResourceLoader.toCompatibleImage(
+                            new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+                    Graphics2D g = frame.createGraphics();
+                    try {
+                        g.setComposite(AlphaComposite.Src);
+                        g.drawImage(trueImage, width, 0, 0, height,
+                                width * j, height * i, width * (j + 1), height * (i + 1), null);
+                    } finally {
+                        g.dispose();
+                    }
+                    sheetFrames[i][j] = new AtlasRegion(frame, 0, 0, width, height);
+                }
+            }
+            MIRRORED_FRAMES_BY_SHEET.put(trueImage, sheetFrames);
+        }
+        for (int i = 0; i < animationTypes; i++) {
+            System.arraycopy(sheetFrames[i], 0, mirroredAnimations[i], 0, frames);
+        }
+    }
+
+    /**
+     * Builds a matrix of the frames resampled to the current {@link #scale}. The frames are taken from the resampled copy
+     * of the default {@link SpriteAtlas}. A sheet that is not in the atlas has its frames resampled for this animation
+     * alone.
+     *
+     * @param mirrored True to build the mirrored frames, false to build the frames as they are in the sheet.
+     * @return The matrix of resampled frames.
+     */
+    private AtlasRegion[][] createScaledAnimations(boolean mirrored) {
+        int width = image.getImageWidth();
+        int height = image.getImageHeight();
+        AtlasRegion[][] scaled = new AtlasRegion[animationTypes][frames];
+        AtlasRegion[] packed = SpriteAtlas.getDefault().getFrames(image.getImage(), width, height, scale, mirrored);
+        if (packed != null && packed.length == animationTypes * frames) {
+            for (int i = 0; i < animationTypes; i++) {
+                System.arraycopy(packed, i * frames, scaled[i], 0, frames);
+            }
+            return scaled;
+        }
+        int scaledWidth = Math.max(1, Math.round(width * scale));
+        int scaledHeight = Math.max(1, Math.round(height * scale));
         for (int i = 0; i < animationTypes; i++) {
             for (int j = 0; j < frames; j++) {
-                animations[i][j] = trueImage.getSubimage(width * j, height * i, width, height);
+                AtlasRegion frame = getCurrentRegionOf(i, j, mirrored);
+                BufferedImage resampled = ResourceLoader.resample(frame.getSource(), frame.getX(), frame.getY(),
+                        frame.getWidth(), frame.getHeight(), scaledWidth, scaledHeight);
+                scaled[i][j] = new AtlasRegion(resampled, 0, 0, scaledWidth, scaledHeight);
             }
         }
+        return scaled;
     }
 
+    private AtlasRegion getCurrentRegionOf(int type, int frame, boolean mirrored) {
+        if (mirrored && mirroredAnimations == null) {
+            initializeMirroredAnimations();
+        }
+        return (mirrored ? mirroredAnimations : animations)[type][frame];
+    }
 
     /**
      * Updates the animation by advancing the current frame. Potentially changes the animation type based on the specified index
@@ -101,9 +264,9 @@ public class Animation {
      * @author Pardeep Singh Manhas
      */
     private void updateCurrentAnimation() {
-        animationCounter++;
+        animationCounter += clock.getTickScale();
         if (animationCounter >= animationSpeed) {
-            animationCounter = 0;
+            animationCounter -= animationSpeed;
             currentFrame++;
             if (currentFrame == frames) {
                 currentFrame = 0;
@@ -132,9 +295,62 @@ public class Animation {
      * @author Pardeep Singh Manhas
      */
     public BufferedImage getCurrentImage() {
+        return animations[currentAnimationType][currentFrame].getImage();
+    }
+
+    /**
+     * Retrieves the region of the currently displayed frame, which draws it without an image of its own.
+     *
+     * @return The current animation frame as an {@link AtlasRegion}.
+     */
+    public AtlasRegion getCurrentRegion() {
         return animations[currentAnimationType][currentFrame];
     }
 
+    /**
+     * Retrieves the region of the currently displayed frame, facing either way. Sprites facing left are drawn from
+     * frames mirrored once ahead of time, so drawing them costs the same as drawing a sprite facing right.
+     *
+     * @param mirrored True for the frame mirrored from left to right, false for the frame as it is in the sheet.
+     * @return The current animation frame as an {@link AtlasRegion}.
+     */
+    public AtlasRegion getCurrentRegion(boolean mirrored) {
+        return getCurrentRegionOf(currentAnimationType, currentFrame, mirrored);
+    }
+
+    /**
+     * Retrieves the region of the currently displayed frame, facing either way and resampled to the given scale, which
+     * is drawn at its own size with {@link AtlasRegion#draw(java.awt.Graphics, int, int)}. The resampled frames are
+     * looked up the first time a frame is asked for at a scale, and again whenever the scale changes.
+     *
+     * @param mirrored True for the frame mirrored from left to right, false for the frame as it is in the sheet.
+     * @param scale    The scale to draw the frame at. Must be positive.
+     * @return The current animation frame as an {@link AtlasRegion}.
+     */
+    public AtlasRegion getCurrentRegion(boolean mirrored, float scale) {
+        if (scale == 1f) {
+            return getCurrentRegion(mirrored);
+        }
+        if (!(scale > 0)) {
+            throw new IllegalArgumentException("Scale must be positive: " + scale);
+        }
+        if (scale != this.scale) {
+            this.scale = scale;
+            scaledAnimations = null;
+            scaledMirroredAnimations = null;
+        }
+        if (mirrored) {
+            if (scaledMirroredAnimations == null) {
+                scaledMirroredAnimations = createScaledAnimations(true);
+            }
+            return scaledMirroredAnimations[currentAnimationType][currentFrame];
+        }
+        if (scaledAnimations == null) {
+            scaledAnimations = createScaledAnimations(false);
+        }
+        return scaledAnimations[currentAnimationType][currentFrame];
+    }
+
     /**
      * Returns the current animation type index.
      *
@@ -179,6 +395,24 @@ public class Animation {
         this.currentFrame = currentFrame;
     }
 
+    /**
+     * Returns the clock giving the pace of the animation.
+     *
+     * @return The clock of the session the animated entity belongs to.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock giving the pace of the animation.
+     *
+     * @param clock The clock of the session the animated entity belongs to.
+     */
+    public void setClock(SimulationClock clock) {
+        this.clock = clock;
+    }
+
     /**
      * Returns the current speed of the animation updates. Lower values result in faster animation.
      *
@@ -5,7 +5,6 @@ import java.awt.*;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 
-import java.awt.image.BufferedImage;
 
 /**
  * Coin class represents a reward entity in the game that can be collected by the player.
@@ -60,8 +59,7 @@ public class Coin extends Reward implements Interactable {
     public void render(Graphics g, int xOffset, int yOffset) {
         int x = (int) collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference() - xOffset;
         int y = (int) collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference() - yOffset;
-        BufferedImage image = gameImage.getImage();
-        g.drawImage(image, x, y, size.width, size.height, null);
+        gameImage.getRegion().draw(g, x, y, size.width, size.height);
     }
 
     /**
@@ -1,8 +1,8 @@
 package com.example.entities;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 
+import com.example.utils.AtlasRegion;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 
@@ -31,6 +31,7 @@ public class Dynamite extends Enemies implements Interactable {
         super(position, dimension, state, gameImage);
         // Initialize animations and collision box
         initializeCollisionBox();
+        storePreviousPosition();
     }
 
     @Override
@@ -59,15 +60,19 @@ public class Dynamite extends Enemies implements Interactable {
         collisionBox = new CollisionBox(pos, dim, IMAGE_X_OFFSET, IMAGE_Y_OFFSET);
     }
 
+    @Override
+    public AtlasRegion getRenderRegion() {
+        return animation.getCurrentRegion().getScaled(gameImage.getImageWidth(), gameImage.getImageHeight());
+    }
+
     @Override
     public void render(Graphics g, int xOffset, int yOffset) {
         // Render the dynamite with offset
         int x = (int) collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference() - xOffset;
         int y = (int) collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference() - yOffset;
-        BufferedImage image = animation.getCurrentImage();
         int width = gameImage.getImageWidth();
         int height = gameImage.getImageHeight();
-        g.drawImage(image, x, y, width, height, null);
+        animation.getCurrentRegion().draw(g, x, y, width, height);
     }
 
     /**
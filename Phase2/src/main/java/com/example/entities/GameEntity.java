@@ -1,5 +1,6 @@
 package com.example.entities;
 
+import com.example.utils.AtlasRegion;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 
@@ -32,10 +33,24 @@ public abstract class GameEntity {
      */
     protected CollisionBox collisionBox;
 
-    protected final float renderScale = 2 / 3f;
+    /**
+     * The default scale animated sprites are drawn at, which draws the 192 pixel frames of the knight and goblins at
+     * 128 pixels.
+     */
+    public static final float DEFAULT_RENDER_SCALE = 2 / 3f;
+
+    /**
+     * The scale the frames of the sprite of the entity are drawn at.
+     */
+    protected float renderScale = DEFAULT_RENDER_SCALE;
 
     protected GameImage gameImage;
 
+    /**
+     * The bucket of the {@link com.example.levels.SpatialGrid} indexing the entity, or -1 while no grid indexes it.
+     */
+    private int gridBucket = -1;
+
     /**
      * Constructs a GameEntity with specified position, dimension, and state.
      * Also initializes the collision box based on the position and size of this instance.
@@ -112,6 +127,24 @@ public abstract class GameEntity {
         return size.height;
     }
 
+    /**
+     * Retrieves the bucket of the spatial grid indexing the entity. An entity is indexed by one grid at most.
+     *
+     * @return The index of the bucket, or -1 if no grid indexes the entity.
+     */
+    public int getGridBucket() {
+        return gridBucket;
+    }
+
+    /**
+     * Sets the bucket of the spatial grid indexing the entity. Only called by the grid.
+     *
+     * @param gridBucket The index of the bucket, or -1 once no grid indexes the entity.
+     */
+    public void setGridBucket(int gridBucket) {
+        this.gridBucket = gridBucket;
+    }
+
     /**
      * Retrieves the collision box of the entity. The collision box is generally smaller than the entities size. Used for
      * collision/entity detection.
@@ -123,6 +156,73 @@ public abstract class GameEntity {
         return collisionBox.getCollisionBox();
     }
 
+    /**
+     * Retrieves the scale the frames of the sprite of the entity are drawn at.
+     *
+     * @return The render scale of the entity.
+     */
+    public float getRenderScale() {
+        return renderScale;
+    }
+
+    /**
+     * Sets the scale the frames of the sprite of the entity are drawn at. Animated entities draw frames resampled to
+     * that scale ahead of time, which are made the first time they are drawn at a new scale.
+     *
+     * @param renderScale The new render scale. Must be positive.
+     */
+    public void setRenderScale(float renderScale) {
+        if (!(renderScale > 0)) {
+            throw new IllegalArgumentException("Render scale must be positive: " + renderScale);
+        }
+        this.renderScale = renderScale;
+    }
+
+    /**
+     * Retrieves the rectangle of the world the sprite of the entity is drawn in at its current position, which is
+     * usually larger than its collision box.
+     *
+     * @param bounds The rectangle to store the bounds in, so that no rectangle is created.
+     * @return The given rectangle, holding the bounds of the sprite.
+     */
+    public Rectangle getRenderBounds(Rectangle bounds) {
+        bounds.setBounds((int) collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference(),
+                (int) collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference(), size.width, size.height);
+        return bounds;
+    }
+
+    /**
+     * Retrieves the x coordinate in the world of the left edge of the sprite of the entity, between its position before
+     * and after the latest update. Entities that do not move are always at their current position.
+     *
+     * @param alpha How far between the previous (0) and latest (1) update the sprite should be placed.
+     * @return The x coordinate the sprite is drawn at.
+     */
+    public float getRenderX(float alpha) {
+        return collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference();
+    }
+
+    /**
+     * Retrieves the y coordinate in the world of the top edge of the sprite of the entity. See {@link
+     * #getRenderX(float)}.
+     *
+     * @param alpha How far between the previous (0) and latest (1) update the sprite should be placed.
+     * @return The y coordinate the sprite is drawn at.
+     */
+    public float getRenderY(float alpha) {
+        return collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference();
+    }
+
+    /**
+     * Retrieves the image the entity is drawn with at the moment, already at the size it is drawn at, so that it can
+     * be drawn by another thread after the entity has moved on without looking at the entity again.
+     *
+     * @return The region holding the current sprite of the entity, to be drawn at its own size.
+     */
+    public AtlasRegion getRenderRegion() {
+        return gameImage.getRegion().getScaled(size.width, size.height);
+    }
+
     /**
      * Initializes the collision box of the entity. This abstract method must be implemented by subclasses
      * to define how the collision box is initialized based on the entity's position and size.
@@ -140,4 +240,17 @@ public abstract class GameEntity {
      * @author Pardeep Singh Manhas
      */
     public abstract void render(Graphics g, int xOffset, int yOffset);
+
+    /**
+     * Renders the entity with an offset at a point between its previous and current position. Entities that do not move
+     * are drawn at their current position.
+     *
+     * @param g       The graphics object used for rendering this instance.
+     * @param xOffset The x-offset for rendering.
+     * @param yOffset The y-offset for rendering.
+     * @param alpha   How far between the previous (0) and current (1) position the entity should be drawn.
+     */
+    public void render(Graphics g, int xOffset, int yOffset, float alpha) {
+        render(g, xOffset, yOffset);
+    }
 }
@@ -1,5 +1,8 @@
 package com.example.entities;
 
+import com.example.utils.AtlasRegion;
+import com.example.utils.SpriteAtlas;
+
 import java.awt.image.BufferedImage;
 
 public class GameImage {
@@ -7,6 +10,7 @@ public class GameImage {
     private BufferedImage image;
     private int imageWidth;
     private int imageHeight;
+    private AtlasRegion region;
 
     public GameImage(BufferedImage image, int imageWidth, int imageHeight) {
         this.image = image;
@@ -20,6 +24,21 @@ public class GameImage {
 
     public void setImage(BufferedImage image) {
         this.image = image;
+        this.region = null;
+    }
+
+    /**
+     * Returns the region to draw the whole image from: its region in the default {@link SpriteAtlas} if it was packed
+     * there, or else the image itself.
+     *
+     * @return The region covering the whole image.
+     */
+    public AtlasRegion getRegion() {
+        if (region == null) {
+            AtlasRegion[] packed = SpriteAtlas.getDefault().getFrames(image, image.getWidth(), image.getHeight());
+            region = packed != null ? packed[0] : new AtlasRegion(image, 0, 0, image.getWidth(), image.getHeight());
+        }
+        return region;
     }
 
     public int getImageWidth() {
@@ -2,12 +2,12 @@ package com.example.entities;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
 import com.example.ai.MovementUtils;
 import com.example.ai.Node;
 import com.example.ai.Pathfinder;
+import com.example.utils.AtlasRegion;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 
@@ -46,6 +46,7 @@ public class Goblin extends Enemies implements Mover, Interactable {
         this.lastKnightPosition = new Position(knight.getCollisionBox().x, knight.getCollisionBox().y);
         this.pathfinder = pathfinder;
         initializeEnrageRange();
+        storePreviousPosition();
     }
 
 
@@ -60,6 +61,7 @@ public class Goblin extends Enemies implements Mover, Interactable {
     @Override
     public void update() {
         // Update the Goblin's position and animations
+        storePreviousPosition();
         updateEntityPosition();
         updateState();
         updateAnimation(getState().ordinal());
@@ -76,14 +78,35 @@ public class Goblin extends Enemies implements Mover, Interactable {
         collisionBox = new CollisionBox(pos, dim, IMAGE_X_OFFSET, IMAGE_Y_OFFSET);
     }
 
+    /**
+     * Retrieves the rectangle of the world the sprite is drawn in, whose frames are drawn at the render scale.
+     *
+     * @param bounds The rectangle to store the bounds in.
+     * @return The given rectangle, holding the bounds of the sprite.
+     */
+    @Override
+    public Rectangle getRenderBounds(Rectangle bounds) {
+        super.getRenderBounds(bounds);
+        bounds.setSize(Math.round(size.width * renderScale), Math.round(size.height * renderScale));
+        return bounds;
+    }
+
+    @Override
+    public AtlasRegion getRenderRegion() {
+        return animation.getCurrentRegion(direction < 0, renderScale);
+    }
+
     @Override
     public void render(Graphics g, int xOffset, int yOffset) {
+        render(g, xOffset, yOffset, 1f);
+    }
+
+    @Override
+    public void render(Graphics g, int xOffset, int yOffset, float alpha) {
         // Render the Goblin's current animation frame with an offset
-        int x = (int) collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference() - xOffset;
-        int y = (int) collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference() - yOffset;
-        x += (direction < 0 ? 128 : 0);
-        BufferedImage image = animation.getCurrentImage();
-        g.drawImage(image, x, y, direction * 128, 128, null);
+        int x = (int) getInterpolatedXPos(alpha) - collisionBox.getxRenderDifference() - xOffset;
+        int y = (int) getInterpolatedYPos(alpha) - collisionBox.getyRenderDifference() - yOffset;
+        animation.getCurrentRegion(direction < 0, renderScale).draw(g, x, y);
     }
     @Override
     protected void updateState() {
@@ -136,13 +159,15 @@ public class Goblin extends Enemies implements Mover, Interactable {
     }
 
     /**
-     * Moves the Goblin along a predefined path.
+     * Moves the Goblin along a predefined path. The Goblin never steps past the centre of the next cell, so it reaches
+     * the centre exactly whatever distance it covers per update.
      *
      * @param next The next node in the path to follow.
      */
     private void followPath(Node next) {
         if (currentPath != null && !currentPath.isEmpty()) {
             final int nodeSize = Node.getDEFAULT_SIZE();
+            final float step = getStep();
             // Convert Node's grid position to actual coordinates. Division by 2 for moving to center of tiles.
             float targetX = next.getX() * nodeSize + nodeSize / 2;
             float targetY = next.getY() * nodeSize + nodeSize / 2;
@@ -150,25 +175,17 @@ public class Goblin extends Enemies implements Mover, Interactable {
             float y = collisionBox.getCurrentYPos();
             // Move towards the target position
             if (x < targetY) {
-                collisionBox.setCurrentXPos(x + speed);
-                currentPosition.setX(x + speed);
-                enragedRange.x += speed;
+                moveBy(Math.min(step, targetY - x), 0);
                 direction = 1;
             } else if (x > targetY) {
-                collisionBox.setCurrentXPos(x - speed);
-                currentPosition.setX(x - speed);
-                enragedRange.x -= speed;
+                moveBy(-Math.min(step, x - targetY), 0);
                 direction = -1;
             }
 
             if (y < targetX) {
-                collisionBox.setCurrentYPos(y + speed);
-                currentPosition.setY(y + speed);
-                enragedRange.y += speed;
+                moveBy(0, Math.min(step, targetX - y));
             } else if (y > targetX) {
-                collisionBox.setCurrentYPos(y - speed);
-                currentPosition.setY(y - speed);
-                enragedRange.y -= speed;
+                moveBy(0, -Math.min(step, y - targetX));
             }
             if (y == (int) targetX && x == (int) targetY) {
                 currentPath.remove(0);
@@ -180,33 +197,54 @@ public class Goblin extends Enemies implements Mover, Interactable {
      * Moves the Goblin towards the player.
      */
     private void moveToPlayer() {
-        float x = collisionBox.getCurrentXPos();
-        float y = collisionBox.getCurrentYPos();
-        float xOffset = player.getCollisionBox().x - x;
-        float yOffset = player.getCollisionBox().y - y;
+        final float step = getStep();
+        float xOffset = player.getCollisionBox().x - collisionBox.getCurrentXPos();
+        float yOffset = player.getCollisionBox().y - collisionBox.getCurrentYPos();
         // player below goblin
         if (xOffset > 0) {
-            collisionBox.setCurrentXPos(x + speed);
-            currentPosition.setX(x + speed);
-            enragedRange.x += speed;
+            moveBy(step, 0);
             direction = 1;
         }
         //goblin above player
         if (xOffset < 0) {
-            collisionBox.setCurrentXPos(x - speed);
-            currentPosition.setX(x - speed);
-            enragedRange.x -= speed;
+            moveBy(-step, 0);
             direction = -1;
         }
         if (yOffset > 0) {
-            collisionBox.setCurrentYPos(y + speed);
-            currentPosition.setY(y + speed);
-            enragedRange.y += speed;
+            moveBy(0, step);
         }
         if (yOffset < 0) {
-            collisionBox.setCurrentYPos(y - speed);
-            currentPosition.setY(y - speed);
-            enragedRange.y -= speed;
+            moveBy(0, -step);
+        }
+    }
+
+    /**
+     * Returns the distance the Goblin covers in one update at the current update rate.
+     *
+     * @return The distance covered per update in pixels.
+     */
+    private float getStep() {
+        return speed * clock.getTickScale();
+    }
+
+    /**
+     * Moves the Goblin, its collision box and its enraged range by the given distances.
+     *
+     * @param dx The horizontal distance to move.
+     * @param dy The vertical distance to move.
+     */
+    private void moveBy(float dx, float dy) {
+        if (dx != 0) {
+            float x = collisionBox.getCurrentXPos() + dx;
+            collisionBox.setCurrentXPos(x);
+            currentPosition.setX(x);
+            enragedRange.x += dx;
+        }
+        if (dy != 0) {
+            float y = collisionBox.getCurrentYPos() + dy;
+            collisionBox.setCurrentYPos(y);
+            currentPosition.setY(y);
+            enragedRange.y += dy;
         }
     }
 
@@ -0,0 +1,49 @@
+package com.example.entities;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Updates a range of goblins on a fork-join pool by splitting it in halves until the pieces are small enough to update
+ * in sequence. A goblin's update only moves the goblin itself, plans its path on its own pathfinder and reads the
+ * position of the knight, so goblins can be updated in any order and on any thread with the same result, as long as the
+ * knight does not move during the update.
+ */
+public class GoblinUpdateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Goblin[] goblins;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    /**
+     * Constructs a task updating the goblins from index from (inclusive) to index to (exclusive).
+     *
+     * @param goblins  The goblins to update.
+     * @param from     The index of the first goblin to update.
+     * @param to       The index after the last goblin to update.
+     * @param leafSize The number of goblins below which the range is updated in sequence. Must be positive.
+     */
+    public GoblinUpdateTask(Goblin[] goblins, int from, int to, int leafSize) {
+        if (leafSize <= 0) {
+            throw new IllegalArgumentException("Leaf size must be positive: " + leafSize);
+        }
+        this.goblins = goblins;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= leafSize) {
+            for (int i = from; i < to; i++) {
+                goblins[i].update();
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new GoblinUpdateTask(goblins, from, middle, leafSize),
+                new GoblinUpdateTask(goblins, middle, to, leafSize));
+    }
+}
@@ -5,7 +5,6 @@ import java.awt.*;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 
-import java.awt.image.BufferedImage;
 
 /**
  * Class Name: House
@@ -45,7 +44,6 @@ public class House extends GameEntity {
     public void render(Graphics g, int xOffset, int yOffset) {
         int x = (int) collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference() - xOffset;
         int y = (int) collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference() - yOffset;
-        BufferedImage image = gameImage.getImage();
-        g.drawImage(image, x, y, size.width, size.height, null);
+        gameImage.getRegion().getScaled(size.width, size.height).draw(g, x, y);
     }
 }
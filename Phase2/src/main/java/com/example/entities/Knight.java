@@ -1,19 +1,18 @@
 package com.example.entities;
 
 import com.example.gamestate.Play;
+import com.example.utils.AtlasRegion;
 import com.example.utils.Directions;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 public class Knight extends AnimatedGameEntity implements Mover {
     public final static int KNIGHT_SIZE = 192;
     private final float knightSpeed = 1.25f;
     private int directionMultiplier = 1;
-    private HashMap<Directions, Boolean> movementDirections;
+    private boolean[] movementDirections;
     private boolean currentlyMoving;
     private Play play;
     private int score = 0;
@@ -33,11 +32,13 @@ public class Knight extends AnimatedGameEntity implements Mover {
         currentlyMoving = false;
         initializeMovementDirections();
         initializeCollisionBox();
+        storePreviousPosition();
         this.play = play;
     }
 
     @Override
     public void update() {
+        storePreviousPosition();
         updateEntityPosition();
         updateState();
         updateAnimation(getState().ordinal());
@@ -54,13 +55,34 @@ public class Knight extends AnimatedGameEntity implements Mover {
         collisionBox = new CollisionBox(pos, dim, IMAGE_X_OFFSET, IMAGE_Y_OFFSET);
     }
 
+    /**
+     * Retrieves the rectangle of the world the sprite is drawn in, whose frames are drawn at the render scale.
+     *
+     * @param bounds The rectangle to store the bounds in.
+     * @return The given rectangle, holding the bounds of the sprite.
+     */
+    @Override
+    public Rectangle getRenderBounds(Rectangle bounds) {
+        super.getRenderBounds(bounds);
+        bounds.setSize(Math.round(size.width * renderScale), Math.round(size.height * renderScale));
+        return bounds;
+    }
+
+    @Override
+    public AtlasRegion getRenderRegion() {
+        return animation.getCurrentRegion(directionMultiplier < 0, renderScale);
+    }
+
     @Override
     public void render(Graphics g, int xOffset, int yOffset) {
-        int x = (int) collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference() - xOffset;
-        int y = (int) collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference() - yOffset;
-        x += (directionMultiplier < 0 ? 128 : 0);
-        BufferedImage image = animation.getCurrentImage();
-        g.drawImage(image, x, y, directionMultiplier * 128, 128, null);
+        render(g, xOffset, yOffset, 1f);
+    }
+
+    @Override
+    public void render(Graphics g, int xOffset, int yOffset, float alpha) {
+        int x = (int) getInterpolatedXPos(alpha) - collisionBox.getxRenderDifference() - xOffset;
+        int y = (int) getInterpolatedYPos(alpha) - collisionBox.getyRenderDifference() - yOffset;
+        animation.getCurrentRegion(directionMultiplier < 0, renderScale).draw(g, x, y);
     }
 
     @Override
@@ -68,23 +90,24 @@ public class Knight extends AnimatedGameEntity implements Mover {
         currentlyMoving = false;
         if (!anyDirectionActive())
             return;
+        float speed = knightSpeed * clock.getTickScale();
         float xPositionOffset = 0;
         float yPositionOffset = 0;
         float currentCollisionBoxX = collisionBox.getCurrentXPos();
         float currentCollisionBoxY = collisionBox.getCurrentYPos();
         if (isDirectionActive(Directions.LEFT)) {
             directionMultiplier = -1;
-            xPositionOffset -= knightSpeed;
+            xPositionOffset -= speed;
         }
         if (isDirectionActive(Directions.RIGHT)) {
             directionMultiplier = 1;
-            xPositionOffset += knightSpeed;
+            xPositionOffset += speed;
         }
         if (isDirectionActive(Directions.UP)) {
-            yPositionOffset -= knightSpeed;
+            yPositionOffset -= speed;
         }
         if (isDirectionActive(Directions.DOWN)) {
-            yPositionOffset += knightSpeed;
+            yPositionOffset += speed;
         }
         float newXPos = currentCollisionBoxX + xPositionOffset;
         float newYPos = currentCollisionBoxY + yPositionOffset;
@@ -95,11 +118,16 @@ public class Knight extends AnimatedGameEntity implements Mover {
     }
 
     private boolean anyDirectionActive() {
-        return movementDirections.values().stream().anyMatch(Boolean::booleanValue);
+        for (boolean active : movementDirections) {
+            if (active) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private boolean isDirectionActive(Directions direction) {
-        return movementDirections.get(direction);
+        return movementDirections[direction.ordinal()];
     }
 
     private boolean canMoveToPosition(float newXPos, float newYPos) {
@@ -116,11 +144,7 @@ public class Knight extends AnimatedGameEntity implements Mover {
     }
 
     private void initializeMovementDirections() {
-        movementDirections = new HashMap<>();
-        movementDirections.put(Directions.LEFT, false);
-        movementDirections.put(Directions.RIGHT, false);
-        movementDirections.put(Directions.UP, false);
-        movementDirections.put(Directions.DOWN, false);
+        movementDirections = new boolean[Directions.values().length];
     }
 
     @Override
@@ -133,7 +157,7 @@ public class Knight extends AnimatedGameEntity implements Mover {
     }
 
     public void setActiveDirection(Directions direction, boolean value) {
-        movementDirections.put(direction, value);
+        movementDirections[direction.ordinal()] = value;
     }
 
     public void incrementMandatoryRewardCount() {
@@ -2,10 +2,10 @@ package com.example.entities;
 
 import java.awt.*;
 
+import com.example.utils.AtlasRegion;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 
-import java.awt.image.BufferedImage;
 
 /**
  * Represents a meat entity in the game that can be collected as a reward.
@@ -45,6 +45,11 @@ public class Meat extends Reward implements Interactable {
         collisionBox = new CollisionBox(pos, dim, IMAGE_X_OFFSET, IMAGE_Y_OFFSET);
     }
 
+    @Override
+    public AtlasRegion getRenderRegion() {
+        return gameImage.getRegion().getScaled(MEAT_SIZE, MEAT_SIZE);
+    }
+
     /**
      * Renders the meat entity on the graphics context with an offset.
      *
@@ -56,8 +61,7 @@ public class Meat extends Reward implements Interactable {
     public void render(Graphics g, int xOffset, int yOffset) {
         int x = (int) collisionBox.getCurrentXPos() - collisionBox.getxRenderDifference() - xOffset;
         int y = (int) collisionBox.getCurrentYPos() - collisionBox.getyRenderDifference() - yOffset;
-        BufferedImage image = gameImage.getImage();
-        g.drawImage(image, x, y, MEAT_SIZE, MEAT_SIZE, null);
+        gameImage.getRegion().draw(g, x, y, MEAT_SIZE, MEAT_SIZE);
     }
 
     /**
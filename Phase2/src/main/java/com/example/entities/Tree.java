@@ -1,7 +1,6 @@
 package com.example.entities;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
@@ -47,8 +46,7 @@ public class Tree extends GameEntity {
     public void render(Graphics g, int xOffset, int yOffset) {
         int x = (int) collisionBox.getCurrentXPos() - xOffset;
         int y = (int) collisionBox.getCurrentYPos() - yOffset;
-        BufferedImage image = gameImage.getImage();
-        g.drawImage(image, x, y, size.width, size.height, null);
+        gameImage.getRegion().getScaled(size.width, size.height).draw(g, x, y);
     }
 }
 
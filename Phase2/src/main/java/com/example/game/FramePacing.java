@@ -0,0 +1,20 @@
+package com.example.game;
+
+/**
+ * The FramePacing enum defines how often the game loop redraws the screen, independently of how often the game world is
+ * updated.
+ */
+public enum FramePacing {
+    /**
+     * Redraw at most at the frame rate of the game settings.
+     */
+    CAPPED,
+    /**
+     * Redraw as often as possible.
+     */
+    UNCAPPED,
+    /**
+     * Redraw at the refresh rate of the display the game is shown on.
+     */
+    DISPLAY
+}
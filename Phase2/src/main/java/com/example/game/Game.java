@@ -2,12 +2,26 @@ package com.example.game;
 
 import com.example.entities.*;
 import com.example.gamestate.*;
+import com.example.listeners.InputQueue;
 import com.example.listeners.KeyBoardListener;
 import com.example.listeners.MouseListener;
+import com.example.metrics.LoopStats;
+import com.example.metrics.Phase;
+import com.example.metrics.Profiler;
+import com.example.replay.InputRecorder;
+import com.example.replay.InputRecording;
+import com.example.utils.ResourceLoader;
 
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.io.File;
 import java.util.HashMap;
+import java.util.concurrent.locks.LockSupport;
 
 
 /**
@@ -18,12 +32,25 @@ import java.util.HashMap;
  *
  * @author Pardeep Singh Manhas
  */
-public class Game implements Runnable {
+public class Game implements Runnable, StateManager {
+    /**
+     * How long a loop under uncapped pacing sleeps after a pass that drew nothing itself, so it does not spin.
+     */
+    private static final long UNCAPPED_IDLE_NANOS = 100_000L;
+
     private GameWindow window;
     private GameScreen screen;
     private KeyBoardListener keyInputs;
+    private final InputQueue inputQueue = new InputQueue(InputQueue.DEFAULT_CAPACITY);
+    private final InputQueue.Handler inputHandler = this::applyInput;
     private Thread gameThread;
-    private final int UPDATES_PER_SECOND = 144;
+    private Thread renderThread;
+    private final GameSettings settings;
+    private TickScheduler scheduler;
+    private TickScheduler frameScheduler;
+    private final LoopStats loopStats = new LoopStats();
+    private InputRecorder recorder;
+    private boolean activeRendering;
     private int initialScreenWidth;
     private int initialScreenHeight;
     private Play playState;
@@ -33,28 +60,64 @@ public class Game implements Runnable {
     private Defeat defeatState;
     private Pause pauseState;
     private HashMap<Gamestate, State> allStates;
-    private State currentState;
+    private volatile State currentState;
+    /**
+     * The state frames are drawn in. It follows the current state at the end of every update, once the playing state
+     * has published the snapshot of that update, so that a screen shown over the scene captures the scene as the update
+     * that changed the state left it.
+     */
+    private volatile State presentedState;
+    private SceneSnapshot sceneSnapshot;
+    private QualityController quality;
+    private QualityTier appliedTier;
+    private long dueFrames;
 
 
     /**
      * Initializes the game by setting up states, UI components, and input listeners before starting the game loop. The game
-     * loop is run on a separate thread.
+     * loop is run on a separate thread. The loop options are read from the system properties.
      *
      * @author Pardeep Singh Manhas
      */
     public Game() {
+        this(GameSettings.fromSystemProperties());
+    }
+
+    /**
+     * Initializes the game with the given loop options. See {@link #Game()}.
+     *
+     * @param settings The options of the game loop.
+     */
+    public Game(GameSettings settings) {
+        this.settings = settings;
         initializeGameStates();
+        playState.getClock().setTicksPerSecond(settings.getUpdatesPerSecond());
+        initializeRecorder();
         initializeUI();
         initializeListeners();
         start();
     }
 
     /**
-     * Starts the game loop in a new thread.
+     * Starts the game loop in a new thread, along with the render thread if the game draws frames on one.
      *
      * @author Pardeep Singh Manhas
      */
     private void start() {
+        this.scheduler = new TickScheduler(settings.getUpdatesPerSecond());
+        this.frameScheduler = new TickScheduler(getTargetFramesPerSecond());
+        this.quality = new QualityController(frameScheduler.getPeriodNanos(), settings.getQualityTier(),
+                QualityController.DEFAULT_WINDOW_FRAMES, settings.isAdaptiveQuality());
+        if (settings.isProfileReportOnExit()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::printProfileReport));
+        }
+        // Frames are drawn by the render thread or by Swing on the event dispatch thread unless the game loop draws
+        // them itself; either way they are drawn from published snapshots so they never see an update half done.
+        playState.setPublishingSnapshots(true);
+        playState.setRenderResolution(settings.getRenderResolution());
+        if (activeRendering && settings.isRenderThread()) {
+            this.renderThread = new Thread(this::runRenderLoop, "render");
+        }
         this.gameThread = new Thread(this);
         this.gameThread.start();
     }
@@ -79,6 +142,21 @@ public class Game implements Runnable {
         allStates.put(Gamestate.DEFEAT, defeatState);
         allStates.put(Gamestate.PAUSE, pauseState);
         this.currentState = this.menuState;
+        this.presentedState = this.currentState;
+    }
+
+    /**
+     * Prepares the recording of the input of the playing state if the game settings ask for one.
+     */
+    private void initializeRecorder() {
+        if (settings.getRecordInputPath() == null) {
+            return;
+        }
+        String levelPath = ResourceLoader.LEVEL_ONE_PATH;
+        int levelChecksum = InputRecording.checksumLevel(ResourceLoader.getLevel(levelPath));
+        InputRecording recording = new InputRecording(levelPath, levelChecksum, settings.getUpdatesPerSecond());
+        this.recorder = new InputRecorder(recording, new File(settings.getRecordInputPath()));
+        Runtime.getRuntime().addShutdownHook(new Thread(recorder::finish));
     }
 
     /**
@@ -89,10 +167,37 @@ public class Game implements Runnable {
     private void initializeUI() {
         this.initialScreenWidth = playState.getBoardDimension().width;
         this.initialScreenHeight = playState.getBoardDimension().height;
+        this.sceneSnapshot = new SceneSnapshot(initialScreenWidth, initialScreenHeight, settings.getOverlayDim(),
+                settings.getOverlayBlurRadius());
         this.screen = new GameScreen(initialScreenWidth, initialScreenHeight, this);
         this.window = new GameWindow();
         this.window.add(screen);
         this.window.pack();
+        if (settings.isActiveRendering()) {
+            this.activeRendering = window.enableActiveRendering(settings.getBufferCount());
+            this.screen.setIgnoreRepaint(activeRendering);
+        }
+    }
+
+    /**
+     * Checks whether frames are drawn by the game loop through the window's buffer strategy. False if active rendering was
+     * turned off in the settings or the buffer strategy could not be created, in which case the screen is repainted by
+     * Swing.
+     *
+     * @return True if the game renders actively.
+     */
+    public boolean isActiveRendering() {
+        return activeRendering;
+    }
+
+    /**
+     * Checks whether frames are drawn by a thread of their own, fed with the snapshots of the world published by the
+     * playing state after every update. Only done when rendering actively and asked for by the settings.
+     *
+     * @return True if the game has a separate render thread.
+     */
+    public boolean hasRenderThread() {
+        return renderThread != null;
     }
 
     /**
@@ -107,6 +212,68 @@ public class Game implements Runnable {
         this.screen.requestFocus();
     }
 
+    /**
+     * Queues an input event received by a listener on the event dispatch thread. Queued events are applied by the game
+     * loop at the start of the next update, so the game state is never changed while the game loop reads it.
+     *
+     * @param e The key or mouse event to apply.
+     */
+    public void queueInput(InputEvent e) {
+        inputQueue.offer(e);
+    }
+
+    /**
+     * Returns the queue of input events waiting to be applied by the game loop.
+     *
+     * @return The input queue of the game.
+     */
+    public InputQueue getInputQueue() {
+        return inputQueue;
+    }
+
+    /**
+     * Applies one queued input event on the game loop and records how long it waited in the queue. Escape toggles
+     * between the playing and pause states; other events are handed to the current state.
+     *
+     * @param event     The queued key or mouse event.
+     * @param offerTime The time the event was queued, on the {@link System#nanoTime()} clock.
+     */
+    private void applyInput(InputEvent event, long offerTime) {
+        getProfiler().record(Phase.INPUT_LATENCY, System.nanoTime() - offerTime);
+        switch (event.getID()) {
+            case KeyEvent.KEY_PRESSED:
+                KeyEvent keyEvent = (KeyEvent) event;
+                if (keyEvent.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    togglePause();
+                } else {
+                    handleKeyBoardPress(keyEvent);
+                }
+                break;
+            case KeyEvent.KEY_RELEASED:
+                handleKeyBoardRelease((KeyEvent) event);
+                break;
+            case MouseEvent.MOUSE_PRESSED:
+                handleMousePressed((MouseEvent) event);
+                break;
+            case MouseEvent.MOUSE_RELEASED:
+                handleMouseReleased((MouseEvent) event);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Switches from the playing state to the pause state and back. Has no effect in any other state.
+     */
+    private void togglePause() {
+        if (isCurrentState(Gamestate.PLAYING)) {
+            setCurrentState(Gamestate.PAUSE);
+        } else if (isCurrentState(Gamestate.PAUSE)) {
+            setCurrentState(Gamestate.PLAYING);
+        }
+    }
+
     /**
      * Handles keyboard inputs by redirecting them to the current state for processing.
      *
@@ -177,6 +344,101 @@ public class Game implements Runnable {
         return playState.getPlayer();
     }
 
+    /**
+     * Changes the number of times per second the current state is updated while the game is running.
+     *
+     * @param updatesPerSecond The new update rate. Must be positive.
+     */
+    public void setUpdatesPerSecond(int updatesPerSecond) {
+        settings.setUpdatesPerSecond(updatesPerSecond);
+        scheduler.setTicksPerSecond(updatesPerSecond);
+        playState.getClock().setTicksPerSecond(updatesPerSecond);
+    }
+
+    /**
+     * Returns the number of frames per second the game loop aims to draw under the current frame pacing. Uncapped pacing
+     * draws as often as possible, in which case the update rate is returned as a nominal value.
+     *
+     * @return The target frame rate.
+     */
+    public int getTargetFramesPerSecond() {
+        switch (settings.getFramePacing()) {
+            case DISPLAY:
+                return getDisplayRefreshRate();
+            case UNCAPPED:
+                return settings.getUpdatesPerSecond();
+            default:
+                return settings.getFramesPerSecond();
+        }
+    }
+
+    /**
+     * Returns the refresh rate of the default screen, or the capped frame rate if it cannot be determined.
+     *
+     * @return The refresh rate of the display in Hz.
+     */
+    private int getDisplayRefreshRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return settings.getFramesPerSecond();
+        }
+        GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        int refreshRate = device.getDisplayMode().getRefreshRate();
+        if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN) {
+            return settings.getFramesPerSecond();
+        }
+        return refreshRate;
+    }
+
+    /**
+     * Returns the share of time the game loop has spent waiting for the next update rather than working. A value close
+     * to 1 means the game leaves the processor almost entirely idle.
+     *
+     * @return The idle share of the game loop, between 0 and 1.
+     */
+    public double getLoopIdleRatio() {
+        return scheduler.getIdleRatio();
+    }
+
+    /**
+     * Returns the profiler timing the update and render phases of the game.
+     *
+     * @return The profiler of the playing state.
+     */
+    public Profiler getProfiler() {
+        return playState.getProfiler();
+    }
+
+    /**
+     * Returns the controller choosing the quality tier frames are drawn at, which also reports the frame budget and how
+     * much of it recent frames used.
+     *
+     * @return The quality controller of the game.
+     */
+    public QualityController getQualityController() {
+        return quality;
+    }
+
+    /**
+     * Returns the counters of updates run, dropped and caught up by the game loop.
+     *
+     * @return The statistics of the game loop.
+     */
+    public LoopStats getLoopStats() {
+        return loopStats;
+    }
+
+    /**
+     * Prints the timings of the update and render phases, the idle share of the game loop and its catch-up counters to
+     * the standard output.
+     */
+    public void printProfileReport() {
+        getProfiler().dump(System.out);
+        System.out.printf("loop idle      %9.1f%%%n", getLoopIdleRatio() * 100);
+        System.out.print(loopStats.report());
+        System.out.print(quality.report());
+        System.out.print(playState.getBoard().getStaticLayer().report());
+    }
+
     /**
      * Gets the currently active game state.
      *
@@ -193,7 +455,11 @@ public class Game implements Runnable {
      * @author Pardeep Singh Manhas and Fanyi Luo
      */
     public void resetMap() {
+        if (recorder != null) {
+            recorder.finish();
+        }
         playState.reset();
+        sceneSnapshot.invalidate();
     }
 
     /**
@@ -202,6 +468,7 @@ public class Game implements Runnable {
      * @param state The desired game state to switch to, as defined in the Gamestate enum. Examples are PLAY, PAUSE, etc.
      * @author Pardeep Singh Manhas
      */
+    @Override
     public void setCurrentState(Gamestate state) {
         this.currentState = allStates.get(state);
     }
@@ -213,6 +480,7 @@ public class Game implements Runnable {
      * @return true if the current state matches the specified state, false otherwise.
      * @author Pardeep Singh Manhas
      */
+    @Override
     public boolean isCurrentState(Gamestate state) {
         return allStates.get(state) == currentState;
     }
@@ -232,52 +500,245 @@ public class Game implements Runnable {
 
     /**
      * Updates the current game state. This method is called at each iteration of the game loop to process game logic.
-     * If the current state is the exit state, the game will terminate.
+     * The input queued since the previous update is applied first. If the current state is the exit state, the game will
+     * terminate.
      *
      * @author Pardeep Singh Manhas and Fanyi Luo
      */
     private void update() {
+        inputQueue.drain(inputHandler);
+        boolean recordTick = recorder != null && (currentState == playState || currentState == pauseState);
+        int inputMask = playState.getInputMask();
+        boolean paused = currentState == pauseState;
         currentState.update();
+        if (recordTick) {
+            recordTick(inputMask, paused);
+        }
+        presentCurrentState();
         if (currentState == exitState) {
+            if (recorder != null) {
+                recorder.finish();
+            }
             System.exit(0);
         }
     }
 
+    /**
+     * Has the following frames drawn in the current state if it changed during the update. The snapshot of the scene
+     * is invalidated only now, after the playing state published the snapshot of the update, so that a win or defeat
+     * screen captures the scene with the collision that ended the level rather than the one before it.
+     */
+    private void presentCurrentState() {
+        State state = currentState;
+        if (state != presentedState) {
+            sceneSnapshot.invalidate();
+            presentedState = state;
+        }
+    }
+
+    /**
+     * Records the input of an update of the playing or pause state, and ends the recording once the level is won or
+     * lost.
+     *
+     * @param inputMask The movement keys held by the playing state during the update.
+     * @param paused    True if the game was paused during the update.
+     */
+    private void recordTick(int inputMask, boolean paused) {
+        recorder.recordTick(inputMask, paused, playState.getStateChecksum());
+        if (currentState == winState || currentState == defeatState) {
+            recorder.finish();
+        }
+    }
+
     /**
      * Renders the current game state. This method is called after updating the game state to draw the game's visual elements.
      * The playing state is always rendered, and the current state is rendered on top of it unless the current state is the playing state.
-     * The playing state acts a background image for other states when it is not the current state.
+     * The playing state acts a background image for other states when it is not the current state. As the world does
+     * not move under those states, it is then drawn from a {@link SceneSnapshot} captured when the state was entered.
+     * A state entered during an update is only drawn once that update has ended, see {@link #presentCurrentState()}.
+     * The frame is drawn at the quality tier chosen by the {@link QualityController}, which is told how long it took.
+     * When rendering actively, that time is measured around the whole of drawing and showing the frame instead, see
+     * {@link #showFrame()}.
      *
      * @param g The Graphics object used for rendering the game's visual elements.
      * @author Pardeep Singh Manhas
      */
     public void render(java.awt.Graphics g) {
-        allStates.get(Gamestate.PLAYING).render(g);
-        if (currentState != allStates.get(Gamestate.PLAYING))
-            currentState.render(g);
+        long start = System.nanoTime();
+        applyQualityTier(g);
+        State state = presentedState;
+        if (state == playState) {
+            playState.renderAt(g, System.nanoTime(), scheduler.getPeriodNanos());
+        } else {
+            sceneSnapshot.render(g, playState);
+            state.render(g);
+        }
+        if (!activeRendering) {
+            recordFrame(System.nanoTime() - start);
+        }
     }
 
     /**
-     * Runs the game loop, which includes updating the current state and repainting the screen.
-     * This method adheres to a constant updated rate of 144FPS.
+     * Draws a frame into the back buffer of the window and shows it, and hands the time both took to the profiler and
+     * the {@link QualityController}. Showing the frame and synchronizing with the display is where a pipeline bound by
+     * the graphics card or its driver spends its time, so it counts towards the frame budget as much as drawing does.
+     */
+    private void showFrame() {
+        long start = System.nanoTime();
+        window.showFrame(this, screen);
+        recordFrame(System.nanoTime() - start);
+    }
+
+    private void recordFrame(long frameNanos) {
+        playState.getProfiler().record(Phase.FRAME, frameNanos);
+        quality.record(frameNanos);
+    }
+
+    /**
+     * Sets the rendering hints of the current quality tier on the graphics object of a frame, and hands the refresh
+     * interval of the tier to the heads-up display when the tier has changed.
+     */
+    private void applyQualityTier(java.awt.Graphics g) {
+        QualityTier tier = quality.getTier();
+        if (tier != appliedTier) {
+            playState.getHud().setRefreshFrames(tier.getHudRefreshFrames());
+            appliedTier = tier;
+        }
+        if (g instanceof Graphics2D) {
+            tier.applyHints((Graphics2D) g);
+        }
+    }
+
+    /**
+     * Counts a frame that fell due and checks whether it is drawn. Frames are drawn at the interval of the current
+     * quality tier, so a tier drawing every other frame skips the rest.
+     *
+     * @return True if the due frame should be drawn.
+     */
+    private boolean isDueFrameDrawn() {
+        return dueFrames++ % quality.getTier().getFrameInterval() == 0;
+    }
+
+    /**
+     * Draws a frame of the game. With active rendering the frame is drawn and shown right away on the calling thread;
+     * otherwise Swing is asked to repaint the screen.
+     */
+    private void renderFrame() {
+        if (activeRendering) {
+            showFrame();
+        } else {
+            screen.repaint();
+        }
+    }
+
+    /**
+     * Runs the game loop, which includes updating the current state and drawing the screen.
+     * Updates follow the constant update rate of the game settings, 144 updates per second by default. The screen is
+     * repainted on a separate schedule given by the frame pacing, so the frame rate does not depend on the update rate.
+     * Between updates and frames the thread sleeps until the next one is due rather than polling the clock; under
+     * uncapped pacing it sleeps briefly after any pass that drew no frame on this thread. After a stall the loop runs
+     * the updates it missed back to back, up to the limit of the game settings, and drops the rest. When the game has a
+     * render thread, the screen is drawn there instead and this loop only runs the updates.
      *
      * @author Pardeep Singh Manhas
      */
     @Override
     public void run() {
-        double timePerUpdate = 1000000000.0 / UPDATES_PER_SECOND;
-        long lastUpdateTime = System.nanoTime();
-        long currentTime;
-        double updatesDue = 0;
+        boolean uncapped = settings.getFramePacing() == FramePacing.UNCAPPED;
+        int maxUpdates = settings.getMaxUpdatesPerFrame();
+        scheduler.start();
+        frameScheduler.start();
+        if (renderThread != null) {
+            renderThread.start();
+            runUpdateLoop(maxUpdates);
+        } else {
+            runSingleThreadedLoop(uncapped, maxUpdates);
+        }
+    }
 
+    /**
+     * Runs the updates and draws the frames of the game loop on the calling thread, when the game has no render thread.
+     *
+     * @param uncapped   True if frames are drawn as often as possible rather than at the frame rate.
+     * @param maxUpdates The largest number of missed updates run back to back after a stall.
+     */
+    private void runSingleThreadedLoop(boolean uncapped, int maxUpdates) {
         while (true) {
-            currentTime = System.nanoTime();
-            updatesDue += (currentTime - lastUpdateTime) / timePerUpdate;
-            lastUpdateTime = currentTime;
-            if (updatesDue >= 1) {
-                update();
-                screen.repaint();
-                updatesDue = updatesDue - 1;
+            long now = System.nanoTime();
+            runDueUpdates(now, maxUpdates);
+            boolean drawn = false;
+            if (uncapped || frameScheduler.isDue(now)) {
+                frameScheduler.advancePast(now);
+                if (isDueFrameDrawn()) {
+                    renderFrame();
+                    // A repaint only asks Swing to draw the frame later, on the event dispatch thread.
+                    drawn = activeRendering;
+                }
+            }
+            if (!uncapped) {
+                long nextUpdate = scheduler.getNextTickTime();
+                long nextFrame = frameScheduler.getNextTickTime();
+                scheduler.parkUntil(nextFrame - nextUpdate < 0 ? nextFrame : nextUpdate);
+            } else if (!drawn) {
+                LockSupport.parkNanos(UNCAPPED_IDLE_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Runs the updates of the game loop when the screen is drawn by the render thread, sleeping until each update is
+     * due. Every update of the playing state ends by publishing a snapshot for the render thread.
+     *
+     * @param maxUpdates The largest number of missed updates run back to back after a stall.
+     */
+    private void runUpdateLoop(int maxUpdates) {
+        while (true) {
+            runDueUpdates(System.nanoTime(), maxUpdates);
+            scheduler.parkUntil(scheduler.getNextTickTime());
+        }
+    }
+
+    /**
+     * Runs the updates that are due at the given time back to back, up to the given limit, and drops the rest so that
+     * the loop does not keep trying to catch up after a stall. Does nothing if no update is due.
+     *
+     * @param now        The current time, in nanoseconds.
+     * @param maxUpdates The largest number of updates to run.
+     */
+    private void runDueUpdates(long now, int maxUpdates) {
+        if (!scheduler.isDue(now)) {
+            return;
+        }
+        int updates = 0;
+        do {
+            scheduler.advance();
+            update();
+            updates++;
+        } while (updates < maxUpdates && scheduler.isDue(now));
+        loopStats.record(updates, scheduler.dropDueTicks(now));
+    }
+
+    /**
+     * Runs the render thread, which draws and shows a frame whenever one is due under the frame pacing and sleeps in
+     * between, or briefly after a frame skipped by the quality tier under uncapped pacing. Frames of the playing state
+     * are drawn from the latest snapshot it published, so drawing never waits for an update, nor an update for a frame.
+     */
+    private void runRenderLoop() {
+        boolean uncapped = settings.getFramePacing() == FramePacing.UNCAPPED;
+        while (true) {
+            long now = System.nanoTime();
+            boolean drawn = false;
+            if (uncapped || frameScheduler.isDue(now)) {
+                frameScheduler.advancePast(now);
+                if (isDueFrameDrawn()) {
+                    showFrame();
+                    drawn = true;
+                }
+            }
+            if (!uncapped) {
+                frameScheduler.parkUntil(frameScheduler.getNextTickTime());
+            } else if (!drawn) {
+                LockSupport.parkNanos(UNCAPPED_IDLE_NANOS);
             }
         }
     }
@@ -14,6 +14,8 @@ import java.awt.*;
 public class GameCamera {
     private float cameraXPos;
     private float cameraYPos;
+    private float previousCameraXPos;
+    private float previousCameraYPos;
     private final float boardWidth;
     private final float boardHeight;
     private final float cameraWidthTriggereable;
@@ -49,6 +51,16 @@ public class GameCamera {
         this.leftBoundary = cameraXPos + (cameraWidthTriggereable) * .5f;
         this.bottomBoundary = cameraYPos + (cameraHeightTriggerable) * .5f;
         this.topBoundary = cameraYPos + (cameraHeightTriggerable) * .5f;
+        storePreviousPosition();
+    }
+
+    /**
+     * Records the current position of this instance as its previous position. Should be called before the camera is
+     * moved in an update, so frames drawn between two updates can place the camera between both positions.
+     */
+    public void storePreviousPosition() {
+        this.previousCameraXPos = cameraXPos;
+        this.previousCameraYPos = cameraYPos;
     }
 
     /**
@@ -136,6 +148,32 @@ public class GameCamera {
         return cameraYPos;
     }
 
+    /**
+     * Returns the x coordinate of this instance's top left corner between its previous and current position.
+     *
+     * @param alpha How far between the previous (0) and current (1) position the coordinate should lie.
+     * @return The interpolated x coordinate of the top left corner.
+     */
+    public float getInterpolatedXPos(float alpha) {
+        if (alpha >= 1f) {
+            return cameraXPos;
+        }
+        return previousCameraXPos + (cameraXPos - previousCameraXPos) * alpha;
+    }
+
+    /**
+     * Returns the y coordinate of this instance's top left corner between its previous and current position.
+     *
+     * @param alpha How far between the previous (0) and current (1) position the coordinate should lie.
+     * @return The interpolated y coordinate of the top left corner.
+     */
+    public float getInterpolatedYPos(float alpha) {
+        if (alpha >= 1f) {
+            return cameraYPos;
+        }
+        return previousCameraYPos + (cameraYPos - previousCameraYPos) * alpha;
+    }
+
     /**
      * A test method used for drawing this instance onto a JPanel or some other drawable Java component. Used for Debugging.
      *
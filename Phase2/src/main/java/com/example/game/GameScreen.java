@@ -30,7 +30,8 @@ public class GameScreen extends JPanel {
     /**
      * Overrides the painComponent method of JPanel to perform custom rendering
      * of the game's graphical elements. Called whenever the screen must be redrawn.
-     * Utilizes this instance's Game object to render Entities to the board.
+     * Utilizes this instance's Game object to render Entities to the board. When the game renders actively, frames are
+     * drawn by the game loop instead and Swing only clears the screen.
      *
      * @param g The Graphics object provided by Swing that represents the drawing context
      *          of the component.
@@ -39,7 +40,9 @@ public class GameScreen extends JPanel {
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        game.render(g);
+        if (!game.isActiveRendering()) {
+            game.render(g);
+        }
     }
 
     /**
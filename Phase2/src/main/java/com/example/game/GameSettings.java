@@ -0,0 +1,359 @@
+package com.example.game;
+
+/**
+ * Holds the tunable options of the game loop. A freshly constructed instance reproduces the original behaviour of the
+ * game, so only the options that should differ need to be changed. Options can also be supplied on the command line as
+ * system properties (for example {@code -Dgame.updatesPerSecond=60}) through {@link #fromSystemProperties()}.
+ */
+public class GameSettings {
+    public static final int DEFAULT_UPDATES_PER_SECOND = 144;
+    public static final int DEFAULT_FRAMES_PER_SECOND = 144;
+    public static final int DEFAULT_BUFFER_COUNT = 2;
+    public static final int DEFAULT_MAX_UPDATES_PER_FRAME = 5;
+
+    private int updatesPerSecond;
+    private int framesPerSecond;
+    private int maxUpdatesPerFrame;
+    private FramePacing framePacing;
+    private boolean activeRendering;
+    private int bufferCount;
+    private boolean renderThread;
+    private boolean profileReportOnExit;
+    private String recordInputPath;
+    private float overlayDim;
+    private int overlayBlurRadius;
+    private boolean adaptiveQuality;
+    private QualityTier qualityTier;
+    private float renderResolution;
+
+    /**
+     * Constructs a GameSettings instance holding the default value of every option.
+     */
+    public GameSettings() {
+        this.updatesPerSecond = DEFAULT_UPDATES_PER_SECOND;
+        this.framesPerSecond = DEFAULT_FRAMES_PER_SECOND;
+        this.maxUpdatesPerFrame = DEFAULT_MAX_UPDATES_PER_FRAME;
+        this.framePacing = FramePacing.CAPPED;
+        this.activeRendering = true;
+        this.bufferCount = DEFAULT_BUFFER_COUNT;
+        this.renderThread = true;
+        this.profileReportOnExit = false;
+        this.adaptiveQuality = false;
+        this.qualityTier = QualityTier.HIGH;
+        this.renderResolution = 1f;
+    }
+
+    /**
+     * Constructs a GameSettings instance from the "game.*" system properties. Options without a property keep their
+     * default value.
+     *
+     * @return The settings described by the current system properties.
+     */
+    public static GameSettings fromSystemProperties() {
+        GameSettings settings = new GameSettings();
+        settings.setUpdatesPerSecond(Integer.getInteger("game.updatesPerSecond", DEFAULT_UPDATES_PER_SECOND));
+        settings.setFramesPerSecond(Integer.getInteger("game.framesPerSecond", DEFAULT_FRAMES_PER_SECOND));
+        settings.setMaxUpdatesPerFrame(Integer.getInteger("game.maxUpdatesPerFrame", DEFAULT_MAX_UPDATES_PER_FRAME));
+        settings.setFramePacing(FramePacing.valueOf(System.getProperty("game.framePacing", FramePacing.CAPPED.name())));
+        settings.setActiveRendering(Boolean.parseBoolean(System.getProperty("game.activeRendering", "true")));
+        settings.setBufferCount(Integer.getInteger("game.bufferCount", DEFAULT_BUFFER_COUNT));
+        settings.setRenderThread(Boolean.parseBoolean(System.getProperty("game.renderThread", "true")));
+        settings.setProfileReportOnExit(Boolean.getBoolean("game.profileReportOnExit"));
+        settings.setRecordInputPath(System.getProperty("game.recordInput"));
+        settings.setOverlayDim(Float.parseFloat(System.getProperty("game.overlayDim", "0")));
+        settings.setOverlayBlurRadius(Integer.getInteger("game.overlayBlurRadius", 0));
+        settings.setAdaptiveQuality(Boolean.getBoolean("game.adaptiveQuality"));
+        settings.setQualityTier(QualityTier.valueOf(System.getProperty("game.qualityTier", QualityTier.HIGH.name())));
+        settings.setRenderResolution(Float.parseFloat(System.getProperty("game.renderResolution", "1")));
+        return settings;
+    }
+
+    /**
+     * Returns the number of times per second the current state is updated.
+     *
+     * @return The update rate in updates per second.
+     */
+    public int getUpdatesPerSecond() {
+        return updatesPerSecond;
+    }
+
+    /**
+     * Sets the number of times per second the current state is updated.
+     *
+     * @param updatesPerSecond The new update rate. Must be positive.
+     */
+    public void setUpdatesPerSecond(int updatesPerSecond) {
+        if (updatesPerSecond <= 0) {
+            throw new IllegalArgumentException("Updates per second must be positive: " + updatesPerSecond);
+        }
+        this.updatesPerSecond = updatesPerSecond;
+    }
+
+    /**
+     * Returns the highest number of updates the game loop runs back to back to catch up after falling behind, for
+     * example after a garbage collection pause. Updates that are due beyond this number are dropped, so the game slows
+     * down for a moment instead of playing in fast-forward until it has caught up.
+     *
+     * @return The highest number of updates run between two frames.
+     */
+    public int getMaxUpdatesPerFrame() {
+        return maxUpdatesPerFrame;
+    }
+
+    /**
+     * Sets the highest number of updates the game loop runs back to back to catch up after falling behind.
+     *
+     * @param maxUpdatesPerFrame The new limit. Must be positive; 1 drops every late update.
+     */
+    public void setMaxUpdatesPerFrame(int maxUpdatesPerFrame) {
+        if (maxUpdatesPerFrame <= 0) {
+            throw new IllegalArgumentException("Max updates per frame must be positive: " + maxUpdatesPerFrame);
+        }
+        this.maxUpdatesPerFrame = maxUpdatesPerFrame;
+    }
+
+    /**
+     * Returns the highest number of frames drawn per second when the frame pacing is {@link FramePacing#CAPPED}.
+     *
+     * @return The frame rate cap.
+     */
+    public int getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * Sets the highest number of frames drawn per second when the frame pacing is {@link FramePacing#CAPPED}.
+     *
+     * @param framesPerSecond The new frame rate cap. Must be positive.
+     */
+    public void setFramesPerSecond(int framesPerSecond) {
+        if (framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Frames per second must be positive: " + framesPerSecond);
+        }
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /**
+     * Returns how the frame rate of the game is limited.
+     *
+     * @return The frame pacing mode.
+     */
+    public FramePacing getFramePacing() {
+        return framePacing;
+    }
+
+    /**
+     * Sets how the frame rate of the game is limited.
+     *
+     * @param framePacing The new frame pacing mode.
+     */
+    public void setFramePacing(FramePacing framePacing) {
+        this.framePacing = framePacing;
+    }
+
+    /**
+     * Checks whether the game loop draws frames itself through a buffer strategy of the window. When false, the game loop
+     * only asks Swing to repaint the screen and frames are drawn on the event dispatch thread.
+     *
+     * @return True if active rendering is requested.
+     */
+    public boolean isActiveRendering() {
+        return activeRendering;
+    }
+
+    /**
+     * Sets whether the game loop draws frames itself through a buffer strategy of the window.
+     *
+     * @param activeRendering True to draw frames on the game loop, false to rely on Swing repaints.
+     */
+    public void setActiveRendering(boolean activeRendering) {
+        this.activeRendering = activeRendering;
+    }
+
+    /**
+     * Returns the number of buffers of the window's buffer strategy when rendering actively.
+     *
+     * @return The number of buffers, 2 for double buffering or 3 for triple buffering.
+     */
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    /**
+     * Sets the number of buffers of the window's buffer strategy when rendering actively.
+     *
+     * @param bufferCount 2 for double buffering or 3 for triple buffering.
+     */
+    public void setBufferCount(int bufferCount) {
+        if (bufferCount < 2 || bufferCount > 3) {
+            throw new IllegalArgumentException("Buffer count must be 2 or 3: " + bufferCount);
+        }
+        this.bufferCount = bufferCount;
+    }
+
+    /**
+     * Checks whether frames are drawn by a thread of their own rather than by the game loop when rendering actively.
+     * The game loop then only updates the game and publishes a snapshot of the world after every update, which the
+     * render thread draws from.
+     *
+     * @return True if a separate render thread is requested.
+     */
+    public boolean isRenderThread() {
+        return renderThread;
+    }
+
+    /**
+     * Sets whether frames are drawn by a thread of their own rather than by the game loop when rendering actively.
+     *
+     * @param renderThread True to draw frames on a separate thread, false to draw them on the game loop.
+     */
+    public void setRenderThread(boolean renderThread) {
+        this.renderThread = renderThread;
+    }
+
+    /**
+     * Checks whether the timings of the update and render phases are printed when the game exits.
+     *
+     * @return True if a profile report is printed on exit.
+     */
+    public boolean isProfileReportOnExit() {
+        return profileReportOnExit;
+    }
+
+    /**
+     * Sets whether the timings of the update and render phases are printed when the game exits.
+     *
+     * @param profileReportOnExit True to print a profile report to the standard output on exit.
+     */
+    public void setProfileReportOnExit(boolean profileReportOnExit) {
+        this.profileReportOnExit = profileReportOnExit;
+    }
+
+    /**
+     * Returns the file the input of the played level is recorded to, for replaying it later with
+     * {@link com.example.replay.InputReplay}.
+     *
+     * @return The path of the recording, or null if input is not recorded.
+     */
+    public String getRecordInputPath() {
+        return recordInputPath;
+    }
+
+    /**
+     * Sets the file the input of the played level is recorded to. The recording covers the first attempt at the level
+     * and is saved when the level is won or lost, or when the game exits.
+     *
+     * @param recordInputPath The path of the recording, or null to not record input.
+     */
+    public void setRecordInputPath(String recordInputPath) {
+        this.recordInputPath = recordInputPath;
+    }
+
+    /**
+     * Returns how much the frozen Play screen behind the pause, menu, victory and defeat screens is darkened.
+     *
+     * @return The dim, from 0 for not at all to 1 for black.
+     */
+    public float getOverlayDim() {
+        return overlayDim;
+    }
+
+    /**
+     * Sets how much the frozen Play screen behind the pause, menu, victory and defeat screens is darkened. It is
+     * darkened once, when those screens are shown.
+     *
+     * @param overlayDim The dim, from 0 for not at all to 1 for black.
+     */
+    public void setOverlayDim(float overlayDim) {
+        if (!(overlayDim >= 0f && overlayDim <= 1f)) {
+            throw new IllegalArgumentException("Overlay dim must be between 0 and 1: " + overlayDim);
+        }
+        this.overlayDim = overlayDim;
+    }
+
+    /**
+     * Returns the radius of the blur applied to the frozen Play screen behind the pause, menu, victory and defeat
+     * screens.
+     *
+     * @return The blur radius in pixels, or 0 if the screen is not blurred.
+     */
+    public int getOverlayBlurRadius() {
+        return overlayBlurRadius;
+    }
+
+    /**
+     * Sets the radius of the blur applied to the frozen Play screen behind the pause, menu, victory and defeat screens.
+     * It is blurred once, when those screens are shown.
+     *
+     * @param overlayBlurRadius The blur radius in pixels, or 0 to not blur the screen. Must not be negative.
+     */
+    public void setOverlayBlurRadius(int overlayBlurRadius) {
+        if (overlayBlurRadius < 0) {
+            throw new IllegalArgumentException("Overlay blur radius must not be negative: " + overlayBlurRadius);
+        }
+        this.overlayBlurRadius = overlayBlurRadius;
+    }
+
+    /**
+     * Checks whether the render quality steps down a tier when frames take longer than the period of the target frame
+     * rate, and back up when they fit again. See {@link QualityController}.
+     *
+     * @return True if the render quality adapts to the frame times.
+     */
+    public boolean isAdaptiveQuality() {
+        return adaptiveQuality;
+    }
+
+    /**
+     * Sets whether the render quality adapts to the frame times.
+     *
+     * @param adaptiveQuality True to step between quality tiers, false to keep the quality tier of the settings.
+     */
+    public void setAdaptiveQuality(boolean adaptiveQuality) {
+        this.adaptiveQuality = adaptiveQuality;
+    }
+
+    /**
+     * Returns the quality tier frames are drawn at, or start at when the quality adapts.
+     *
+     * @return The quality tier.
+     */
+    public QualityTier getQualityTier() {
+        return qualityTier;
+    }
+
+    /**
+     * Sets the quality tier frames are drawn at, or start at when the quality adapts.
+     *
+     * @param qualityTier The quality tier.
+     */
+    public void setQualityTier(QualityTier qualityTier) {
+        if (qualityTier == null) {
+            throw new IllegalArgumentException("Quality tier must not be null");
+        }
+        this.qualityTier = qualityTier;
+    }
+
+    /**
+     * Returns the resolution the board and entities of the playing state are drawn at, as a share of the size of the
+     * view. See {@link com.example.gamestate.Play#setRenderResolution(float)}.
+     *
+     * @return The render resolution, 1 for full resolution.
+     */
+    public float getRenderResolution() {
+        return renderResolution;
+    }
+
+    /**
+     * Sets the resolution the board and entities of the playing state are drawn at. Below 1, they are drawn into a
+     * smaller image stretched over the view, while the heads-up display stays at full resolution.
+     *
+     * @param renderResolution The share of the size of the view, from above 0 up to 1 for full resolution.
+     */
+    public void setRenderResolution(float renderResolution) {
+        if (!(renderResolution > 0f && renderResolution <= 1f)) {
+            throw new IllegalArgumentException("Render resolution must be above 0 and at most 1: " + renderResolution);
+        }
+        this.renderResolution = renderResolution;
+    }
+}
@@ -21,17 +21,27 @@ public class GameTimer {
     public GameTimer() {
         this.secondsElapsed = 0;
         this.timeFormat = new DecimalFormat("00");
-        initializeFont();
         resetLastUpdateTime();
     }
 
     /**
-     * Renders the timer on the screen.
+     * Renders the timer on the screen. The font of the timer is loaded on the first call.
      *
      * @param g the graphics context to render on
      */
     public void render(Graphics g) {
-        String timeText = formatTimeText();
+        render(g, secondsElapsed);
+    }
+
+    /**
+     * Renders the given elapsed time on the screen, as the timer would show it. Used to draw a time read earlier, such
+     * as the one kept in a snapshot of the game.
+     *
+     * @param g              the graphics context to render on
+     * @param secondsElapsed the elapsed seconds to show
+     */
+    public void render(Graphics g, int secondsElapsed) {
+        String timeText = formatTimeText(secondsElapsed);
         drawTimerText(g, timeText);
     }
 
@@ -67,7 +77,7 @@ public class GameTimer {
         timerFont = temp.deriveFont(18f);
     }
 
-    private String formatTimeText() {
+    private String formatTimeText(int secondsElapsed) {
         int hours = secondsElapsed / 3600;
         int minutes = (secondsElapsed % 3600) / 60;
         int seconds = secondsElapsed % 60;
@@ -76,6 +86,9 @@ public class GameTimer {
     }
 
     private void drawTimerText(Graphics g, String timeText) {
+        if (timerFont == null) {
+            initializeFont();
+        }
         g.setColor(new Color(59, 68, 75));
         g.setFont(timerFont);
         g.drawString(timeText, 10, 25);
@@ -1,10 +1,14 @@
 package com.example.game;
 
 import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferStrategy;
 
 /**
  * Class that represents the game window. Most operations on it should be performed in a Game class. No inherent size
  * is excepted for the window. Instead, it relies on the size of its subcomponents and panels.
+ * When active rendering is enabled, the window owns a buffer strategy that the game loop draws every frame into, instead
+ * of waiting for Swing to repaint the window.
  */
 public class GameWindow extends JFrame {
     public GameWindow() {
@@ -14,4 +18,50 @@ public class GameWindow extends JFrame {
         this.setResizable(false);
         this.setVisible(true);
     }
+
+    /**
+     * Creates the buffer strategy used for active rendering and stops the window from being repainted by the system, as
+     * every frame is drawn by the game loop from then on. Must be called once the window is visible.
+     *
+     * @param bufferCount The number of buffers to create, 2 or 3.
+     * @return True if the buffer strategy was created, false if the window has to keep relying on Swing repaints.
+     */
+    public boolean enableActiveRendering(int bufferCount) {
+        try {
+            this.createBufferStrategy(bufferCount);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+        this.setIgnoreRepaint(true);
+        return this.getBufferStrategy() != null;
+    }
+
+    /**
+     * Draws a frame of the game into the back buffer and shows it. The frame is drawn where the given screen lies in the
+     * window, and drawn again if the contents of the buffers are lost in the meantime. Synchronizes with the display
+     * afterwards, so the frame is shown immediately rather than whenever the windowing system flushes.
+     *
+     * @param game   The game to draw.
+     * @param screen The component of the window that holds the game's screen.
+     */
+    public void showFrame(Game game, Component screen) {
+        BufferStrategy strategy = this.getBufferStrategy();
+        Point origin = SwingUtilities.convertPoint(screen, 0, 0, this);
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    g.translate(origin.x, origin.y);
+                    g.clipRect(0, 0, screen.getWidth(), screen.getHeight());
+                    g.setColor(screen.getBackground());
+                    g.fillRect(0, 0, screen.getWidth(), screen.getHeight());
+                    game.render(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
 }
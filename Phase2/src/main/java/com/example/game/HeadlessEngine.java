@@ -0,0 +1,236 @@
+package com.example.game;
+
+import com.example.gamestate.Gamestate;
+import com.example.gamestate.Play;
+import com.example.gamestate.StateManager;
+import com.example.replay.InputRecorder;
+import com.example.replay.InputRecording;
+import com.example.utils.ResourceLoader;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+
+/**
+ * Simulates a level without a window, screen, fonts or input listeners. The playing state is stepped one update at a
+ * time as fast as possible, fed by an {@link InputScript} in place of the keyboard. Pressing escape pauses and resumes
+ * the simulation as it does in the windowed game, and the simulation stops once the level is won or lost.
+ * <p>
+ * Can be started from the command line with {@code java com.example.game.HeadlessEngine [level] [ticks] [script]},
+ * which runs with {@code java.awt.headless=true} and prints the number of updates simulated per second followed by the
+ * timings of the update phases. With {@code -Dgame.recordInput=<file>} the run is also recorded for
+ * {@link com.example.replay.InputReplay}, and {@code -Dgame.parallelGoblinThreshold=<n>} changes the number of goblins
+ * from which goblins are updated in parallel.
+ */
+public class HeadlessEngine implements StateManager {
+    public static final long DEFAULT_MAX_TICKS = 100_000L;
+
+    private final Play play;
+    private final InputScript script;
+    private InputRecorder recorder;
+    private Gamestate currentState;
+    private long ticks;
+
+    /**
+     * Constructs an engine on the level stored at the given path, without scripted input.
+     *
+     * @param levelPath The path of the level, as accepted by {@link ResourceLoader#getLevel(String)}.
+     */
+    public HeadlessEngine(String levelPath) {
+        this(levelPath, new InputScript());
+    }
+
+    /**
+     * Constructs an engine on the level stored at the given path, fed by the given input script.
+     *
+     * @param levelPath The path of the level, as accepted by {@link ResourceLoader#getLevel(String)}.
+     * @param script    The key presses and releases to apply, by tick.
+     */
+    public HeadlessEngine(String levelPath, InputScript script) {
+        this(ResourceLoader.getLevel(levelPath), script);
+    }
+
+    /**
+     * Constructs an engine on the given level, fed by the given input script.
+     *
+     * @param level  The layout of the level, as read by {@link ResourceLoader#getLevel(String)}.
+     * @param script The key presses and releases to apply, by tick.
+     */
+    public HeadlessEngine(int[][] level, InputScript script) {
+        this.script = script;
+        this.currentState = Gamestate.PLAYING;
+        this.play = new Play(null, this, level);
+    }
+
+    /**
+     * Simulates one tick. The scripted input due on this tick is applied first, then the playing state is updated
+     * unless the simulation is paused. The tick is recorded if a recorder is set. Does nothing once the simulation is
+     * finished.
+     */
+    public void step() {
+        if (isFinished()) {
+            return;
+        }
+        script.dispatch(ticks, this);
+        int inputMask = play.getInputMask();
+        boolean paused = currentState == Gamestate.PAUSE;
+        if (currentState == Gamestate.PLAYING) {
+            play.update();
+        }
+        if (recorder != null) {
+            recorder.recordTick(inputMask, paused, play.getStateChecksum());
+        }
+        ticks++;
+    }
+
+    /**
+     * Sets the recorder that records the input of every following tick.
+     *
+     * @param recorder The recorder to feed, or null to stop recording.
+     */
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Simulates ticks until the level is won or lost, or until the given number of ticks have been simulated in total.
+     *
+     * @param maxTicks The highest total number of ticks to simulate.
+     * @return The total number of ticks simulated.
+     */
+    public long run(long maxTicks) {
+        while (ticks < maxTicks && !isFinished()) {
+            step();
+        }
+        return ticks;
+    }
+
+    /**
+     * Applies the press of a key as the keyboard listener and the playing state of the windowed game do. Escape toggles
+     * the pause, and the other keys only reach the playing state while it is not paused.
+     *
+     * @param keyCode The code of the pressed key, one of the KeyEvent.VK_ constants.
+     */
+    public void pressKey(int keyCode) {
+        if (keyCode == KeyEvent.VK_ESCAPE) {
+            if (currentState == Gamestate.PLAYING) {
+                currentState = Gamestate.PAUSE;
+            } else if (currentState == Gamestate.PAUSE) {
+                currentState = Gamestate.PLAYING;
+            }
+        } else if (currentState == Gamestate.PLAYING) {
+            play.handleKeyPress(keyCode);
+        }
+    }
+
+    /**
+     * Applies the release of a key. See {@link #pressKey(int)}.
+     *
+     * @param keyCode The code of the released key, one of the KeyEvent.VK_ constants.
+     */
+    public void releaseKey(int keyCode) {
+        if (currentState == Gamestate.PLAYING) {
+            play.handleKeyRelease(keyCode);
+        }
+    }
+
+    /**
+     * Checks whether the level has been won or lost.
+     *
+     * @return True if the simulation is in the win or defeat state.
+     */
+    public boolean isFinished() {
+        return currentState == Gamestate.WIN || currentState == Gamestate.DEFEAT;
+    }
+
+    @Override
+    public void setCurrentState(Gamestate state) {
+        this.currentState = state;
+    }
+
+    @Override
+    public boolean isCurrentState(Gamestate state) {
+        return currentState == state;
+    }
+
+    /**
+     * Returns the state the simulation is in.
+     *
+     * @return PLAYING, PAUSE, WIN or DEFEAT.
+     */
+    public Gamestate getCurrentState() {
+        return currentState;
+    }
+
+    /**
+     * Returns the number of ticks simulated so far, including paused ticks.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns the simulated playing state, for inspecting the entities it holds.
+     *
+     * @return The playing state.
+     */
+    public Play getPlay() {
+        return play;
+    }
+
+    /**
+     * Returns the number of times per second the simulated session stands for being updated. Every session keeps its
+     * own rate, which sets how far the entities move and animate in one tick.
+     *
+     * @return The update rate of the session.
+     */
+    public int getTicksPerSecond() {
+        return play.getClock().getTicksPerSecond();
+    }
+
+    /**
+     * Sets the number of times per second the simulated session stands for being updated. Other sessions are not
+     * affected.
+     *
+     * @param ticksPerSecond The new update rate. Must be positive.
+     */
+    public void setTicksPerSecond(int ticksPerSecond) {
+        play.getClock().setTicksPerSecond(ticksPerSecond);
+    }
+
+    /**
+     * Runs a level without a display and reports how fast it was simulated. The update rate is read from the
+     * {@code game.updatesPerSecond} property, as the windowed game does.
+     *
+     * @param args The optional level path, highest number of ticks and input script, in that order.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        String levelPath = args.length > 0 ? args[0] : ResourceLoader.LEVEL_ONE_PATH;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MAX_TICKS;
+        InputScript script = args.length > 2 ? InputScript.parse(args[2]) : new InputScript();
+
+        HeadlessEngine engine = new HeadlessEngine(levelPath, script);
+        engine.setTicksPerSecond(Integer.getInteger("game.updatesPerSecond", GameSettings.DEFAULT_UPDATES_PER_SECOND));
+        engine.getPlay().setParallelGoblinThreshold(
+                Integer.getInteger("game.parallelGoblinThreshold", Play.DEFAULT_PARALLEL_GOBLIN_THRESHOLD));
+        String recordPath = System.getProperty("game.recordInput");
+        InputRecorder recorder = null;
+        if (recordPath != null) {
+            int levelChecksum = InputRecording.checksumLevel(ResourceLoader.getLevel(levelPath));
+            InputRecording recording = new InputRecording(levelPath, levelChecksum, engine.getTicksPerSecond());
+            recorder = new InputRecorder(recording, new File(recordPath));
+            engine.setRecorder(recorder);
+        }
+        long start = System.nanoTime();
+        long ticks = engine.run(maxTicks);
+        if (recorder != null) {
+            recorder.finish();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%d ticks in %.3f s (%.0f ticks/s), final state %s%n",
+                ticks, seconds, ticks / seconds, engine.getCurrentState());
+        engine.getPlay().getProfiler().dump(System.out);
+    }
+}
@@ -17,20 +17,14 @@ public class HelpBanner {
     private BufferedImage image;
 
     /**
-     * Constructs a HelpBanner instance. initializing the size of the banner and loading the banner image.
-     * The image source is specified by a constant identifier from ResourceLoader. If the image fails to load,
-     * a runtime exception is thrown.
+     * Constructs a HelpBanner instance, initializing the size of the banner. The banner image is loaded on the first
+     * render from a constant identifier of ResourceLoader. If the image fails to load, a runtime exception is thrown.
      *
      * @author Pardeep Singh Manhas
      */
     public HelpBanner() {
         size = new Dimension(360, 390);
         image = null;
-        try {
-            image = ResourceLoader.getImage(ResourceLoader.BUTTON_VERTICAL_BG);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
     }
 
     /**
@@ -43,6 +37,13 @@ public class HelpBanner {
      * @author Pardeep Singh Manhas
      */
     public void render(Graphics g, int xOffset, int yOffset) {
+        if (image == null) {
+            try {
+                image = ResourceLoader.getImage(ResourceLoader.BUTTON_VERTICAL_BG);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
         g.drawImage(image, -89, -70, size.width, size.height, null);
     }
 }
\ No newline at end of file
@@ -2,28 +2,26 @@ package com.example.game;
 
 import com.example.utils.ResourceLoader;
 
-import javax.swing.*;
 import java.awt.*;
 
 /**
- * A JPanel subclass that displays help information and controls for the game.
- * It utilizes a custom font for rendering the text, loaded through the ResourceLoader class.
- * This panel can be added to a game window or overlay to provide players with necessary instructions.
+ * Displays help information and controls for the game.
+ * It utilizes a custom font for rendering the text, loaded through the ResourceLoader class the first time it is drawn.
+ * This information can be drawn on a game window or overlay to provide players with necessary instructions.
  *
  * @author Pardeep Singh Manhas
  */
-public class HelpInformation extends JPanel {
+public class HelpInformation {
 
-    private final Font font;
+    private Font font;
 
     /**
-     * Constructs a HelpInformation instance by loading and setting up the font used for displaying the helpful text.
+     * Constructs a HelpInformation instance. The font used for displaying the helpful text is loaded on the first render.
      *
      * @author Pardeep Singh Manhas
      */
     public HelpInformation() {
-        Font temp = ResourceLoader.getFont(ResourceLoader.MEDIEVAL_FONT);
-        font = temp.deriveFont(18f);
+        font = null;
     }
 
     /**
@@ -36,6 +34,10 @@ public class HelpInformation extends JPanel {
      * @author Pardeep Singh Manhas
      */
     public void render(Graphics g, int x_offset, int y_offset) {
+        if (font == null) {
+            Font temp = ResourceLoader.getFont(ResourceLoader.MEDIEVAL_FONT);
+            font = temp.deriveFont(18f);
+        }
         g.setColor(new Color(59, 68, 75));
         g.setFont(this.font);
         String upMessage = "W = Up";
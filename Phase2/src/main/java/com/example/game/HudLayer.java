@@ -0,0 +1,151 @@
+package com.example.game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the heads-up display of the Play screen: the help banner with the timer, the scoreboard and the help
+ * information on it. The display only changes when the score, the meat count or the elapsed second changes, so it is
+ * drawn into a cached translucent image when one of them changes, and every frame only copies that image to the screen.
+ * Drawing the image again costs several times more than copying it, so a refresh interval can hold back changes for a
+ * few frames to keep those redraws apart when frames are short of time.
+ * <p>
+ * The values shown can be passed in with each frame, so a display drawn by another thread than the one updating the
+ * game shows the values of a published snapshot instead of reading the timer and scoreboard while they change. The
+ * timer and scoreboard are then only used for their fonts and layout.
+ */
+public class HudLayer {
+    // The part of the help banner that lies on the screen, which holds all the text.
+    public static final int WIDTH = 271;
+    public static final int HEIGHT = 320;
+
+    private final HelpBanner banner;
+    private final GameTimer timer;
+    private final Scoreboard scoreboard;
+    private final HelpInformation help;
+    private BufferedImage image;
+    private boolean valid;
+    private int drawnSeconds;
+    private int drawnScore;
+    private int drawnMeats;
+    private int drawnTotalMeats;
+    private int redraws;
+    private int refreshFrames = 1;
+    private int framesSinceRedraw;
+
+    /**
+     * Constructs the display of the given components. Nothing is drawn until the first render.
+     *
+     * @param banner     The banner drawn behind the text.
+     * @param timer      The timer showing the elapsed time.
+     * @param scoreboard The scoreboard showing the score and the meat count.
+     * @param help       The help information showing the controls.
+     */
+    public HudLayer(HelpBanner banner, GameTimer timer, Scoreboard scoreboard, HelpInformation help) {
+        this.banner = banner;
+        this.timer = timer;
+        this.scoreboard = scoreboard;
+        this.help = help;
+    }
+
+    /**
+     * Renders the display to the top left corner of the screen, drawing it again first if the time, score or meat count
+     * shown has changed since it was last drawn and the refresh interval has passed.
+     *
+     * @param g The graphics object used for drawing. Typically the same one used to draw the screen.
+     */
+    public void render(Graphics g) {
+        render(g, timer.getSecondsElapsed(), scoreboard.getCurrentScore(), scoreboard.getCurrentMeatCount(),
+                scoreboard.getTotalMeatCount());
+    }
+
+    /**
+     * Renders the display showing the given values, drawing it again first if they differ from the ones last drawn and
+     * the refresh interval has passed.
+     *
+     * @param g              The graphics object used for drawing. Typically the same one used to draw the screen.
+     * @param seconds        The elapsed seconds to show.
+     * @param score          The score to show.
+     * @param meatCount      The number of meats collected to show.
+     * @param totalMeatCount The number of meats to collect to show.
+     */
+    public void render(Graphics g, int seconds, int score, int meatCount, int totalMeatCount) {
+        if (image == null) {
+            image = createImage(g);
+        }
+        framesSinceRedraw++;
+        if (!valid || framesSinceRedraw >= refreshFrames && (seconds != drawnSeconds || score != drawnScore
+                || meatCount != drawnMeats || totalMeatCount != drawnTotalMeats)) {
+            redraw(seconds, score, meatCount, totalMeatCount);
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    private static BufferedImage createImage(Graphics g) {
+        if (g instanceof Graphics2D) {
+            return ((Graphics2D) g).getDeviceConfiguration().createCompatibleImage(WIDTH, HEIGHT,
+                    Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void redraw(int seconds, int score, int meatCount, int totalMeatCount) {
+        drawnSeconds = seconds;
+        drawnScore = score;
+        drawnMeats = meatCount;
+        drawnTotalMeats = totalMeatCount;
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setComposite(AlphaComposite.SrcOver);
+            banner.render(g, 0, 0);
+            timer.render(g, seconds);
+            scoreboard.render(g, score, meatCount, totalMeatCount);
+            help.render(g, 0, 0);
+        } finally {
+            g.dispose();
+        }
+        valid = true;
+        redraws++;
+        framesSinceRedraw = 0;
+    }
+
+    /**
+     * Sets the fewest frames rendered between two redraws of the display caused by a change of what it shows. A display
+     * that was invalidated is always drawn again at once.
+     *
+     * @param refreshFrames The refresh interval in frames, 1 to draw changes at once. Must be positive.
+     */
+    public void setRefreshFrames(int refreshFrames) {
+        if (refreshFrames <= 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive: " + refreshFrames);
+        }
+        this.refreshFrames = refreshFrames;
+    }
+
+    /**
+     * Returns the fewest frames rendered between two redraws of the display caused by a change of what it shows.
+     *
+     * @return The refresh interval in frames.
+     */
+    public int getRefreshFrames() {
+        return refreshFrames;
+    }
+
+    /**
+     * Makes the next render draw the display again, even if nothing it shows has changed.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Returns the number of times the display was drawn into its cached image.
+     *
+     * @return The number of redraws.
+     */
+    public int getRedraws() {
+        return redraws;
+    }
+}
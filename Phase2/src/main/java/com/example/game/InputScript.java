@@ -0,0 +1,136 @@
+package com.example.game;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+
+/**
+ * The InputScript class is a list of key presses and releases, each bound to the tick on which it happens. It stands in
+ * for the keyboard when the game is simulated by a {@link HeadlessEngine}.
+ */
+public class InputScript {
+    private final ArrayList<Event> events = new ArrayList<>();
+    private int cursor;
+
+    /**
+     * Parses a script written as comma separated events of the form {@code tick:+KEY} for a press and
+     * {@code tick:-KEY} for a release, where KEY is one of W, A, S, D or ESC. For example, {@code "0:+D,300:-D"} holds
+     * the right key for the first 300 ticks.
+     *
+     * @param script The script to parse. An empty script holds no events.
+     * @return The parsed script.
+     */
+    public static InputScript parse(String script) {
+        InputScript inputScript = new InputScript();
+        for (String token : script.split(",")) {
+            token = token.trim();
+            if (token.isEmpty()) {
+                continue;
+            }
+            int separator = token.indexOf(':');
+            if (separator < 0 || separator + 2 > token.length()) {
+                throw new IllegalArgumentException("Malformed input event: " + token);
+            }
+            long tick = Long.parseLong(token.substring(0, separator));
+            char action = token.charAt(separator + 1);
+            int keyCode = toKeyCode(token.substring(separator + 2));
+            if (action == '+') {
+                inputScript.press(tick, keyCode);
+            } else if (action == '-') {
+                inputScript.release(tick, keyCode);
+            } else {
+                throw new IllegalArgumentException("Malformed input event: " + token);
+            }
+        }
+        return inputScript;
+    }
+
+    private static int toKeyCode(String key) {
+        switch (key.toUpperCase()) {
+            case "W":
+                return KeyEvent.VK_W;
+            case "A":
+                return KeyEvent.VK_A;
+            case "S":
+                return KeyEvent.VK_S;
+            case "D":
+                return KeyEvent.VK_D;
+            case "ESC":
+                return KeyEvent.VK_ESCAPE;
+            default:
+                throw new IllegalArgumentException("Unknown key: " + key);
+        }
+    }
+
+    /**
+     * Adds the press of a key at the start of the given tick. Events on the same tick happen in the order they were added.
+     *
+     * @param tick    The tick on which the key is pressed. Must not be negative.
+     * @param keyCode The code of the key, one of the KeyEvent.VK_ constants.
+     * @return This script, to allow chaining.
+     */
+    public InputScript press(long tick, int keyCode) {
+        add(new Event(tick, keyCode, true));
+        return this;
+    }
+
+    /**
+     * Adds the release of a key at the start of the given tick. See {@link #press(long, int)}.
+     *
+     * @param tick    The tick on which the key is released. Must not be negative.
+     * @param keyCode The code of the key, one of the KeyEvent.VK_ constants.
+     * @return This script, to allow chaining.
+     */
+    public InputScript release(long tick, int keyCode) {
+        add(new Event(tick, keyCode, false));
+        return this;
+    }
+
+    private void add(Event event) {
+        if (event.tick < 0) {
+            throw new IllegalArgumentException("Tick must not be negative: " + event.tick);
+        }
+        int index = events.size();
+        while (index > 0 && events.get(index - 1).tick > event.tick) {
+            index--;
+        }
+        events.add(index, event);
+    }
+
+    /**
+     * Sends every event due at or before the given tick, that has not been sent yet, to the engine.
+     *
+     * @param tick   The tick about to be simulated.
+     * @param engine The engine receiving the key presses and releases.
+     */
+    public void dispatch(long tick, HeadlessEngine engine) {
+        while (cursor < events.size() && events.get(cursor).tick <= tick) {
+            Event event = events.get(cursor++);
+            if (event.pressed) {
+                engine.pressKey(event.keyCode);
+            } else {
+                engine.releaseKey(event.keyCode);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events in this script.
+     *
+     * @return The number of key presses and releases.
+     */
+    public int size() {
+        return events.size();
+    }
+
+    private static class Event {
+        private final long tick;
+        private final int keyCode;
+        private final boolean pressed;
+
+        private Event(long tick, int keyCode, boolean pressed) {
+            this.tick = tick;
+            this.keyCode = keyCode;
+            this.pressed = pressed;
+        }
+    }
+}
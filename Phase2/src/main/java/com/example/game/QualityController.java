@@ -0,0 +1,157 @@
+package com.example.game;
+
+/**
+ * Chooses the {@link QualityTier} frames are drawn at so that they fit in a time budget, usually the period of the
+ * target frame rate. The time of every frame drawn is recorded, and at the end of each window of frames their average
+ * is compared with the time the current tier allows, which is the budget times its frame interval, as a tier drawing
+ * every other frame has two periods for each. A window over that time steps down a tier. A window that would fit the
+ * tier above with room to spare steps back up, so the quality returns once the pressure is gone without switching back
+ * and forth at the edge of the budget.
+ * <p>
+ * Frame times are recorded by the thread drawing the frames. The current tier may be read from any thread.
+ */
+public class QualityController {
+    public static final int DEFAULT_WINDOW_FRAMES = 60;
+    /**
+     * The share of the time allowed by the tier above that a window must stay under to step back up.
+     */
+    public static final double STEP_UP_HEADROOM = 0.7;
+
+    private final long budgetNanos;
+    private final int windowFrames;
+    private final boolean adaptive;
+    private volatile QualityTier tier;
+    private long windowNanos;
+    private int framesInWindow;
+    private volatile double load;
+    private volatile int stepsDown;
+    private volatile int stepsUp;
+
+    /**
+     * Constructs a controller adapting the tier over windows of {@link #DEFAULT_WINDOW_FRAMES} frames.
+     *
+     * @param budgetNanos The time a frame may take, in nanoseconds. Must be positive.
+     * @param initialTier The tier to start at.
+     */
+    public QualityController(long budgetNanos, QualityTier initialTier) {
+        this(budgetNanos, initialTier, DEFAULT_WINDOW_FRAMES, true);
+    }
+
+    /**
+     * Constructs a controller.
+     *
+     * @param budgetNanos  The time a frame may take, in nanoseconds. Must be positive.
+     * @param initialTier  The tier to start at.
+     * @param windowFrames The number of frames averaged before the tier is reconsidered. Must be positive.
+     * @param adaptive     True to step between tiers, false to keep the initial tier and only measure the load.
+     */
+    public QualityController(long budgetNanos, QualityTier initialTier, int windowFrames, boolean adaptive) {
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Frame budget must be positive: " + budgetNanos);
+        }
+        if (windowFrames <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + windowFrames);
+        }
+        this.budgetNanos = budgetNanos;
+        this.tier = initialTier;
+        this.windowFrames = windowFrames;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Records the time a frame took to draw, and reconsiders the tier if the frame completes a window.
+     *
+     * @param frameNanos The time the frame took, in nanoseconds.
+     */
+    public void record(long frameNanos) {
+        windowNanos += frameNanos;
+        framesInWindow++;
+        if (framesInWindow < windowFrames) {
+            return;
+        }
+        double average = windowNanos / (double) framesInWindow;
+        windowNanos = 0;
+        framesInWindow = 0;
+        QualityTier current = tier;
+        load = average / getAllowedNanos(current);
+        if (!adaptive) {
+            return;
+        }
+        if (load > 1 && current.lower() != current) {
+            tier = current.lower();
+            stepsDown++;
+        } else if (current.higher() != current && average < STEP_UP_HEADROOM * getAllowedNanos(current.higher())) {
+            tier = current.higher();
+            stepsUp++;
+        }
+    }
+
+    private double getAllowedNanos(QualityTier tier) {
+        return budgetNanos * (double) tier.getFrameInterval();
+    }
+
+    /**
+     * Returns the tier frames should be drawn at.
+     *
+     * @return The current quality tier.
+     */
+    public QualityTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Returns the time a frame may take.
+     *
+     * @return The frame budget in nanoseconds.
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Checks whether the controller steps between tiers.
+     *
+     * @return True if the tier adapts to the frame times.
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Returns the average frame time of the latest complete window, as a share of the time the tier of that window
+     * allowed. A value above 1 means frames did not fit.
+     *
+     * @return The load of the latest window, or 0 before the first window completes.
+     */
+    public double getLoad() {
+        return load;
+    }
+
+    /**
+     * Returns the number of times the controller stepped down to a cheaper tier.
+     *
+     * @return The number of steps down.
+     */
+    public int getStepsDown() {
+        return stepsDown;
+    }
+
+    /**
+     * Returns the number of times the controller stepped back up to a better looking tier.
+     *
+     * @return The number of steps up.
+     */
+    public int getStepsUp() {
+        return stepsUp;
+    }
+
+    /**
+     * Describes the current tier, the frame budget, the latest load and the steps taken, on one line.
+     *
+     * @return The report, ending with a line break.
+     */
+    public String report() {
+        return String.format("quality %s, budget %.2f ms, load %.0f%%, steps down %d, steps up %d%n",
+                tier, budgetNanos / 1e6, load * 100, stepsDown, stepsUp);
+    }
+}
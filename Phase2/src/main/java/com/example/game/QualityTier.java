@@ -0,0 +1,102 @@
+package com.example.game;
+
+import java.awt.*;
+
+/**
+ * The QualityTier enum lists the levels of render quality the game steps through to keep frames within their time
+ * budget, from the best looking to the cheapest. Each tier sets how often motion is drawn, how often the heads-up
+ * display may be drawn again when what it shows changes, and the interpolation hints images are drawn with.
+ * <p>
+ * The work a tier saves comes from the first two. Drawing every other due frame halves the drawing done per second,
+ * and a slower heads-up display refresh spares the redraw of its text and banners while the score or timer changes.
+ * The hints only change the cost of images drawn at another size: the scene stretched over the view when it is
+ * rendered at a reduced resolution, see {@link com.example.gamestate.Play#setRenderResolution(float)}. Tiles and
+ * sprites are resampled once to the size they are drawn at and then copied pixel for pixel, so at full resolution the
+ * hints change neither how a frame looks nor what it costs.
+ */
+public enum QualityTier {
+    /**
+     * Every due frame drawn, the heads-up display drawn again as soon as it changes, and bilinear filtering of stretched
+     * images.
+     */
+    HIGH(RenderingHints.VALUE_INTERPOLATION_BILINEAR, RenderingHints.VALUE_RENDER_QUALITY, 1, 1),
+    /**
+     * Every due frame drawn, the heads-up display drawn again at most every 8 frames, and nearest neighbour filtering of
+     * stretched images.
+     */
+    BALANCED(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, RenderingHints.VALUE_RENDER_SPEED, 1, 8),
+    /**
+     * Every other due frame drawn, the heads-up display drawn again at most every 32 frames, and nearest neighbour
+     * filtering of stretched images.
+     */
+    LOW(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, RenderingHints.VALUE_RENDER_SPEED, 2, 32);
+
+    private final Object interpolationHint;
+    private final Object renderingHint;
+    private final int frameInterval;
+    private final int hudRefreshFrames;
+
+    QualityTier(Object interpolationHint, Object renderingHint, int frameInterval, int hudRefreshFrames) {
+        this.interpolationHint = interpolationHint;
+        this.renderingHint = renderingHint;
+        this.frameInterval = frameInterval;
+        this.hudRefreshFrames = hudRefreshFrames;
+    }
+
+    /**
+     * Sets the rendering hints of this tier on the given graphics object. They only affect images drawn at another size
+     * than their own.
+     *
+     * @param g The graphics object a frame is drawn with.
+     */
+    public void applyHints(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolationHint);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, renderingHint);
+    }
+
+    /**
+     * Returns the value of {@link RenderingHints#KEY_INTERPOLATION} images are drawn with.
+     *
+     * @return The interpolation hint of this tier.
+     */
+    public Object getInterpolationHint() {
+        return interpolationHint;
+    }
+
+    /**
+     * Returns how many frames fall due for each frame drawn, which lowers the rate motion is drawn at.
+     *
+     * @return 1 to draw every due frame, 2 to draw every other one.
+     */
+    public int getFrameInterval() {
+        return frameInterval;
+    }
+
+    /**
+     * Returns the fewest frames drawn between two redraws of the heads-up display.
+     *
+     * @return The refresh interval of the heads-up display, in frames.
+     */
+    public int getHudRefreshFrames() {
+        return hudRefreshFrames;
+    }
+
+    /**
+     * Returns the next cheaper tier.
+     *
+     * @return The tier below this one, or this tier if it is the cheapest.
+     */
+    public QualityTier lower() {
+        QualityTier[] tiers = values();
+        return ordinal() + 1 < tiers.length ? tiers[ordinal() + 1] : this;
+    }
+
+    /**
+     * Returns the next better looking tier.
+     *
+     * @return The tier above this one, or this tier if it is the best.
+     */
+    public QualityTier higher() {
+        return ordinal() > 0 ? values()[ordinal() - 1] : this;
+    }
+}
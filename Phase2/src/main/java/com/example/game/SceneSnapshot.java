@@ -0,0 +1,146 @@
+package com.example.game;
+
+import com.example.gamestate.State;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.util.Arrays;
+
+/**
+ * Keeps a still image of the Play screen to draw behind the states shown over it, such as the pause menu or the victory
+ * and defeat screens. Nothing in the world moves while one of those states is shown, so the scene is drawn once into
+ * the image when the snapshot is first rendered after being invalidated, optionally dimmed and blurred at the same
+ * time, and every later frame only copies the image to the screen.
+ */
+public class SceneSnapshot {
+    private final int width;
+    private final int height;
+    private final float dim;
+    private final int blurRadius;
+    private BufferedImage image;
+    private volatile boolean valid;
+    private int captures;
+
+    /**
+     * Constructs a snapshot of a screen of the given size that is neither dimmed nor blurred. Nothing is captured until
+     * the first render.
+     *
+     * @param width  The width of the screen in pixels. Must be positive.
+     * @param height The height of the screen in pixels. Must be positive.
+     */
+    public SceneSnapshot(int width, int height) {
+        this(width, height, 0f, 0);
+    }
+
+    /**
+     * Constructs a snapshot of a screen of the given size. Nothing is captured until the first render.
+     *
+     * @param width      The width of the screen in pixels. Must be positive.
+     * @param height     The height of the screen in pixels. Must be positive.
+     * @param dim        How much to darken the captured scene, from 0 for not at all to 1 for black.
+     * @param blurRadius The radius in pixels of the box blur applied to the captured scene, or 0 for no blur. Must not
+     *                   be negative.
+     */
+    public SceneSnapshot(int width, int height, float dim, int blurRadius) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Size must be positive: " + width + "x" + height);
+        }
+        if (!(dim >= 0f && dim <= 1f)) {
+            throw new IllegalArgumentException("Dim must be between 0 and 1: " + dim);
+        }
+        if (blurRadius < 0) {
+            throw new IllegalArgumentException("Blur radius must not be negative: " + blurRadius);
+        }
+        this.width = width;
+        this.height = height;
+        this.dim = dim;
+        this.blurRadius = blurRadius;
+    }
+
+    /**
+     * Renders the snapshot to the top left corner of the screen, first capturing the given scene if the snapshot has
+     * been invalidated since it was last captured.
+     *
+     * @param g     The graphics object used for drawing. Typically the same one used to draw the screen.
+     * @param scene The state whose screen is captured, usually the playing state.
+     */
+    public void render(Graphics g, State scene) {
+        if (image == null) {
+            image = createImage(g, width, height);
+        }
+        if (!valid) {
+            capture(scene);
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    private static BufferedImage createImage(Graphics g, int width, int height) {
+        if (g instanceof Graphics2D && !GraphicsEnvironment.isHeadless()) {
+            return ((Graphics2D) g).getDeviceConfiguration().createCompatibleImage(width, height, Transparency.OPAQUE);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private void capture(State scene) {
+        valid = true;
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setClip(0, 0, width, height);
+            scene.render(g);
+        } finally {
+            g.dispose();
+        }
+        if (blurRadius > 0) {
+            blur();
+        }
+        if (dim > 0f) {
+            g = image.createGraphics();
+            try {
+                g.setColor(new Color(0f, 0f, 0f, dim));
+                g.fillRect(0, 0, width, height);
+            } finally {
+                g.dispose();
+            }
+        }
+        captures++;
+    }
+
+    /**
+     * Blurs the image with a box blur, horizontally and then vertically.
+     */
+    private void blur() {
+        int size = blurRadius * 2 + 1;
+        float[] weights = new float[size];
+        Arrays.fill(weights, 1f / size);
+        BufferedImage horizontal = new ConvolveOp(new Kernel(size, 1, weights), ConvolveOp.EDGE_NO_OP, null)
+                .filter(image, null);
+        new ConvolveOp(new Kernel(1, size, weights), ConvolveOp.EDGE_NO_OP, null).filter(horizontal, image);
+    }
+
+    /**
+     * Marks the snapshot as out of date, so that the scene is captured again the next time the snapshot is rendered.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Checks whether the snapshot holds an up to date capture of the scene.
+     *
+     * @return True if the snapshot will be drawn without capturing the scene again.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns the number of times the scene was captured.
+     *
+     * @return The number of captures.
+     */
+    public int getCaptures() {
+        return captures;
+    }
+}
@@ -2,17 +2,17 @@ package com.example.game;
 
 import com.example.utils.ResourceLoader;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.font.TextAttribute;
 import java.util.Collections;
 
 /**
- * Scoreboard class represents a JLabel component that displays the current score and max score.
+ * Scoreboard class displays the current score and the number of collected meats. The font is loaded the first time
+ * the scoreboard is rendered, so that a scoreboard that is never drawn needs no font.
  *
  * @author Manya Sharma
  */
-public class Scoreboard extends JLabel {
+public class Scoreboard {
     private int currentScore; // Current score of the player
     private int collectedMeats; // Maximum score achieved
     private int totalMeats;
@@ -23,13 +23,9 @@ public class Scoreboard extends JLabel {
      */
 
     public Scoreboard(int totalMeats) {
-        super();
         this.currentScore = 0;
         this.collectedMeats = 0;
         this.totalMeats = totalMeats;
-        Font temp = ResourceLoader.getFont(ResourceLoader.MEDIEVAL_FONT);
-        font = temp.deriveFont(18f);
-        font = font.deriveFont(Collections.singletonMap(TextAttribute.WEIGHT, TextAttribute.WEIGHT_MEDIUM));
     }
 
     /**
@@ -67,6 +63,15 @@ public class Scoreboard extends JLabel {
         return collectedMeats;
     }
 
+    /**
+     * Method to get the number of meats to collect.
+     *
+     * @return The total number of meats on the level.
+     */
+    public int getTotalMeatCount() {
+        return totalMeats;
+    }
+
     /**
      * Method to reset the scores.
      * Resets both the current score and the max score to zero.
@@ -86,13 +91,34 @@ public class Scoreboard extends JLabel {
      * @param y_offset Vertical offset for rendering.
      */
     public void render(Graphics g, float x_offset, float y_offset) {
+        render(g, currentScore, collectedMeats, totalMeats);
+    }
+
+    /**
+     * Method to render the given score and meat counts as the scoreboard would show them. Used to draw values read
+     * earlier, such as the ones kept in a snapshot of the game.
+     *
+     * @param g              Graphics object used for rendering.
+     * @param currentScore   The score to show.
+     * @param collectedMeats The number of meats collected to show.
+     * @param totalMeats     The number of meats to collect to show.
+     */
+    public void render(Graphics g, int currentScore, int collectedMeats, int totalMeats) {
         String maxScoreText = String.format("Meat Count: %s/%s\n", collectedMeats, totalMeats);
         String currentScoreText = String.format("Current Score: %s\n", currentScore);
+        if (font == null) {
+            initializeFont();
+        }
         g.setColor(new Color(59, 68, 75));
         g.setFont(this.font);
         g.drawString(maxScoreText, 10, 45);
         g.drawString(currentScoreText, 10, 65);
 
     }
-}
 
+    private void initializeFont() {
+        Font temp = ResourceLoader.getFont(ResourceLoader.MEDIEVAL_FONT);
+        font = temp.deriveFont(18f);
+        font = font.deriveFont(Collections.singletonMap(TextAttribute.WEIGHT, TextAttribute.WEIGHT_MEDIUM));
+    }
+}
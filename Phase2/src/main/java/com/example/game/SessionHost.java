@@ -0,0 +1,248 @@
+package com.example.game;
+
+import com.example.utils.ResourceLoader;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many independent game sessions in one JVM and runs them concurrently on an executor. Every session is a
+ * {@link HeadlessEngine} with its own playing state, input script, update rate, knight, goblins and pathfinders, while
+ * the level layout, the sprite sheets and the fonts are loaded once by {@link ResourceLoader} and shared read-only
+ * between the sessions. The host measures the update throughput of each session and the heap each session takes on top
+ * of the shared resources.
+ * <p>
+ * Can be started from the command line with
+ * {@code java com.example.game.SessionHost [sessions] [ticks] [pool|virtual] [level]}, which runs the sessions either
+ * on a fixed pool with one thread per processor or, on a runtime that has them, on one virtual thread per session, and
+ * prints the throughput and memory figures. The sessions are updated at the rate of the {@code game.updatesPerSecond}
+ * property.
+ */
+public class SessionHost {
+    public static final int DEFAULT_SESSION_COUNT = 200;
+    public static final long DEFAULT_TICKS = 10_000L;
+
+    private final HeadlessEngine[] sessions;
+    private final long[] sessionNanos;
+    private final long bytesPerSession;
+    private long wallNanos;
+
+    /**
+     * Constructs the given number of sessions on the level stored at the given path, each fed by its own input script.
+     *
+     * @param sessionCount The number of sessions to host. Must be positive.
+     * @param levelPath    The path of the level, as accepted by {@link ResourceLoader#getLevel(String)}.
+     * @param scripts      Supplies a fresh input script for every session.
+     */
+    public SessionHost(int sessionCount, String levelPath, Supplier<InputScript> scripts) {
+        if (sessionCount <= 0) {
+            throw new IllegalArgumentException("Session count must be positive: " + sessionCount);
+        }
+        // Load the shared resources before measuring, so that only the per session state is counted.
+        new HeadlessEngine(levelPath);
+        long before = usedMemory();
+        sessions = new HeadlessEngine[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            sessions[i] = new HeadlessEngine(levelPath, scripts.get());
+        }
+        bytesPerSession = Math.max(0, usedMemory() - before) / sessionCount;
+        sessionNanos = new long[sessionCount];
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Runs every session on the given executor until it is won or lost, or until it has simulated the given number of
+     * ticks. Blocks until every session has stopped.
+     *
+     * @param maxTicks The highest total number of ticks to simulate per session.
+     * @param executor The executor to run the sessions on. It is not shut down.
+     * @return The number of ticks simulated by all sessions together.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the sessions.
+     */
+    public long run(long maxTicks, ExecutorService executor) throws InterruptedException {
+        List<Callable<Long>> tasks = new ArrayList<>(sessions.length);
+        for (int i = 0; i < sessions.length; i++) {
+            int index = i;
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                long ticks = sessions[index].run(maxTicks);
+                sessionNanos[index] = System.nanoTime() - start;
+                return ticks;
+            });
+        }
+        long start = System.nanoTime();
+        List<Future<Long>> results = executor.invokeAll(tasks);
+        wallNanos = System.nanoTime() - start;
+        long total = 0;
+        for (Future<Long> result : results) {
+            try {
+                total += result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A session failed", e.getCause());
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Creates an executor to run sessions on. Prefers one virtual thread per session if asked to and if the runtime
+     * supports them, and otherwise uses a fixed pool with one thread per available processor.
+     *
+     * @param preferVirtual True to use virtual threads when they are available.
+     * @return The new executor, which the caller shuts down.
+     */
+    public static ExecutorService newExecutor(boolean preferVirtual) {
+        if (preferVirtual) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Virtual threads need Java 21; fall back to platform threads.
+            }
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Checks whether the runtime supports virtual threads.
+     *
+     * @return True if {@link #newExecutor(boolean)} can run sessions on virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a hosted session.
+     *
+     * @param index The index of the session.
+     * @return The engine of the session.
+     */
+    public HeadlessEngine getSession(int index) {
+        return sessions[index];
+    }
+
+    /**
+     * Sets the number of times per second a hosted session stands for being updated, leaving the other sessions at
+     * their own rates.
+     *
+     * @param index          The index of the session.
+     * @param ticksPerSecond The new update rate. Must be positive.
+     */
+    public void setSessionTicksPerSecond(int index, int ticksPerSecond) {
+        sessions[index].setTicksPerSecond(ticksPerSecond);
+    }
+
+    /**
+     * Returns the number of hosted sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int getSessionCount() {
+        return sessions.length;
+    }
+
+    /**
+     * Returns the number of ticks a session simulated per second of its own run during the last run. A session that
+     * shares its thread with others is measured from its first to its last tick.
+     *
+     * @param index The index of the session.
+     * @return The ticks per second of the session, or 0 if it has not run.
+     */
+    public double getSessionTicksPerSecond(int index) {
+        long nanos = sessionNanos[index];
+        return nanos == 0 ? 0 : sessions[index].getTicks() * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Returns the number of ticks all sessions together simulated per second of wall clock time during the last run.
+     *
+     * @return The total ticks per second, or 0 if the sessions have not run.
+     */
+    public double getTotalTicksPerSecond() {
+        if (wallNanos == 0) {
+            return 0;
+        }
+        long ticks = 0;
+        for (HeadlessEngine session : sessions) {
+            ticks += session.getTicks();
+        }
+        return ticks * 1_000_000_000.0 / wallNanos;
+    }
+
+    /**
+     * Returns the heap taken by each session, on top of the resources shared by all sessions, as measured when the
+     * sessions were constructed. The figure is an estimate, as it relies on the garbage collector.
+     *
+     * @return The average number of bytes per session.
+     */
+    public long getBytesPerSession() {
+        return bytesPerSession;
+    }
+
+    /**
+     * Returns a summary of the last run: the total throughput, the median, lowest and highest throughput of a session,
+     * and the heap per session.
+     *
+     * @return The summary as one line of text.
+     */
+    public String report() {
+        double[] rates = new double[sessions.length];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = getSessionTicksPerSecond(i);
+        }
+        Arrays.sort(rates);
+        return String.format("%d sessions: %.0f ticks/s total, per session p50 %.0f min %.0f max %.0f ticks/s, %d KB "
+                        + "per session", sessions.length, getTotalTicksPerSecond(), rates[rates.length / 2], rates[0],
+                rates[rates.length - 1], bytesPerSession / 1024);
+    }
+
+    /**
+     * Hosts sessions without a display, each walking the knight down and to the right, and reports their throughput
+     * and memory use.
+     *
+     * @param args The optional number of sessions, number of ticks per session, executor kind and level path, in that
+     *             order.
+     * @throws InterruptedException If interrupted while waiting for the sessions.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        int sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSION_COUNT;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_TICKS;
+        boolean virtual = args.length > 2 && args[2].equals("virtual");
+        String levelPath = args.length > 3 ? args[3] : ResourceLoader.LEVEL_ONE_PATH;
+
+        SessionHost host = new SessionHost(sessionCount, levelPath, () -> InputScript.parse("0:+S,0:+D,400:-S"));
+        int ticksPerSecond = Integer.getInteger("game.updatesPerSecond", GameSettings.DEFAULT_UPDATES_PER_SECOND);
+        for (int i = 0; i < sessionCount; i++) {
+            host.setSessionTicksPerSecond(i, ticksPerSecond);
+        }
+        ExecutorService executor = newExecutor(virtual);
+        try {
+            host.run(maxTicks, executor);
+        } finally {
+            executor.shutdown();
+        }
+        System.out.printf("%s threads, %d processors%n", virtual && isVirtualThreadSupported() ? "virtual" : "pool",
+                Runtime.getRuntime().availableProcessors());
+        System.out.println(host.report());
+    }
+}
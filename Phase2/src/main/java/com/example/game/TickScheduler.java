@@ -0,0 +1,167 @@
+package com.example.game;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces a loop to a fixed number of ticks per second. Instead of polling the clock until a tick is due, the calling thread
+ * is parked until shortly before the deadline and only spins for the last moment, which keeps the tick rate as accurate
+ * as polling while leaving the core idle between ticks. Deadlines are advanced by exactly one period per tick, so rounding
+ * errors never accumulate and a late tick does not push back the ones that follow it.
+ */
+public class TickScheduler {
+    /**
+     * Remaining time below which the scheduler stops parking and spins instead. Parking regularly oversleeps by a fraction
+     * of a millisecond, so the end of every wait is spun to hit the deadline.
+     */
+    private static final long SPIN_THRESHOLD_NANOS = 1_000_000L;
+    private volatile long periodNanos;
+    private long nextTickTime;
+    private volatile long startTime;
+    private volatile long idleNanos;
+
+    /**
+     * Constructs a TickScheduler that runs at the given rate. The first tick is due one period after construction.
+     *
+     * @param ticksPerSecond The number of ticks per second. Must be positive.
+     */
+    public TickScheduler(int ticksPerSecond) {
+        setTicksPerSecond(ticksPerSecond);
+        start();
+    }
+
+    /**
+     * Restarts the schedule from the current time, clearing the idle time measured so far.
+     */
+    public void start() {
+        this.startTime = System.nanoTime();
+        this.nextTickTime = startTime + periodNanos;
+        this.idleNanos = 0;
+    }
+
+    /**
+     * Checks whether the next tick is due at the given time.
+     *
+     * @param now The current time, on the {@link System#nanoTime()} clock.
+     * @return True if the deadline of the next tick has been reached.
+     */
+    public boolean isDue(long now) {
+        return now - nextTickTime >= 0;
+    }
+
+    /**
+     * Schedules the tick after the current one without waiting. Used by loops that wait on several schedules at once.
+     */
+    public void advance() {
+        nextTickTime += periodNanos;
+    }
+
+    /**
+     * Schedules the first tick that lies after the given time, dropping any ticks that were missed. Used for work such
+     * as drawing, where a late tick should be skipped rather than repeated.
+     *
+     * @param now The current time, on the {@link System#nanoTime()} clock.
+     */
+    public void advancePast(long now) {
+        nextTickTime += periodNanos;
+        if (now - nextTickTime >= 0) {
+            long missed = (now - nextTickTime) / periodNanos + 1;
+            nextTickTime += missed * periodNanos;
+        }
+    }
+
+    /**
+     * Returns the number of ticks whose deadline has been reached at the given time, including the next tick.
+     *
+     * @param now The current time, on the {@link System#nanoTime()} clock.
+     * @return 0 if the next tick is not due yet, otherwise the number of ticks the loop is behind by.
+     */
+    public long getDueTicks(long now) {
+        if (!isDue(now)) {
+            return 0;
+        }
+        return (now - nextTickTime) / periodNanos + 1;
+    }
+
+    /**
+     * Skips every tick that is due at the given time, so that the next tick is the first one after it. Used to give up
+     * on a backlog of ticks that would take too long to catch up with.
+     *
+     * @param now The current time, on the {@link System#nanoTime()} clock.
+     * @return The number of ticks skipped.
+     */
+    public long dropDueTicks(long now) {
+        long due = getDueTicks(now);
+        nextTickTime += due * periodNanos;
+        return due;
+    }
+
+    /**
+     * Blocks the calling thread until the given time. The time spent blocked is counted as idle time.
+     *
+     * @param deadline The time to wait for, on the {@link System#nanoTime()} clock.
+     */
+    public void parkUntil(long deadline) {
+        long begin = System.nanoTime();
+        long remaining = deadline - begin;
+        while (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            remaining = deadline - System.nanoTime();
+        }
+        while (deadline - System.nanoTime() > 0) {
+            // Spin for the final stretch; parking again would overshoot the deadline.
+        }
+        idleNanos += System.nanoTime() - begin;
+    }
+
+    /**
+     * Changes the tick rate. Takes effect from the tick after the one currently scheduled.
+     *
+     * @param ticksPerSecond The new number of ticks per second. Must be positive.
+     */
+    public void setTicksPerSecond(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Ticks per second must be positive: " + ticksPerSecond);
+        }
+        this.periodNanos = 1_000_000_000L / ticksPerSecond;
+    }
+
+    /**
+     * Returns the length of a tick.
+     *
+     * @return The time between two ticks in nanoseconds.
+     */
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    /**
+     * Returns the time at which the next tick is due.
+     *
+     * @return The deadline of the next tick, on the {@link System#nanoTime()} clock.
+     */
+    public long getNextTickTime() {
+        return nextTickTime;
+    }
+
+    /**
+     * Returns the total time the loop has spent waiting for ticks since the schedule was started.
+     *
+     * @return The idle time in nanoseconds.
+     */
+    public long getIdleNanos() {
+        return idleNanos;
+    }
+
+    /**
+     * Returns the share of the time since the schedule was started that the loop spent waiting rather than working.
+     *
+     * @return A value between 0 (never idle) and 1 (always idle).
+     */
+    public double getIdleRatio() {
+        long elapsed = System.nanoTime() - startTime;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, (double) idleNanos / elapsed);
+    }
+}
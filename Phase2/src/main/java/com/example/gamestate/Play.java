@@ -3,8 +3,13 @@ package com.example.gamestate;
 import com.example.entities.*;
 import com.example.game.*;
 import com.example.levels.Board;
+import com.example.levels.DrawList;
+import com.example.levels.SpatialGrid;
+import com.example.metrics.Phase;
+import com.example.metrics.Profiler;
 import com.example.utils.Directions;
 import com.example.utils.ResourceLoader;
+import com.example.utils.SimulationClock;
 
 
 import java.awt.*;
@@ -13,6 +18,7 @@ import java.awt.event.MouseEvent;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -26,13 +32,45 @@ import java.util.concurrent.ConcurrentLinkedDeque;
  * @author Pardeep Singh Manhas
  */
 public class Play extends State {
+    public static final int INPUT_UP = 1;
+    public static final int INPUT_LEFT = 2;
+    public static final int INPUT_DOWN = 4;
+    public static final int INPUT_RIGHT = 8;
+    public static final int DEFAULT_PARALLEL_GOBLIN_THRESHOLD = 64;
+    public static final int GOBLIN_TASK_LEAF_SIZE = 16;
+    public static final int GRID_BUCKET_CELLS = 4;
+    private static final int MAX_PRESENT_ATTEMPTS = 3;
+
+    private final StateManager stateManager;
+    private final int[][] level;
+    private final SimulationClock clock = new SimulationClock();
     private Knight knight;
     private final ConcurrentLinkedDeque<Tree> trees = new ConcurrentLinkedDeque<>();
     private final ConcurrentLinkedDeque<Goblin> goblins = new ConcurrentLinkedDeque<>();
+    private Goblin[] goblinArray = new Goblin[0];
+    private ForkJoinPool goblinPool = ForkJoinPool.commonPool();
+    private int parallelGoblinThreshold = DEFAULT_PARALLEL_GOBLIN_THRESHOLD;
     private final ConcurrentLinkedDeque<Dynamite> dynamites = new ConcurrentLinkedDeque<>();
     private final ConcurrentLinkedDeque<House> houses = new ConcurrentLinkedDeque<>();
     private final ConcurrentLinkedDeque<Coin> coins = new ConcurrentLinkedDeque<>();
     private final ConcurrentLinkedDeque<Meat> meats = new ConcurrentLinkedDeque<>();
+    private SpatialGrid<Meat> meatGrid;
+    private SpatialGrid<Coin> coinGrid;
+    private SpatialGrid<Dynamite> dynamiteGrid;
+    private SpatialGrid<Goblin> goblinGrid;
+    private SpatialGrid<GameEntity> sceneryGrid;
+    private final ArrayList<GameEntity> visibleEntities = new ArrayList<>();
+    private final ArrayList<GameEntity> nearbyScenery = new ArrayList<>();
+    private final Rectangle spriteBounds = new Rectangle();
+    private final Rectangle sceneryBounds = new Rectangle();
+    private final DrawList drawList = new DrawList();
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private final WorldSnapshot liveSnapshot = new WorldSnapshot();
+    private volatile boolean publishingSnapshots;
+    private Board renderedBoard;
+    private final SceneBuffer sceneBuffer = new SceneBuffer();
+    private volatile float renderResolution = 1f;
+    private long updateTime;
     private int victoryMeatCount;
     private Board board;
     private final Dimension boardSize;
@@ -40,7 +78,10 @@ public class Play extends State {
     private final Scoreboard scoreboard;
     private final HelpInformation help = new HelpInformation();
     private final HelpBanner banner = new HelpBanner();
+    private final HudLayer hud;
     private GameCamera testCamera;
+    private final Profiler profiler = new Profiler();
+    private int inputMask;
 
     /**
      * Initializes the playing state with the game board, entities, and UI components. The Entities to create are created
@@ -50,40 +91,93 @@ public class Play extends State {
      * @author Pardeep Singh Manhas, William Desa, and Manya Sharma
      */
     public Play(Game game) {
+        this(game, game, ResourceLoader.LEVEL_ONE_PATH);
+    }
+
+    /**
+     * Initializes the playing state on the level stored at the given path. State transitions are reported to the given
+     * state manager rather than to the game, which allows the state to be simulated without a window.
+     *
+     * @param game         The main game controller this state is part of, or null when running without a window.
+     * @param stateManager Receives the transitions to the win, defeat and playing states.
+     * @param levelPath    The path of the level to load, as accepted by {@link ResourceLoader#getLevel(String)}.
+     */
+    public Play(Game game, StateManager stateManager, String levelPath) {
+        this(game, stateManager, ResourceLoader.getLevel(levelPath));
+    }
+
+    /**
+     * Initializes the playing state on the given level. See {@link #Play(Game, StateManager, String)}.
+     *
+     * @param game         The main game controller this state is part of, or null when running without a window.
+     * @param stateManager Receives the transitions to the win, defeat and playing states.
+     * @param level        The layout of the level, as read by {@link ResourceLoader#getLevel(String)}.
+     */
+    public Play(Game game, StateManager stateManager, int[][] level) {
         super(game);
+        this.stateManager = stateManager;
+        this.level = level;
         initializeBoard();
         initializeEntities();
         timer = new GameTimer();
         this.boardSize = new Dimension(board.getCellSize() * 10, board.getCellSize() * 7);
         this.victoryMeatCount = meats.size();
         scoreboard = new Scoreboard(victoryMeatCount);
+        hud = new HudLayer(banner, timer, scoreboard, help);
         initializeCamera();
     }
 
     /**
-     * Initializes the game board by loading a level from a specified path by utilizing ResourceLoader.
+     * Initializes the game board from the level this state was created with.
      *
      * @author Pardeep Singh Manhas
      */
     private void initializeBoard() {
-        this.board = new Board(ResourceLoader.LEVEL_ONE_PATH, this);
+        this.board = new Board(level, this);
     }
 
     /**
      * Initializes all game entities, including the player, enemies, and collectibles, by
-     * retrieving them from the game board.
+     * retrieving them from the game board. The player and enemies are given the clock of this state.
      *
      * @author Pardeep Singh Manhas, William Desa, and Manya Sharma
      */
     private void initializeEntities() {
         this.knight = board.getKnights().get(0);
         knight.setPlay(this);
+        knight.setClock(clock);
         goblins.addAll(board.getGoblins());
+        goblinArray = goblins.toArray(new Goblin[0]);
         dynamites.addAll(board.getDynamites());
+        goblins.forEach(goblin -> goblin.setClock(clock));
+        dynamites.forEach(dynamite -> dynamite.setClock(clock));
         houses.addAll(board.getHouses());
         meats.addAll(board.getMeats());
         coins.addAll(board.getCoins());
         trees.addAll(board.getTrees());
+        initializeGrids();
+    }
+
+    /**
+     * Indexes the meat, coins, dynamite and goblins on grids of {@link #GRID_BUCKET_CELLS} by {@link #GRID_BUCKET_CELLS}
+     * cells, so that rendering only looks at those near the camera. The trees and houses are indexed too, so that those
+     * standing in front of a sprite can be found and drawn over it.
+     */
+    private void initializeGrids() {
+        int width = board.getBoardWidthPixels();
+        int height = board.getBoardHeightPixels();
+        int bucketSize = board.getCellSize() * GRID_BUCKET_CELLS;
+        meatGrid = new SpatialGrid<>(width, height, bucketSize);
+        coinGrid = new SpatialGrid<>(width, height, bucketSize);
+        dynamiteGrid = new SpatialGrid<>(width, height, bucketSize);
+        goblinGrid = new SpatialGrid<>(width, height, bucketSize);
+        sceneryGrid = new SpatialGrid<>(width, height, bucketSize);
+        meats.forEach(meatGrid::add);
+        coins.forEach(coinGrid::add);
+        dynamites.forEach(dynamiteGrid::add);
+        goblins.forEach(goblinGrid::add);
+        trees.forEach(sceneryGrid::add);
+        houses.forEach(sceneryGrid::add);
     }
 
     /**
@@ -148,6 +242,69 @@ public class Play extends State {
         return this.knight;
     }
 
+    /**
+     * Retrieves the board of the level being played. The board is replaced when the state is reset.
+     *
+     * @return The current game board.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Retrieves the clock holding the update rate of this session. The player and enemies move and animate at the pace
+     * of this clock, so its rate must follow the rate the state is actually updated at.
+     *
+     * @return The clock of this state.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Retrieves the profiler timing the stages of the updates and renders of this state.
+     *
+     * @return The profiler of this state.
+     */
+    public Profiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Retrieves the camera choosing the part of the board shown on the screen.
+     *
+     * @return The camera of this state.
+     */
+    public GameCamera getCamera() {
+        return testCamera;
+    }
+
+    /**
+     * Moves the camera as it follows the knight, but towards the given point instead, leaving the knight where it is.
+     * Used to script the camera, for example to measure drawing along a path over the whole board.
+     *
+     * @param targetX The x coordinate in the world for the camera to follow.
+     * @param targetY The y coordinate in the world for the camera to follow.
+     */
+    public void moveCamera(float targetX, float targetY) {
+        testCamera.storePreviousPosition();
+        testCamera.incrementCameraX(targetX);
+        testCamera.incrementCameraY(targetY);
+        updateTime = System.nanoTime();
+        if (publishingSnapshots) {
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Retrieves the heads-up display drawn over the board.
+     *
+     * @return The heads-up display of this state.
+     */
+    public HudLayer getHud() {
+        return hud;
+    }
+
     public Dimension getBoardDimension() {
         return boardSize;
     }
@@ -163,10 +320,15 @@ public class Play extends State {
         initializeBoard();
         initializeEntities();
         knight.reset();
-        getGame().setCurrentState(Gamestate.PLAYING);
+        inputMask = 0;
+        stateManager.setCurrentState(Gamestate.PLAYING);
         this.victoryMeatCount = meats.size();
         timer.reset();
         scoreboard.resetScores(victoryMeatCount);
+        updateTime = System.nanoTime();
+        if (publishingSnapshots) {
+            publishSnapshot();
+        }
     }
 
     /**
@@ -185,40 +347,263 @@ public class Play extends State {
 
 
     /**
-     * Renders all game elements including the game board, entities, and UI components every game update. Typically, moving entities such
-     * as Goblins and Knights will be rendered over stationary ones. Also renders the timer and scoreboard.
+     * Renders all game elements including the game board, entities, and UI components every game update. Entities are
+     * drawn from the top of the screen down, so that those standing lower are drawn over those behind them. Also renders
+     * the timer and scoreboard.
      *
      * @param g The Graphics object used for drawing.
      * @author Pardeep Singh Manhas, William Desa, and Manya Sharma
      */
     @Override
     public void render(Graphics g) {
-        board.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
-        for (Tree tree : trees) {
-            tree.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
+        render(g, 1f);
+    }
+
+    /**
+     * Renders all game elements as {@link #render(Graphics)} does, with the camera and moving entities placed between
+     * their positions of the previous and the latest update. When snapshots are published, the frame is drawn from the
+     * latest published snapshot and never looks at the entities, so it may be drawn by another thread than the one
+     * updating them; otherwise a snapshot of the current world is taken first.
+     *
+     * @param g     The Graphics object used for drawing.
+     * @param alpha How far between the previous (0) and latest (1) update the frame should be drawn.
+     */
+    public void render(Graphics g, float alpha) {
+        render(g, acquireSnapshot(), alpha);
+    }
+
+    /**
+     * Renders all game elements as {@link #render(Graphics, float)} does, placing the frame between the previous and
+     * latest update according to the time it is drawn at. The share of the update period that has passed is measured
+     * from the time of the update held by the snapshot being drawn, so the positions and the timing of a frame always
+     * come from the same update, even when an update is published while the frame is being drawn on another thread.
+     *
+     * @param g                 The Graphics object used for drawing.
+     * @param frameTime         The time the frame is drawn, on the {@link System#nanoTime()} clock.
+     * @param updatePeriodNanos The time between two updates, in nanoseconds. Must be positive.
+     */
+    public void renderAt(Graphics g, long frameTime, long updatePeriodNanos) {
+        WorldSnapshot snapshot = acquireSnapshot();
+        render(g, snapshot, snapshot.getAlpha(frameTime, updatePeriodNanos));
+    }
+
+    /**
+     * Returns the latest published snapshot, or a snapshot of the current world when snapshots are not published.
+     */
+    private WorldSnapshot acquireSnapshot() {
+        if (publishingSnapshots) {
+            return snapshots.acquire();
         }
-        for (House house : houses) {
-            house.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
+        long start = profiler.start();
+        fillSnapshot(liveSnapshot);
+        profiler.stop(Phase.SNAPSHOT, start);
+        return liveSnapshot;
+    }
+
+    private void render(Graphics g, WorldSnapshot snapshot, float alpha) {
+        Board snapshotBoard = snapshot.getBoard();
+        if (snapshotBoard != renderedBoard) {
+            // The static layer is only touched by the thread drawing it, which lets go of the old board here.
+            if (renderedBoard != null) {
+                renderedBoard.getStaticLayer().flush();
+            }
+            renderedBoard = snapshotBoard;
         }
-        for (Meat meat : meats) {
-            meat.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
+        float resolution = renderResolution;
+        snapshotBoard.getStaticLayer().setScale(resolution);
+        if (resolution == 1f) {
+            sceneBuffer.flush();
+            renderScene(g, snapshot, alpha, resolution);
+        } else {
+            renderReducedScene(g, snapshot, alpha, resolution);
         }
-        for (Coin coin : coins) {
-            coin.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
+        long start = profiler.start();
+        hud.render(g, snapshot.getSecondsElapsed(), snapshot.getScore(), snapshot.getMeatCount(),
+                snapshot.getTotalMeatCount());
+        profiler.stop(Phase.HUD_RENDER, start);
+    }
+
+    /**
+     * Draws the board and the sprites into the scene buffer at the given resolution and stretches them over the view,
+     * drawing them again if the buffer loses its contents meanwhile.
+     */
+    private void renderReducedScene(Graphics g, WorldSnapshot snapshot, float alpha, float resolution) {
+        int width = Math.max(1, Math.round(boardSize.width * resolution));
+        int height = Math.max(1, Math.round(boardSize.height * resolution));
+        for (int attempt = 0; attempt < MAX_PRESENT_ATTEMPTS; attempt++) {
+            Graphics2D sceneGraphics = sceneBuffer.createGraphics(g, width, height);
+            try {
+                renderScene(sceneGraphics, snapshot, alpha, resolution);
+            } finally {
+                sceneGraphics.dispose();
+            }
+            long start = profiler.start();
+            boolean presented = sceneBuffer.present(g, boardSize.width, boardSize.height);
+            profiler.stop(Phase.UPSCALE, start);
+            if (presented) {
+                return;
+            }
         }
-        for (Dynamite dynamite : dynamites) {
-            dynamite.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
+    }
+
+    private void renderScene(Graphics g, WorldSnapshot snapshot, float alpha, float resolution) {
+        int cameraX = (int) snapshot.getCameraX(alpha);
+        int cameraY = (int) snapshot.getCameraY(alpha);
+        long start = profiler.start();
+        snapshot.getBoard().renderStaticLayer(g, cameraX, cameraY, boardSize.width, boardSize.height);
+        profiler.stop(Phase.BOARD_RENDER, start);
+        start = profiler.start();
+        snapshot.renderSprites(g, cameraX, cameraY, alpha, resolution);
+        profiler.stop(Phase.ENTITY_RENDER, start);
+    }
+
+    /**
+     * Sets the resolution the board and entities are drawn at, as a share of the size of the view. Below 1, they are
+     * drawn into a smaller offscreen image that is stretched over the view in a single copy, filtered with the
+     * interpolation hint of the graphics object the frame is drawn with, while the timer, scoreboard and help text are
+     * still drawn at full resolution over it. This trades sharpness for fewer pixels drawn per frame.
+     * <p>
+     * The resolution is read by the thread drawing the frames at the start of each frame.
+     *
+     * @param renderResolution The share of the size of the view, from above 0 up to 1 for full resolution.
+     */
+    public void setRenderResolution(float renderResolution) {
+        if (!(renderResolution > 0f && renderResolution <= 1f)) {
+            throw new IllegalArgumentException("Render resolution must be above 0 and at most 1: " + renderResolution);
+        }
+        this.renderResolution = renderResolution;
+    }
+
+    /**
+     * Returns the resolution the board and entities are drawn at.
+     *
+     * @return The share of the size of the view, 1 for full resolution.
+     */
+    public float getRenderResolution() {
+        return renderResolution;
+    }
+
+    /**
+     * Returns the offscreen image the board and entities are drawn into when drawn at a reduced resolution.
+     *
+     * @return The scene buffer of this state.
+     */
+    public SceneBuffer getSceneBuffer() {
+        return sceneBuffer;
+    }
+
+    /**
+     * Fills a snapshot with the board, the camera and the sprites near the view, sorted from the top of the screen down
+     * so that those standing lower are drawn over those behind them.
+     *
+     * @param snapshot The snapshot to fill.
+     */
+    private void fillSnapshot(WorldSnapshot snapshot) {
+        snapshot.begin(board, testCamera.getInterpolatedXPos(0f), testCamera.getInterpolatedYPos(0f),
+                testCamera.getCameraXPos(), testCamera.getCameraYPos());
+        snapshot.setUpdateTime(updateTime);
+        snapshot.setHud(timer.getSecondsElapsed(), scoreboard.getCurrentScore(), scoreboard.getCurrentMeatCount(),
+                scoreboard.getTotalMeatCount());
+        // Sprites reach up to a cell past their collision box, so entities one cell outside the view are drawn too.
+        // The camera moves less than a cell in an update, so this also covers the frames drawn before the update.
+        int margin = board.getCellSize();
+        int queryX = (int) testCamera.getCameraXPos() - margin;
+        int queryY = (int) testCamera.getCameraYPos() - margin;
+        int queryWidth = boardSize.width + 2 * margin;
+        int queryHeight = boardSize.height + 2 * margin;
+        visibleEntities.clear();
+        meatGrid.query(queryX, queryY, queryWidth, queryHeight, visibleEntities);
+        coinGrid.query(queryX, queryY, queryWidth, queryHeight, visibleEntities);
+        dynamiteGrid.query(queryX, queryY, queryWidth, queryHeight, visibleEntities);
+        goblinGrid.query(queryX, queryY, queryWidth, queryHeight, visibleEntities);
+        drawList.clear();
+        for (int i = 0; i < visibleEntities.size(); i++) {
+            drawList.add(visibleEntities.get(i));
         }
-        for (Goblin goblin : goblins) {
-            goblin.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
+        drawList.add(knight);
+        addSceneryInFront(margin);
+        drawList.sort();
+        for (int i = 0; i < drawList.size(); i++) {
+            GameEntity entity = drawList.get(i);
+            snapshot.add(entity.getRenderRegion(), entity.getRenderX(0f), entity.getRenderY(0f),
+                    entity.getRenderX(1f), entity.getRenderY(1f));
         }
-        knight.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
-        banner.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
-        timer.render(g);
-        scoreboard.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
-        help.render(g, (int) testCamera.getCameraXPos(), (int) testCamera.getCameraYPos());
     }
 
+    /**
+     * Fills the next snapshot with the world as it is now and hands it to the thread drawing the screen.
+     */
+    private void publishSnapshot() {
+        long start = profiler.start();
+        fillSnapshot(snapshots.getBack());
+        snapshots.publish();
+        profiler.stop(Phase.SNAPSHOT, start);
+    }
+
+    /**
+     * Sets whether a snapshot of the world is published at the end of every update for frames to be drawn from. This
+     * must be turned on before the screen is drawn by another thread than the one updating this state, and is off by
+     * default, which leaves the cost of the snapshot to the frames actually drawn. Turning it on publishes a snapshot
+     * of the world at once.
+     *
+     * @param publishingSnapshots True to publish a snapshot after every update.
+     */
+    public void setPublishingSnapshots(boolean publishingSnapshots) {
+        this.publishingSnapshots = publishingSnapshots;
+        if (publishingSnapshots) {
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Checks whether a snapshot of the world is published at the end of every update.
+     *
+     * @return True if frames are drawn from published snapshots.
+     */
+    public boolean isPublishingSnapshots() {
+        return publishingSnapshots;
+    }
+
+    /**
+     * Returns the buffer the snapshots of the world are published through.
+     *
+     * @return The snapshot buffer of this state.
+     */
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Adds to the draw list the trees and houses that stand in front of a moving sprite already in it and overlap it.
+     * They are already drawn in the static layer behind every sprite, so drawing them again after the sprites behind
+     * them is what hides those sprites. Pickups and dynamite stand in the middle of their cell and are kept over the
+     * scenery around them, as they always were.
+     *
+     * @param margin How far past its collision box a sprite may be drawn, in pixels.
+     */
+    private void addSceneryInFront(int margin) {
+        int sprites = drawList.size();
+        for (int i = 0; i < sprites; i++) {
+            GameEntity sprite = drawList.get(i);
+            if (!(sprite instanceof Mover)) {
+                continue;
+            }
+            sprite.getRenderBounds(spriteBounds);
+            int key = drawList.getKey(i);
+            nearbyScenery.clear();
+            // Scenery is indexed by the top left corner of its collision box, which may lie up to a sprite away from
+            // the part overlapping this sprite.
+            sceneryGrid.query(spriteBounds.x - margin, spriteBounds.y - margin, spriteBounds.width + 2 * margin,
+                    spriteBounds.height + 2 * margin, nearbyScenery);
+            for (int j = 0; j < nearbyScenery.size(); j++) {
+                GameEntity scenery = nearbyScenery.get(j);
+                int sceneryKey = DrawList.sortKey(scenery);
+                if (sceneryKey > key && scenery.getRenderBounds(sceneryBounds).intersects(spriteBounds)) {
+                    drawList.add(scenery, sceneryKey);
+                }
+            }
+        }
+    }
 
     /**
      * Updates the game state, including all game entities and the game timer. Game entities detect whether they are
@@ -230,18 +615,23 @@ public class Play extends State {
      */
     @Override
     public void update() {
+        long tickStart = profiler.start();
         knight.update();
+        testCamera.storePreviousPosition();
         testCamera.incrementCameraX(knight.getCollisionBox().x);
         testCamera.incrementCameraY(knight.getCollisionBox().y);
+        profiler.stop(Phase.KNIGHT_UPDATE, tickStart);
 
-        for (Goblin goblin : goblins) {
-            goblin.update();
+        long start = profiler.start();
+        updateGoblins();
+        for (Goblin goblin : goblinArray) {
+            goblinGrid.move(goblin);
             Rectangle2D.Float playerCollisionBox = knight.getCollisionBox();
             if (playerCollisionBox.intersects(goblin.getEnragedRange())) {
                 goblin.setEnraged(true);
                 if (playerCollisionBox.intersects(goblin.getCollisionBox())) {
                     goblin.interact(knight);
-                    getGame().setCurrentState(Gamestate.DEFEAT);
+                    stateManager.setCurrentState(Gamestate.DEFEAT);
 
                 }
             } else {
@@ -249,7 +639,9 @@ public class Play extends State {
             }
 
         }
+        profiler.stop(Phase.GOBLIN_UPDATE, start);
 
+        start = profiler.start();
         for (Dynamite dynamite : dynamites) {
             dynamite.update();
             Rectangle2D.Float playerCollisionBox = knight.getCollisionBox();
@@ -257,9 +649,10 @@ public class Play extends State {
                 dynamite.interact(knight);
                 scoreboard.updateCurrentScore(dynamite.getInteractableAmount());
                 if (knight.isDead()) {
-                    getGame().setCurrentState(Gamestate.DEFEAT);
+                    stateManager.setCurrentState(Gamestate.DEFEAT);
                 }
                 dynamites.remove(dynamite);
+                dynamiteGrid.remove(dynamite);
             }
         }
 
@@ -267,7 +660,7 @@ public class Play extends State {
             Rectangle2D.Float playerCollisionBox = knight.getCollisionBox();
             if (playerCollisionBox.intersects(house.getCollisionBox())) {
                 if (knight.getMandatoryRewardCount() == victoryMeatCount) {
-                    getGame().setCurrentState(Gamestate.WIN);
+                    stateManager.setCurrentState(Gamestate.WIN);
                 }
 
             }
@@ -281,6 +674,7 @@ public class Play extends State {
                 scoreboard.updateCurrentScore(meat.getInteractableAmount());
                 scoreboard.incrementMeatCount();
                 meats.remove(meat);
+                meatGrid.remove(meat);
             }
         }
 
@@ -290,11 +684,57 @@ public class Play extends State {
                 coin.interact(knight);
                 scoreboard.updateCurrentScore(coin.getInteractableAmount());
                 coins.remove(coin);
+                coinGrid.remove(coin);
             }
         }
+        profiler.stop(Phase.PICKUP_UPDATE, start);
         timer.update();
+        profiler.stop(Phase.TICK, tickStart);
+        updateTime = System.nanoTime();
+        if (publishingSnapshots) {
+            publishSnapshot();
+        }
+    }
+
+
+    /**
+     * Moves every goblin, planning its path if needed. When there are at least as many goblins as the parallel threshold,
+     * the goblins are split across the goblin pool; otherwise they are updated in sequence. Goblins only read the
+     * position of the knight, which does not change during this step, so both ways give the same result. The checks
+     * against the knight are made afterwards, in order, by the caller.
+     */
+    private void updateGoblins() {
+        if (goblinArray.length >= parallelGoblinThreshold) {
+            goblinPool.invoke(new GoblinUpdateTask(goblinArray, 0, goblinArray.length, GOBLIN_TASK_LEAF_SIZE));
+        } else {
+            for (Goblin goblin : goblinArray) {
+                goblin.update();
+            }
+        }
+    }
+
+    /**
+     * Sets the number of goblins from which goblins are updated in parallel. Below it, spreading the goblins over
+     * several threads costs more than it saves.
+     *
+     * @param parallelGoblinThreshold The smallest number of goblins updated in parallel. Must be positive;
+     *                                Integer.MAX_VALUE always updates goblins in sequence.
+     */
+    public void setParallelGoblinThreshold(int parallelGoblinThreshold) {
+        if (parallelGoblinThreshold <= 0) {
+            throw new IllegalArgumentException("Parallel goblin threshold must be positive: " + parallelGoblinThreshold);
+        }
+        this.parallelGoblinThreshold = parallelGoblinThreshold;
     }
 
+    /**
+     * Sets the pool goblins are updated on when they are updated in parallel. The common pool is used by default.
+     *
+     * @param goblinPool The pool to update goblins on.
+     */
+    public void setGoblinPool(ForkJoinPool goblinPool) {
+        this.goblinPool = goblinPool;
+    }
 
     /**
      * Handles key press events to control the player character. Does this by forwarding
@@ -305,20 +745,7 @@ public class Play extends State {
      */
     @Override
     public void handleKeyBoardPress(KeyEvent e) {
-        switch (e.getKeyCode()) {
-            case KeyEvent.VK_W:
-                knight.setActiveDirection(Directions.UP, true);
-                break;
-            case KeyEvent.VK_A:
-                knight.setActiveDirection(Directions.LEFT, true);
-                break;
-            case KeyEvent.VK_S:
-                knight.setActiveDirection(Directions.DOWN, true);
-                break;
-            case KeyEvent.VK_D:
-                knight.setActiveDirection(Directions.RIGHT, true);
-                break;
-        }
+        handleKeyPress(e.getKeyCode());
     }
 
 
@@ -329,22 +756,105 @@ public class Play extends State {
      * @author Pardeep Singh Manhas
      */
     public void handleKeyBoardRelease(KeyEvent e) {
-        switch (e.getKeyCode()) {
+        handleKeyRelease(e.getKeyCode());
+    }
+
+    /**
+     * Handles the press of the key with the given code as {@link #handleKeyBoardPress(KeyEvent)} does. Used by callers
+     * that have no KeyEvent, such as scripted input.
+     *
+     * @param keyCode The code of the pressed key, one of the KeyEvent.VK_ constants.
+     */
+    public void handleKeyPress(int keyCode) {
+        setActiveDirection(keyCode, true);
+    }
+
+    /**
+     * Handles the release of the key with the given code as {@link #handleKeyBoardRelease(KeyEvent)} does.
+     *
+     * @param keyCode The code of the released key, one of the KeyEvent.VK_ constants.
+     */
+    public void handleKeyRelease(int keyCode) {
+        setActiveDirection(keyCode, false);
+    }
+
+    private void setActiveDirection(int keyCode, boolean active) {
+        switch (keyCode) {
             case KeyEvent.VK_W:
-                knight.setActiveDirection(Directions.UP, false);
+                setActiveDirection(Directions.UP, INPUT_UP, active);
                 break;
             case KeyEvent.VK_A:
-                knight.setActiveDirection(Directions.LEFT, false);
+                setActiveDirection(Directions.LEFT, INPUT_LEFT, active);
                 break;
             case KeyEvent.VK_S:
-                knight.setActiveDirection(Directions.DOWN, false);
+                setActiveDirection(Directions.DOWN, INPUT_DOWN, active);
                 break;
             case KeyEvent.VK_D:
-                knight.setActiveDirection(Directions.RIGHT, false);
+                setActiveDirection(Directions.RIGHT, INPUT_RIGHT, active);
                 break;
         }
     }
 
+    private void setActiveDirection(Directions direction, int inputBit, boolean active) {
+        knight.setActiveDirection(direction, active);
+        inputMask = active ? inputMask | inputBit : inputMask & ~inputBit;
+    }
+
+    /**
+     * Returns the movement keys currently held, as seen by this state. Keys pressed or released while the state was not
+     * receiving input are not included.
+     *
+     * @return A combination of the INPUT_UP, INPUT_LEFT, INPUT_DOWN and INPUT_RIGHT bits.
+     */
+    public int getInputMask() {
+        return inputMask;
+    }
+
+    /**
+     * Presses and releases movement keys so that exactly the keys of the given mask are held. Used to replay recorded
+     * input.
+     *
+     * @param mask A combination of the INPUT_UP, INPUT_LEFT, INPUT_DOWN and INPUT_RIGHT bits.
+     */
+    public void applyInputMask(int mask) {
+        applyInputBit(mask, INPUT_UP, KeyEvent.VK_W);
+        applyInputBit(mask, INPUT_LEFT, KeyEvent.VK_A);
+        applyInputBit(mask, INPUT_DOWN, KeyEvent.VK_S);
+        applyInputBit(mask, INPUT_RIGHT, KeyEvent.VK_D);
+    }
+
+    private void applyInputBit(int mask, int inputBit, int keyCode) {
+        boolean wanted = (mask & inputBit) != 0;
+        if (wanted != ((inputMask & inputBit) != 0)) {
+            setActiveDirection(keyCode, wanted);
+        }
+    }
+
+    /**
+     * Computes a checksum of the simulated world: the position, score and rewards of the knight, the position of every
+     * goblin, and the pickups left on the board. Two runs that end with the same checksum ended in the same state. The
+     * game timer is not included, as it follows the wall clock rather than the updates.
+     *
+     * @return The checksum of the current state.
+     */
+    public long getStateChecksum() {
+        long checksum = 17;
+        checksum = 31 * checksum + Float.floatToIntBits(knight.getCollisionBox().x);
+        checksum = 31 * checksum + Float.floatToIntBits(knight.getCollisionBox().y);
+        checksum = 31 * checksum + knight.getScore();
+        checksum = 31 * checksum + knight.getMandatoryRewardCount();
+        for (Goblin goblin : goblinArray) {
+            checksum = 31 * checksum + Float.floatToIntBits(goblin.getCollisionBox().x);
+            checksum = 31 * checksum + Float.floatToIntBits(goblin.getCollisionBox().y);
+            checksum = 31 * checksum + (goblin.isEnraged() ? 1 : 0);
+        }
+        checksum = 31 * checksum + meats.size();
+        checksum = 31 * checksum + coins.size();
+        checksum = 31 * checksum + dynamites.size();
+        checksum = 31 * checksum + scoreboard.getCurrentScore();
+        return checksum;
+    }
+
     /**
      * A method that handles mouse inputs. Not currently utilized.
      *
@@ -0,0 +1,104 @@
+package com.example.gamestate;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Holds the offscreen image a scene is drawn into at a reduced resolution, and presents it by stretching it over the
+ * view in a single copy. Drawing fewer pixels and stretching them once is cheaper than drawing every pixel of the view
+ * when the pipeline is limited by the pixels it fills, and the copy is filtered with the interpolation hint of the
+ * graphics object it is drawn with.
+ * <p>
+ * The image is an accelerated {@link VolatileImage} when drawing to a screen, and a plain image when there is no
+ * screen. It is created again when the size of the scene changes, and validated before every frame. Its contents can
+ * be lost while it is being drawn, which {@link #present(Graphics, int, int)} reports so the scene can be drawn again.
+ */
+public class SceneBuffer {
+    private Image image;
+    private int width;
+    private int height;
+
+    /**
+     * Prepares the image for a scene of the given size and returns a graphics object drawing into it. The caller
+     * disposes of it once the scene is drawn.
+     *
+     * @param target The graphics object the scene is presented on, whose device the image is made compatible with.
+     * @param width  The width of the scene in pixels. Must be positive.
+     * @param height The height of the scene in pixels. Must be positive.
+     * @return A graphics object drawing into the image.
+     */
+    public Graphics2D createGraphics(Graphics target, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Scene size must be positive: " + width + "x" + height);
+        }
+        GraphicsConfiguration configuration = getConfiguration(target);
+        if (image != null && (width != this.width || height != this.height
+                || (image instanceof VolatileImage) != (configuration != null))) {
+            flush();
+        }
+        if (image instanceof VolatileImage
+                && ((VolatileImage) image).validate(configuration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            flush();
+        }
+        if (image == null) {
+            image = configuration != null
+                    ? configuration.createCompatibleVolatileImage(width, height, Transparency.OPAQUE)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            this.width = width;
+            this.height = height;
+        }
+        return image instanceof VolatileImage
+                ? ((VolatileImage) image).createGraphics()
+                : ((BufferedImage) image).createGraphics();
+    }
+
+    private static GraphicsConfiguration getConfiguration(Graphics g) {
+        if (GraphicsEnvironment.isHeadless() || !(g instanceof Graphics2D)) {
+            return null;
+        }
+        return ((Graphics2D) g).getDeviceConfiguration();
+    }
+
+    /**
+     * Stretches the scene over the top left corner of the target.
+     *
+     * @param target     The graphics object the scene is presented on.
+     * @param viewWidth  The width of the view the scene is stretched to, in pixels.
+     * @param viewHeight The height of the view the scene is stretched to, in pixels.
+     * @return False if the contents of the image were lost since it was prepared, in which case the scene must be
+     * drawn again.
+     */
+    public boolean present(Graphics target, int viewWidth, int viewHeight) {
+        target.drawImage(image, 0, 0, viewWidth, viewHeight, 0, 0, width, height, null);
+        return !(image instanceof VolatileImage) || !((VolatileImage) image).contentsLost();
+    }
+
+    /**
+     * Releases the image. It is created again when a scene is next drawn.
+     */
+    public void flush() {
+        if (image != null) {
+            image.flush();
+            image = null;
+        }
+    }
+
+    /**
+     * Returns the width of the scene last prepared.
+     *
+     * @return The width in pixels, or 0 if no image is held.
+     */
+    public int getWidth() {
+        return image == null ? 0 : width;
+    }
+
+    /**
+     * Returns the height of the scene last prepared.
+     *
+     * @return The height in pixels, or 0 if no image is held.
+     */
+    public int getHeight() {
+        return image == null ? 0 : height;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.gamestate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands {@link WorldSnapshot}s from the game loop to the thread drawing the screen without either of them waiting for
+ * the other. The buffer holds three snapshots: the one being filled by the writer, the one being drawn by the reader,
+ * and the latest published one waiting between them. Publishing swaps the filled snapshot with the waiting one, and
+ * acquiring swaps the drawn snapshot with the waiting one if a newer one was published since, so the reader always
+ * draws the latest complete update and the writer never overwrites a snapshot that is being drawn. When the reader is
+ * slower than the writer, the updates it had no time to draw are skipped.
+ * <p>
+ * The buffer is meant for a single writer and a single reader: only one thread may call {@link #getBack()} and {@link
+ * #publish()}, and only one thread may call {@link #acquire()}. Neither ever allocates.
+ */
+public class SnapshotBuffer {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final WorldSnapshot[] snapshots = {new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot()};
+    private final AtomicInteger waiting = new AtomicInteger(1);
+    private int back;
+    private int front = 2;
+    private long published;
+
+    /**
+     * Returns the snapshot the writer fills next. The same snapshot is returned until it is published.
+     *
+     * @return The snapshot to fill.
+     */
+    public WorldSnapshot getBack() {
+        return snapshots[back];
+    }
+
+    /**
+     * Publishes the snapshot returned by {@link #getBack()}, making it the one the reader acquires next. A snapshot
+     * published before it that the reader has not acquired yet is dropped and filled again.
+     */
+    public void publish() {
+        snapshots[back].setSequence(++published);
+        back = waiting.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Returns the latest published snapshot. The snapshot stays unchanged until the next call, which may return the
+     * same snapshot if nothing was published in between.
+     *
+     * @return The latest published snapshot, or an empty one if nothing was published yet.
+     */
+    public WorldSnapshot acquire() {
+        if ((waiting.get() & FRESH) != 0) {
+            front = waiting.getAndSet(front) & INDEX_MASK;
+        }
+        return snapshots[front];
+    }
+
+    /**
+     * Returns the number of snapshots published so far.
+     *
+     * @return The number of calls to {@link #publish()}.
+     */
+    public long getPublishedCount() {
+        return published;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.gamestate;
+
+/**
+ * The StateManager interface is implemented by whatever drives the states of a game session. States report transitions
+ * such as winning, losing or pausing through it, so that they can run inside the windowed Game as well as inside a
+ * headless engine that has no screen.
+ */
+public interface StateManager {
+
+    /**
+     * Switches the session to the given state.
+     *
+     * @param state The state to switch to.
+     */
+    void setCurrentState(Gamestate state);
+
+    /**
+     * Checks whether the session is currently in the given state.
+     *
+     * @param state The state to check against.
+     * @return True if the session is in the given state, false otherwise.
+     */
+    boolean isCurrentState(Gamestate state);
+}
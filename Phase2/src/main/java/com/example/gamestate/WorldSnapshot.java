@@ -0,0 +1,355 @@
+package com.example.gamestate;
+
+import com.example.levels.Board;
+import com.example.utils.AtlasRegion;
+
+import java.awt.*;
+
+/**
+ * Everything needed to draw one update of the playing state: the board, the camera and the sprites in view, in the
+ * order they are drawn. Each sprite is kept as the atlas region it is drawn with, already facing the right way and at
+ * the size it is drawn at, together with where it was before and after the update, so that the frame can be drawn
+ * anywhere between the two without looking at the entities again. The time, score and meat counts shown by the
+ * heads-up display are kept too.
+ * <p>
+ * A snapshot is filled by the game loop and drawn by another thread once it has been handed over through a {@link
+ * SnapshotBuffer}, so nothing in it may be changed after it is published. Snapshots are reused: the arrays backing the
+ * sprites only grow when more sprites are added than ever before, so filling one allocates nothing once it has reached
+ * the size of a busy frame.
+ */
+public class WorldSnapshot {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private Board board;
+    private float cameraFromX;
+    private float cameraFromY;
+    private float cameraToX;
+    private float cameraToY;
+    private AtlasRegion[] regions;
+    private float[] fromX;
+    private float[] fromY;
+    private float[] toX;
+    private float[] toY;
+    private int size;
+    private long sequence;
+    private long updateTime;
+    private int secondsElapsed;
+    private int score;
+    private int meatCount;
+    private int totalMeatCount;
+
+    /**
+     * Constructs an empty snapshot with room for {@link #DEFAULT_CAPACITY} sprites.
+     */
+    public WorldSnapshot() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty snapshot with room for the given number of sprites before it grows.
+     *
+     * @param capacity The number of sprites to make room for. Must be positive.
+     */
+    public WorldSnapshot(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        regions = new AtlasRegion[capacity];
+        fromX = new float[capacity];
+        fromY = new float[capacity];
+        toX = new float[capacity];
+        toY = new float[capacity];
+    }
+
+    /**
+     * Empties the snapshot and starts filling it with a new update.
+     *
+     * @param board       The board being played, whose static layer is drawn behind the sprites.
+     * @param cameraFromX The x coordinate of the camera before the update.
+     * @param cameraFromY The y coordinate of the camera before the update.
+     * @param cameraToX   The x coordinate of the camera after the update.
+     * @param cameraToY   The y coordinate of the camera after the update.
+     */
+    public void begin(Board board, float cameraFromX, float cameraFromY, float cameraToX, float cameraToY) {
+        for (int i = 0; i < size; i++) {
+            regions[i] = null;
+        }
+        size = 0;
+        this.board = board;
+        this.cameraFromX = cameraFromX;
+        this.cameraFromY = cameraFromY;
+        this.cameraToX = cameraToX;
+        this.cameraToY = cameraToY;
+    }
+
+    /**
+     * Sets the values shown by the heads-up display after the update.
+     *
+     * @param secondsElapsed The elapsed seconds on the timer.
+     * @param score          The current score.
+     * @param meatCount      The number of meats collected.
+     * @param totalMeatCount The number of meats to collect.
+     */
+    public void setHud(int secondsElapsed, int score, int meatCount, int totalMeatCount) {
+        this.secondsElapsed = secondsElapsed;
+        this.score = score;
+        this.meatCount = meatCount;
+        this.totalMeatCount = totalMeatCount;
+    }
+
+    /**
+     * Adds a sprite, drawn over the sprites added before it.
+     *
+     * @param region The region the sprite is drawn with, at its own size.
+     * @param fromX  The x coordinate in the world of the left edge of the sprite before the update.
+     * @param fromY  The y coordinate in the world of the top edge of the sprite before the update.
+     * @param toX    The x coordinate in the world of the left edge of the sprite after the update.
+     * @param toY    The y coordinate in the world of the top edge of the sprite after the update.
+     */
+    public void add(AtlasRegion region, float fromX, float fromY, float toX, float toY) {
+        if (size == regions.length) {
+            grow();
+        }
+        regions[size] = region;
+        this.fromX[size] = fromX;
+        this.fromY[size] = fromY;
+        this.toX[size] = toX;
+        this.toY[size] = toY;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = regions.length * 2;
+        AtlasRegion[] grownRegions = new AtlasRegion[capacity];
+        System.arraycopy(regions, 0, grownRegions, 0, size);
+        regions = grownRegions;
+        fromX = grow(fromX, capacity);
+        fromY = grow(fromY, capacity);
+        toX = grow(toX, capacity);
+        toY = grow(toY, capacity);
+    }
+
+    private float[] grow(float[] values, int capacity) {
+        float[] grown = new float[capacity];
+        System.arraycopy(values, 0, grown, 0, size);
+        return grown;
+    }
+
+    /**
+     * Draws the sprites in the order they were added, placed between their positions before and after the update.
+     *
+     * @param g       The graphics object used for drawing.
+     * @param xOffset The x coordinate of the camera in the world.
+     * @param yOffset The y coordinate of the camera in the world.
+     * @param alpha   How far between the positions before (0) and after (1) the update the sprites should be drawn.
+     */
+    public void renderSprites(Graphics g, int xOffset, int yOffset, float alpha) {
+        for (int i = 0; i < size; i++) {
+            int x = (int) interpolate(fromX[i], toX[i], alpha) - xOffset;
+            int y = (int) interpolate(fromY[i], toY[i], alpha) - yOffset;
+            regions[i].draw(g, x, y);
+        }
+    }
+
+    /**
+     * Draws the sprites as {@link #renderSprites(Graphics, int, int, float)} does, shrunk to the given scale for a view
+     * drawn at a reduced resolution. Each region is resampled to its size at that scale, so drawing it stays a plain
+     * copy of pixels.
+     *
+     * @param g       The graphics object used for drawing, measured in pixels of the reduced view.
+     * @param xOffset The x coordinate of the camera in the world.
+     * @param yOffset The y coordinate of the camera in the world.
+     * @param alpha   How far between the positions before (0) and after (1) the update the sprites should be drawn.
+     * @param scale   The size of a pixel of the view in pixels of the world, from above 0 up to 1.
+     */
+    public void renderSprites(Graphics g, int xOffset, int yOffset, float alpha, float scale) {
+        if (scale == 1f) {
+            renderSprites(g, xOffset, yOffset, alpha);
+            return;
+        }
+        int originX = (int) Math.floor(xOffset * scale);
+        int originY = (int) Math.floor(yOffset * scale);
+        for (int i = 0; i < size; i++) {
+            AtlasRegion region = regions[i];
+            int x = (int) (interpolate(fromX[i], toX[i], alpha) * scale) - originX;
+            int y = (int) (interpolate(fromY[i], toY[i], alpha) * scale) - originY;
+            region.getScaled(Math.max(1, Math.round(region.getWidth() * scale)),
+                    Math.max(1, Math.round(region.getHeight() * scale))).draw(g, x, y);
+        }
+    }
+
+    private static float interpolate(float from, float to, float alpha) {
+        if (alpha >= 1f) {
+            return to;
+        }
+        return from + (to - from) * alpha;
+    }
+
+    /**
+     * Returns the board the snapshot was taken on.
+     *
+     * @return The board being played when the snapshot was filled.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the elapsed seconds shown by the timer after the update.
+     *
+     * @return The elapsed seconds.
+     */
+    public int getSecondsElapsed() {
+        return secondsElapsed;
+    }
+
+    /**
+     * Returns the score after the update.
+     *
+     * @return The current score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the number of meats collected after the update.
+     *
+     * @return The meat count.
+     */
+    public int getMeatCount() {
+        return meatCount;
+    }
+
+    /**
+     * Returns the number of meats to collect on the level.
+     *
+     * @return The total meat count.
+     */
+    public int getTotalMeatCount() {
+        return totalMeatCount;
+    }
+
+    /**
+     * Returns the x coordinate of the camera between its positions before and after the update.
+     *
+     * @param alpha How far between the position before (0) and after (1) the update the coordinate should lie.
+     * @return The interpolated x coordinate of the camera.
+     */
+    public float getCameraX(float alpha) {
+        return interpolate(cameraFromX, cameraToX, alpha);
+    }
+
+    /**
+     * Returns the y coordinate of the camera between its positions before and after the update.
+     *
+     * @param alpha How far between the position before (0) and after (1) the update the coordinate should lie.
+     * @return The interpolated y coordinate of the camera.
+     */
+    public float getCameraY(float alpha) {
+        return interpolate(cameraFromY, cameraToY, alpha);
+    }
+
+    /**
+     * Returns the region a sprite in the snapshot is drawn with.
+     *
+     * @param index The index of the sprite, in the order it is drawn in.
+     * @return The region of the sprite.
+     */
+    public AtlasRegion getRegion(int index) {
+        checkIndex(index);
+        return regions[index];
+    }
+
+    /**
+     * Returns the x coordinate in the world of the left edge of a sprite between its positions before and after the
+     * update.
+     *
+     * @param index The index of the sprite.
+     * @param alpha How far between the position before (0) and after (1) the update the coordinate should lie.
+     * @return The interpolated x coordinate of the sprite.
+     */
+    public float getX(int index, float alpha) {
+        checkIndex(index);
+        return interpolate(fromX[index], toX[index], alpha);
+    }
+
+    /**
+     * Returns the y coordinate in the world of the top edge of a sprite between its positions before and after the
+     * update.
+     *
+     * @param index The index of the sprite.
+     * @param alpha How far between the position before (0) and after (1) the update the coordinate should lie.
+     * @return The interpolated y coordinate of the sprite.
+     */
+    public float getY(int index, float alpha) {
+        checkIndex(index);
+        return interpolate(fromY[index], toY[index], alpha);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a snapshot of " + size);
+        }
+    }
+
+    /**
+     * Returns the number of sprites in the snapshot.
+     *
+     * @return The number of sprites.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of sprites the snapshot holds before it has to grow.
+     *
+     * @return The capacity of the snapshot.
+     */
+    public int getCapacity() {
+        return regions.length;
+    }
+
+    /**
+     * Returns the number the snapshot was given when it was last published, counting from 1 for the first snapshot
+     * published through its buffer.
+     *
+     * @return The sequence number of the snapshot, or 0 if it was never published.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the time the update held by the snapshot ended, which is when the positions after the update became the
+     * latest ones.
+     *
+     * @return The time of the update on the {@link System#nanoTime()} clock, or 0 if none was recorded.
+     */
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    void setUpdateTime(long updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    /**
+     * Returns how far a frame drawn at the given time lies between the positions before and after the update, based
+     * on the time of the update held by this snapshot. Working it out from the snapshot being drawn, rather than from
+     * a clock kept elsewhere, keeps a frame from pairing the positions of one update with the timing of another.
+     *
+     * @param frameTime         The time the frame is drawn, on the {@link System#nanoTime()} clock.
+     * @param updatePeriodNanos The time between two updates, in nanoseconds. Must be positive.
+     * @return A value between 0 (the positions before the update) and 1 (the positions after it).
+     */
+    public float getAlpha(long frameTime, long updatePeriodNanos) {
+        float alpha = (frameTime - updateTime) / (float) updatePeriodNanos;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+}
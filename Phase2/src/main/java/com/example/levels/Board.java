@@ -22,6 +22,8 @@ import java.util.ArrayList;
 
 public class Board {
     public static int DEFAULT_SIZE = 125;
+    // Cells drawn beyond each edge of the view, so that cells sliding into view are already drawn.
+    private static final int VIEW_MARGIN = 1;
     private com.example.levels.Cell[][] board;
     private final int[][] currentLevel;
     private BufferedImage backGroundImage = null;
@@ -36,6 +38,7 @@ public class Board {
 
     private final ArrayList<Goblin> goblins = new ArrayList<>();
     private final ArrayList<Knight> knights = new ArrayList<>();
+    private final StaticLayer staticLayer;
 
     /**
      * Constructs a representation of the board based on a filepath and the current Play instance. This instance will read
@@ -52,11 +55,13 @@ public class Board {
         this.cellColumns = currentLevel[0].length;
         this.cellSize = DEFAULT_SIZE;
         try {
-            this.backGroundImage = ResourceLoader.getImage(ResourceLoader.GRASS_PATH);
+            // Magic numbers are Grass related. The part is shared by every board.
+            this.backGroundImage = ResourceLoader.getImagePart(ResourceLoader.GRASS_PATH, 15, 10, cellSize, cellSize);
         } catch (IOException e) {
             e.printStackTrace();
         }
         initializeBoard(play);
+        this.staticLayer = new StaticLayer(this);
     }
 
     /**
@@ -74,11 +79,13 @@ public class Board {
         this.cellColumns = currentLevel[0].length;
         this.cellSize = DEFAULT_SIZE;
         try {
-            this.backGroundImage = ResourceLoader.getImage(ResourceLoader.GRASS_PATH);
+            // Magic numbers are Grass related. The part is shared by every board.
+            this.backGroundImage = ResourceLoader.getImagePart(ResourceLoader.GRASS_PATH, 15, 10, cellSize, cellSize);
         } catch (IOException e) {
             e.printStackTrace();
         }
         initializeBoard(play);
+        this.staticLayer = new StaticLayer(this);
     }
 
     /**
@@ -90,11 +97,9 @@ public class Board {
 
     private void initializeBoard(Play play) {
         board = new Cell[this.cellRows][this.cellColumns];
-        // Magic numbers are Grass related.
-        BufferedImage subBack = backGroundImage.getSubimage(15, 10, cellSize, cellSize);
         for (int i = 0; i < this.cellRows; i++) {
             for (int j = 0; j < this.cellColumns; j++) {
-                board[i][j] = new Cell(subBack, true);
+                board[i][j] = new Cell(backGroundImage, true);
                 Position pos = new Position(cellSize * j, cellSize * i);
                 GameImage image;
                 BufferedImage img;
@@ -251,20 +256,82 @@ public class Board {
 
     /**
      * Renders the board on the given graphics context. In the context of this Game, requires the graphics object of the
-     * GameScreen class.
+     * GameScreen class. Draws every cell of the board; {@link #render(Graphics, float, float, int, int)} only draws the
+     * cells in view.
      *
      * @param g The graphics object used to paint the board.
      * @author Pardeep Singh Manhas
      */
 
     public void render(Graphics g, float xOff, float yOff) {
-        for (int i = 0; i < cellRows; i++) {
-            for (int j = 0; j < cellColumns; j++) {
+        render(g, xOff, yOff, getBoardWidthPixels(), getBoardHeightPixels());
+    }
+
+    /**
+     * Renders the cells of the board that lie in a view of the given size whose top left corner is at the given offset,
+     * together with a margin of one cell around it, so the cost of a frame depends on the size of the screen rather
+     * than that of the board.
+     *
+     * @param g          The graphics object used to paint the board.
+     * @param xOff       The x coordinate of the top left corner of the view in the world, usually the camera's.
+     * @param yOff       The y coordinate of the top left corner of the view in the world, usually the camera's.
+     * @param viewWidth  The width of the view in pixels.
+     * @param viewHeight The height of the view in pixels.
+     */
+    public void render(Graphics g, float xOff, float yOff, int viewWidth, int viewHeight) {
+        Rectangle cells = getVisibleCells(xOff, yOff, viewWidth, viewHeight);
+        for (int i = cells.y; i < cells.y + cells.height; i++) {
+            for (int j = cells.x; j < cells.x + cells.width; j++) {
                 g.drawImage(board[i][j].getCellBackgroundImage(), cellSize * j - (int) xOff, cellSize * i - (int) yOff, cellSize, cellSize, null);
             }
         }
     }
 
+    /**
+     * Renders the grass, trees and houses of the board that lie in a view of the given size whose top left corner is at
+     * the given offset, copying them from the images cached by the board's {@link StaticLayer}.
+     *
+     * @param g          The graphics object used to paint the board.
+     * @param xOff       The x coordinate of the top left corner of the view in the world, usually the camera's.
+     * @param yOff       The y coordinate of the top left corner of the view in the world, usually the camera's.
+     * @param viewWidth  The width of the view in pixels.
+     * @param viewHeight The height of the view in pixels.
+     */
+    public void renderStaticLayer(Graphics g, int xOff, int yOff, int viewWidth, int viewHeight) {
+        staticLayer.render(g, xOff, yOff, viewWidth, viewHeight);
+    }
+
+    /**
+     * Returns the cache of the grass, trees and houses of this board.
+     *
+     * @return The static layer of the board.
+     */
+    public StaticLayer getStaticLayer() {
+        return staticLayer;
+    }
+
+    /**
+     * Returns the range of cells drawn by {@link #render(Graphics, float, float, int, int)} for a view of the given
+     * size at the given offset: the cells in view and a margin of one cell around them, within the board.
+     *
+     * @param xOff       The x coordinate of the top left corner of the view in the world.
+     * @param yOff       The y coordinate of the top left corner of the view in the world.
+     * @param viewWidth  The width of the view in pixels.
+     * @param viewHeight The height of the view in pixels.
+     * @return A rectangle whose x and y are the first column and row drawn and whose width and height are the number of
+     * columns and rows drawn. Empty if the view lies outside the board.
+     */
+    public Rectangle getVisibleCells(float xOff, float yOff, int viewWidth, int viewHeight) {
+        int x = (int) xOff;
+        int y = (int) yOff;
+        int firstColumn = Math.max(0, Math.floorDiv(x, cellSize) - VIEW_MARGIN);
+        int lastColumn = Math.min(cellColumns - 1, Math.floorDiv(x + viewWidth - 1, cellSize) + VIEW_MARGIN);
+        int firstRow = Math.max(0, Math.floorDiv(y, cellSize) - VIEW_MARGIN);
+        int lastRow = Math.min(cellRows - 1, Math.floorDiv(y + viewHeight - 1, cellSize) + VIEW_MARGIN);
+        return new Rectangle(firstColumn, firstRow, Math.max(0, lastColumn - firstColumn + 1),
+                Math.max(0, lastRow - firstRow + 1));
+    }
+
     /**
      * Returns a Cell object within the Board's boundaries.
      *
@@ -273,7 +340,7 @@ public class Board {
      * @return A Cell object if valid rows and columns were provided, or else null.
      * @author Pardeep Singh Manhas
      */
-    private Cell getCell(int row, int column) {
+    Cell getCell(int row, int column) {
         if (row < 0 || row >= cellRows || column < 0 || column >= cellColumns) {
             return null;
         }
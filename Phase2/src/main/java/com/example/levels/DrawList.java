@@ -0,0 +1,222 @@
+package com.example.levels;
+
+import com.example.entities.GameEntity;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * A reusable list of the sprites to draw in a frame, sorted so that sprites lower on the screen are drawn over sprites
+ * higher up. Each sprite is added with a sort key, by default the bottom edge of its collision box, where it stands.
+ * The list is cleared and filled again every frame, then sorted with a stable radix sort and read in order with
+ * {@link #get(int)}.
+ * <p>
+ * The arrays backing the list only grow when more sprites are added than ever before, so filling, sorting and reading
+ * the list allocates nothing once it has reached the size of a busy frame.
+ */
+public class DrawList {
+    public static final int DEFAULT_CAPACITY = 64;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private GameEntity[] entities;
+    private int[] keys;
+    private GameEntity[] sortedEntities;
+    private int[] sortedKeys;
+    private final int[] counts = new int[RADIX];
+    private int size;
+
+    /**
+     * Constructs an empty list with room for {@link #DEFAULT_CAPACITY} sprites.
+     */
+    public DrawList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list with room for the given number of sprites before it grows.
+     *
+     * @param capacity The number of sprites to make room for. Must be positive.
+     */
+    public DrawList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        entities = new GameEntity[capacity];
+        keys = new int[capacity];
+        sortedEntities = new GameEntity[capacity];
+        sortedKeys = new int[capacity];
+    }
+
+    /**
+     * Removes every sprite from the list, keeping its arrays for the next frame.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entities[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Adds a sprite sorted by the bottom edge of its collision box.
+     *
+     * @param entity The entity to draw.
+     */
+    public void add(GameEntity entity) {
+        add(entity, sortKey(entity));
+    }
+
+    /**
+     * Adds a sprite with the given sort key. Sprites with a higher key are drawn later, over those with a lower key, and
+     * sprites with the same key are drawn in the order they were added.
+     *
+     * @param entity The entity to draw.
+     * @param key    The sort key of the entity, usually the y coordinate it stands at in the world.
+     */
+    public void add(GameEntity entity, int key) {
+        if (size == entities.length) {
+            grow();
+        }
+        entities[size] = entity;
+        keys[size] = key;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        GameEntity[] grownEntities = new GameEntity[capacity];
+        int[] grownKeys = new int[capacity];
+        System.arraycopy(entities, 0, grownEntities, 0, size);
+        System.arraycopy(keys, 0, grownKeys, 0, size);
+        entities = grownEntities;
+        keys = grownKeys;
+        sortedEntities = new GameEntity[capacity];
+        sortedKeys = new int[capacity];
+    }
+
+    /**
+     * Returns the default sort key of an entity: the y coordinate of the bottom edge of its collision box.
+     *
+     * @param entity The entity.
+     * @return The sort key of the entity.
+     */
+    public static int sortKey(GameEntity entity) {
+        Rectangle2D.Float box = entity.getCollisionBox();
+        return (int) Math.floor(box.y + box.height);
+    }
+
+    /**
+     * Sorts the sprites by their keys, keeping sprites with the same key in the order they were added, and drops every
+     * sprite added more than once with the same key but the first. The keys are sorted one byte at a time from the
+     * lowest, skipping the bytes that every key shares, which for keys within a board is all but one or two of them.
+     */
+    public void sort() {
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            for (int i = 0; i < RADIX; i++) {
+                counts[i] = 0;
+            }
+            for (int i = 0; i < size; i++) {
+                counts[digit(keys[i], shift)]++;
+            }
+            if (size == 0 || counts[digit(keys[0], shift)] == size) {
+                continue;
+            }
+            int total = 0;
+            for (int i = 0; i < RADIX; i++) {
+                int count = counts[i];
+                counts[i] = total;
+                total += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int position = counts[digit(keys[i], shift)]++;
+                sortedEntities[position] = entities[i];
+                sortedKeys[position] = keys[i];
+            }
+            GameEntity[] swapEntities = entities;
+            entities = sortedEntities;
+            sortedEntities = swapEntities;
+            int[] swapKeys = keys;
+            keys = sortedKeys;
+            sortedKeys = swapKeys;
+        }
+        removeRepeated();
+    }
+
+    private void removeRepeated() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!isRepeated(i, kept)) {
+                entities[kept] = entities[i];
+                keys[kept] = keys[i];
+                kept++;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            entities[i] = null;
+        }
+        size = kept;
+    }
+
+    /**
+     * Checks whether the sprite at the given index was already kept among the sprites with the same key before it.
+     */
+    private boolean isRepeated(int index, int kept) {
+        for (int i = kept - 1; i >= 0 && keys[i] == keys[index]; i--) {
+            if (entities[i] == entities[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a byte of a key, with the sign bit flipped so that negative keys sort before positive ones.
+     */
+    private static int digit(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    /**
+     * Returns a sprite in the list.
+     *
+     * @param index The index of the sprite, in the order it was added or, once sorted, the order it is drawn in.
+     * @return The entity at that index.
+     */
+    public GameEntity get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a list of " + size);
+        }
+        return entities[index];
+    }
+
+    /**
+     * Returns the sort key of a sprite in the list.
+     *
+     * @param index The index of the sprite.
+     * @return The sort key of the entity at that index.
+     */
+    public int getKey(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a list of " + size);
+        }
+        return keys[index];
+    }
+
+    /**
+     * Returns the number of sprites in the list.
+     *
+     * @return The number of sprites.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of sprites the list holds before it has to grow.
+     *
+     * @return The capacity of the list.
+     */
+    public int getCapacity() {
+        return entities.length;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.levels;
+
+import com.example.entities.GameEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A spatial index of entities over a board, so that the entities near a part of the world, such as the view of the
+ * camera, can be found without looking at every entity. The world is split into square buckets of a fixed size and
+ * each entity is kept in the bucket holding the top left corner of its collision box. Entities that move are moved to
+ * another bucket with {@link #move(GameEntity)} when they cross into it.
+ * <p>
+ * The bucket of an entity is stored on the entity itself, see {@link GameEntity#getGridBucket()}, so checking whether
+ * a moving entity changed bucket needs no lookup. An entity can therefore be indexed by one grid at a time.
+ *
+ * @param <T> The type of the entities indexed.
+ */
+public class SpatialGrid<T extends GameEntity> {
+    private final int bucketSize;
+    private final int columns;
+    private final int rows;
+    private final ArrayList<T>[] buckets;
+    private int size;
+
+    /**
+     * Constructs an empty grid covering a world of the given size.
+     *
+     * @param worldWidth  The width of the world in pixels. Must be positive.
+     * @param worldHeight The height of the world in pixels. Must be positive.
+     * @param bucketSize  The width and height of a bucket in pixels. Must be positive.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SpatialGrid(int worldWidth, int worldHeight, int bucketSize) {
+        if (worldWidth <= 0 || worldHeight <= 0) {
+            throw new IllegalArgumentException("World size must be positive: " + worldWidth + "x" + worldHeight);
+        }
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("Bucket size must be positive: " + bucketSize);
+        }
+        this.bucketSize = bucketSize;
+        this.columns = (worldWidth + bucketSize - 1) / bucketSize;
+        this.rows = (worldHeight + bucketSize - 1) / bucketSize;
+        this.buckets = (ArrayList<T>[]) new ArrayList[columns * rows];
+    }
+
+    private int bucketOf(T entity) {
+        int column = Math.min(columns - 1, Math.max(0, (int) Math.floor(entity.getCollisionBox().x / bucketSize)));
+        int row = Math.min(rows - 1, Math.max(0, (int) Math.floor(entity.getCollisionBox().y / bucketSize)));
+        return row * columns + column;
+    }
+
+    /**
+     * Adds an entity to the bucket holding its position. Entities outside the world are kept in the nearest bucket.
+     *
+     * @param entity The entity to add. Does nothing if it is already in the grid.
+     */
+    public void add(T entity) {
+        if (entity.getGridBucket() >= 0) {
+            return;
+        }
+        addToBucket(entity, bucketOf(entity));
+        size++;
+    }
+
+    private void addToBucket(T entity, int bucket) {
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new ArrayList<>();
+        }
+        buckets[bucket].add(entity);
+        entity.setGridBucket(bucket);
+    }
+
+    /**
+     * Removes an entity from the grid.
+     *
+     * @param entity The entity to remove.
+     * @return True if the entity was in the grid, false otherwise.
+     */
+    public boolean remove(T entity) {
+        int bucket = entity.getGridBucket();
+        if (bucket < 0 || buckets[bucket] == null || !buckets[bucket].remove(entity)) {
+            return false;
+        }
+        entity.setGridBucket(-1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves an entity to the bucket holding its current position if it has left its bucket since it was added or last
+     * moved.
+     *
+     * @param entity The entity that may have moved.
+     * @return True if the entity changed bucket, false if it stayed in its bucket or is not in the grid.
+     */
+    public boolean move(T entity) {
+        int previous = entity.getGridBucket();
+        if (previous < 0) {
+            return false;
+        }
+        int bucket = bucketOf(entity);
+        if (bucket == previous) {
+            return false;
+        }
+        buckets[previous].remove(entity);
+        addToBucket(entity, bucket);
+        return true;
+    }
+
+    /**
+     * Adds the entities in every bucket that overlaps the given rectangle to a list. The list may include entities
+     * slightly outside the rectangle, as whole buckets are returned; callers that draw entities larger than their
+     * collision box should widen the rectangle by the size of that overhang.
+     *
+     * @param x      The x coordinate of the top left corner of the rectangle in the world.
+     * @param y      The y coordinate of the top left corner of the rectangle in the world.
+     * @param width  The width of the rectangle in pixels.
+     * @param height The height of the rectangle in pixels.
+     * @param result The list the entities are added to. It is not cleared first.
+     */
+    public void query(int x, int y, int width, int height, List<? super T> result) {
+        int firstColumn = Math.max(0, Math.floorDiv(x, bucketSize));
+        int lastColumn = Math.min(columns - 1, Math.floorDiv(x + width - 1, bucketSize));
+        int firstRow = Math.max(0, Math.floorDiv(y, bucketSize));
+        int lastRow = Math.min(rows - 1, Math.floorDiv(y + height - 1, bucketSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                ArrayList<T> bucket = buckets[row * columns + column];
+                if (bucket != null) {
+                    for (int i = 0; i < bucket.size(); i++) {
+                        result.add(bucket.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every entity from the grid.
+     */
+    public void clear() {
+        for (ArrayList<T> bucket : buckets) {
+            if (bucket != null) {
+                for (int i = 0; i < bucket.size(); i++) {
+                    bucket.get(i).setGridBucket(-1);
+                }
+                bucket.clear();
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of entities in the grid.
+     *
+     * @return The number of entities.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.levels;
+
+import com.example.entities.GameEntity;
+import com.example.entities.House;
+import com.example.entities.Tree;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the parts of a board that never change once it is built: the grass of every cell and the trees and houses
+ * placed on them. The board is split into square tiles of a fixed number of cells, and each tile is drawn into an image
+ * when it comes into view, so a frame only copies the tiles in view instead of drawing every cell, tree and house
+ * again.
+ * <p>
+ * At most a fixed number of tiles are kept. When a tile comes into view while the cache is full, the tile that was
+ * least recently in view is released, so the memory taken by the layer is bounded whatever the size of the board. A
+ * released tile is drawn again if it comes back into view.
+ * <p>
+ * Tiles are accelerated {@link VolatileImage}s when drawing to a screen, and plain images when there is no screen. The
+ * contents of a volatile image can be lost at any time, for instance when the display mode changes, so every tile is
+ * validated before it is copied and drawn again when it has been lost. A tile that keeps losing its contents is drawn
+ * directly for that frame.
+ * <p>
+ * The layer can be drawn at a smaller scale for a view rendered at a reduced resolution. The tiles are then drawn
+ * resampled to that scale once, so that copying them stays a plain copy of pixels.
+ */
+public class StaticLayer {
+    public static final int DEFAULT_TILE_CELLS = 8;
+    public static final int DEFAULT_MAX_TILES = 16;
+    private static final int MAX_RESTORE_ATTEMPTS = 3;
+
+    private final Board board;
+    private final int cellSize;
+    private final int tileCells;
+    private final int tileSize;
+    private final int tileColumns;
+    private final int tileRows;
+    private final int maxTiles;
+    private float scale = 1f;
+    private int scaledTileSize;
+    private final LinkedHashMap<Long, Image> tiles;
+    private int tilesDrawn;
+    private int contentLosses;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs the static layer of a board with tiles of {@link #DEFAULT_TILE_CELLS} by {@link #DEFAULT_TILE_CELLS}
+     * cells, keeping at most {@link #DEFAULT_MAX_TILES} tiles. No tile is drawn until it is first rendered.
+     *
+     * @param board The board whose grass, trees and houses make up the layer.
+     */
+    public StaticLayer(Board board) {
+        this(board, DEFAULT_TILE_CELLS, DEFAULT_MAX_TILES);
+    }
+
+    /**
+     * Constructs the static layer of a board. No tile is drawn until it is first rendered. The tiles kept should cover
+     * at least the view the layer is rendered to, or tiles in view will keep replacing each other.
+     *
+     * @param board     The board whose grass, trees and houses make up the layer.
+     * @param tileCells The number of cells along each side of a tile. Must be positive.
+     * @param maxTiles  The highest number of tiles to keep. Must be positive.
+     */
+    public StaticLayer(Board board, int tileCells, int maxTiles) {
+        if (tileCells <= 0) {
+            throw new IllegalArgumentException("Tile cells must be positive: " + tileCells);
+        }
+        if (maxTiles <= 0) {
+            throw new IllegalArgumentException("Max tiles must be positive: " + maxTiles);
+        }
+        this.board = board;
+        this.cellSize = board.getCellSize();
+        this.tileCells = tileCells;
+        this.tileSize = cellSize * tileCells;
+        this.tileColumns = (board.getBoardWidth() + tileCells - 1) / tileCells;
+        this.tileRows = (board.getBoardHeight() + tileCells - 1) / tileCells;
+        this.maxTiles = maxTiles;
+        this.scaledTileSize = tileSize;
+        this.tiles = new LinkedHashMap<>(maxTiles * 2, 0.75f, true);
+    }
+
+    /**
+     * Renders the tiles of the layer that lie in a view of the given size whose top left corner is at the given offset,
+     * drawing the tiles that have not been drawn yet or whose contents were lost. The view is measured in the world,
+     * and drawn at the scale of the layer.
+     *
+     * @param g          The graphics object used to paint the layer.
+     * @param xOff       The x coordinate of the top left corner of the view in the world, usually the camera's.
+     * @param yOff       The y coordinate of the top left corner of the view in the world, usually the camera's.
+     * @param viewWidth  The width of the view in pixels of the world.
+     * @param viewHeight The height of the view in pixels of the world.
+     */
+    public void render(Graphics g, int xOff, int yOff, int viewWidth, int viewHeight) {
+        GraphicsConfiguration configuration = getConfiguration(g);
+        int originX = (int) Math.floor(xOff * scale);
+        int originY = (int) Math.floor(yOff * scale);
+        int firstColumn = Math.max(0, Math.floorDiv(xOff, tileSize));
+        int lastColumn = Math.min(tileColumns - 1, Math.floorDiv(xOff + viewWidth - 1, tileSize));
+        int firstRow = Math.max(0, Math.floorDiv(yOff, tileSize));
+        int lastRow = Math.min(tileRows - 1, Math.floorDiv(yOff + viewHeight - 1, tileSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                renderTile(g, configuration, column, row, column * scaledTileSize - originX,
+                        row * scaledTileSize - originY);
+            }
+        }
+    }
+
+    private static GraphicsConfiguration getConfiguration(Graphics g) {
+        if (GraphicsEnvironment.isHeadless() || !(g instanceof Graphics2D)) {
+            return null;
+        }
+        return ((Graphics2D) g).getDeviceConfiguration();
+    }
+
+    private void renderTile(Graphics g, GraphicsConfiguration configuration, int column, int row, int x, int y) {
+        for (int attempt = 0; attempt < MAX_RESTORE_ATTEMPTS; attempt++) {
+            Image tile = prepareTile(configuration, column, row);
+            g.drawImage(tile, x, y, null);
+            if (!(tile instanceof VolatileImage) || !((VolatileImage) tile).contentsLost()) {
+                return;
+            }
+            contentLosses++;
+        }
+        Graphics tileGraphics = g.create(x, y, scaledTileWidth(column), scaledTileHeight(row));
+        try {
+            drawTile(tileGraphics, column, row);
+        } finally {
+            tileGraphics.dispose();
+        }
+    }
+
+    private static long key(int column, int row) {
+        return ((long) row << 32) | column;
+    }
+
+    private Image prepareTile(GraphicsConfiguration configuration, int column, int row) {
+        long key = key(column, row);
+        Image tile = tiles.get(key);
+        boolean drawn = false;
+        if (tile instanceof VolatileImage && configuration != null) {
+            VolatileImage volatileTile = (VolatileImage) tile;
+            int status = volatileTile.validate(configuration);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                volatileTile.flush();
+                tiles.remove(key);
+                tile = null;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                contentLosses++;
+                bake(volatileTile, column, row);
+                drawn = true;
+            }
+        }
+        if (tile == null) {
+            evictLeastRecentlyUsed();
+            tile = createTile(configuration, scaledTileWidth(column), scaledTileHeight(row));
+            tiles.put(key, tile);
+            bake(tile, column, row);
+            drawn = true;
+        }
+        // Counted once the tile is known to be usable, so that a tile drawn again after validation is a miss.
+        if (drawn) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return tile;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<Map.Entry<Long, Image>> iterator = tiles.entrySet().iterator();
+        while (tiles.size() >= maxTiles && iterator.hasNext()) {
+            iterator.next().getValue().flush();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static Image createTile(GraphicsConfiguration configuration, int width, int height) {
+        if (configuration != null) {
+            return configuration.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private int tileWidth(int column) {
+        return Math.min(tileSize, board.getBoardWidthPixels() - column * tileSize);
+    }
+
+    private int tileHeight(int row) {
+        return Math.min(tileSize, board.getBoardHeightPixels() - row * tileSize);
+    }
+
+    private int scaledTileWidth(int column) {
+        return Math.max(1, Math.round(tileWidth(column) * scale));
+    }
+
+    private int scaledTileHeight(int row) {
+        return Math.max(1, Math.round(tileHeight(row) * scale));
+    }
+
+    private void bake(Image tile, int column, int row) {
+        Graphics g = tile.getGraphics();
+        try {
+            drawTile(g, column, row);
+        } finally {
+            g.dispose();
+        }
+        tilesDrawn++;
+    }
+
+    /**
+     * Draws the grass of the cells of a tile, then the trees and then the houses on and next to them, relative to the
+     * top left corner of the tile and at the scale of the layer.
+     */
+    private void drawTile(Graphics g, int column, int row) {
+        if (scale != 1f && g instanceof Graphics2D) {
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.scale(scaledTileSize / (double) tileSize, scaledTileSize / (double) tileSize);
+        }
+        int xOff = column * tileSize;
+        int yOff = row * tileSize;
+        board.render(g, xOff, yOff, tileWidth(column), tileHeight(row));
+        int firstColumn = Math.max(0, column * tileCells - 1);
+        int lastColumn = Math.min(board.getBoardWidth() - 1, (column + 1) * tileCells);
+        int firstRow = Math.max(0, row * tileCells - 1);
+        int lastRow = Math.min(board.getBoardHeight() - 1, (row + 1) * tileCells);
+        drawEntities(g, Tree.class, xOff, yOff, firstColumn, lastColumn, firstRow, lastRow);
+        drawEntities(g, House.class, xOff, yOff, firstColumn, lastColumn, firstRow, lastRow);
+    }
+
+    private void drawEntities(Graphics g, Class<? extends GameEntity> type, int xOff, int yOff, int firstColumn,
+                              int lastColumn, int firstRow, int lastRow) {
+        for (int i = firstRow; i <= lastRow; i++) {
+            for (int j = firstColumn; j <= lastColumn; j++) {
+                for (GameEntity entity : board.getCell(i, j).getEntitiesPresentOnCell()) {
+                    if (type.isInstance(entity)) {
+                        entity.render(g, xOff, yOff);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of times a tile was drawn, either for the first time or after its contents were lost.
+     *
+     * @return The number of tiles drawn.
+     */
+    public int getTilesDrawn() {
+        return tilesDrawn;
+    }
+
+    /**
+     * Returns the number of times the contents of a tile were found lost and had to be drawn again.
+     *
+     * @return The number of content losses.
+     */
+    public int getContentLosses() {
+        return contentLosses;
+    }
+
+    /**
+     * Returns the number of times a tile in view was already kept with valid contents.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of times a tile in view had to be drawn, because it was not kept, no longer suited the screen
+     * or had lost its contents.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of tiles released to make room for a tile coming into view.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of tiles currently kept.
+     *
+     * @return The number of cached tiles, at most the highest number of tiles to keep.
+     */
+    public int getCachedTiles() {
+        return tiles.size();
+    }
+
+    /**
+     * Returns a summary of the cache: the tiles kept, the hits and misses and the tiles released and lost.
+     *
+     * @return The summary as one line of text.
+     */
+    public String report() {
+        return String.format("static tiles %d/%d, hits %d, misses %d, evictions %d, content losses %d%n",
+                tiles.size(), maxTiles, hits, misses, evictions, contentLosses);
+    }
+
+    /**
+     * Sets the scale the layer is drawn at, releasing the tiles drawn at the previous scale.
+     *
+     * @param scale The scale, from above 0 up to 1 for the size of the world. Tiles are rounded to whole pixels.
+     */
+    public void setScale(float scale) {
+        if (!(scale > 0f && scale <= 1f)) {
+            throw new IllegalArgumentException("Scale must be above 0 and at most 1: " + scale);
+        }
+        if (scale == this.scale) {
+            return;
+        }
+        flush();
+        this.scale = scale;
+        this.scaledTileSize = Math.max(1, Math.round(tileSize * scale));
+    }
+
+    /**
+     * Returns the scale the layer is drawn at.
+     *
+     * @return The scale, 1 for the size of the world.
+     */
+    public float getScale() {
+        return scale;
+    }
+
+    /**
+     * Releases the images of every tile. Tiles are drawn again when they are next rendered.
+     */
+    public void flush() {
+        for (Image tile : tiles.values()) {
+            tile.flush();
+        }
+        tiles.clear();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.listeners;
+
+import java.awt.event.InputEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free queue that hands input events from the event dispatch thread to the game loop. The listeners
+ * offer events as they arrive and the game loop drains them at the start of each update, so game state is only ever
+ * changed by the game loop. The queue is a ring buffer for a single producer and a single consumer: only one thread may
+ * call {@link #offer(InputEvent)} and only one thread may call {@link #drain(Handler)}.
+ * <p>
+ * The time each event is offered is kept alongside it, so the consumer can measure how long input waits before it takes
+ * effect. Offering and draining events never allocates.
+ */
+public class InputQueue {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final InputEvent[] events;
+    private final long[] offerTimes;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long droppedEvents;
+
+    /**
+     * Receives the events drained from an InputQueue.
+     */
+    public interface Handler {
+        /**
+         * Applies one input event.
+         *
+         * @param event     The event, in the order it was offered.
+         * @param offerTime The time the event was offered, on the {@link System#nanoTime()} clock.
+         */
+        void handle(InputEvent event, long offerTime);
+    }
+
+    /**
+     * Constructs an empty queue holding up to the given number of events.
+     *
+     * @param capacity The number of events the queue can hold. Must be a positive power of two.
+     */
+    public InputQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+        }
+        this.events = new InputEvent[capacity];
+        this.offerTimes = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds an event at the end of the queue. If the queue is full the event is dropped and counted, which only happens
+     * when the game loop has stopped draining the queue.
+     *
+     * @param event The event to add.
+     * @return True if the event was added, false if it was dropped.
+     */
+    public boolean offer(InputEvent event) {
+        long currentTail = tail.get();
+        if (currentTail - head.get() == events.length) {
+            droppedEvents++;
+            return false;
+        }
+        int index = (int) currentTail & mask;
+        events[index] = event;
+        offerTimes[index] = System.nanoTime();
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes every event currently in the queue and passes each one to the handler, oldest first. Events offered while
+     * the queue is being drained are left for the next call.
+     *
+     * @param handler Receives the events.
+     * @return The number of events drained.
+     */
+    public int drain(Handler handler) {
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        int drained = 0;
+        while (currentHead != currentTail) {
+            int index = (int) currentHead & mask;
+            InputEvent event = events[index];
+            long offerTime = offerTimes[index];
+            events[index] = null;
+            head.lazySet(++currentHead);
+            handler.handle(event, offerTime);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of events waiting in the queue.
+     *
+     * @return The number of events offered but not drained yet.
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Returns the number of events dropped because the queue was full.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+}
@@ -5,7 +5,8 @@ import java.awt.event.MouseEvent;
 
 /**
  * The MouseListener class is responsible for capturing mouse input from the user for the purpose of facilitating
- * UI navigation based on the current game state.
+ * UI navigation based on the current game state. Presses and releases are queued for the game loop rather than applied
+ * on the event dispatch thread.
  *
  * @author Pardeep Manhas
  */
@@ -25,12 +26,12 @@ public class MouseListener implements java.awt.event.MouseListener{
 
     @Override
     public void mousePressed(MouseEvent e) {
-        game.handleMousePressed(e);
+        game.queueInput(e);
     }
 
     @Override
     public void mouseReleased(MouseEvent e) {
-        game.handleMouseReleased(e);
+        game.queueInput(e);
     }
 
     @Override
@@ -0,0 +1,106 @@
+package com.example.metrics;
+
+import com.example.utils.AtlasRegion;
+import com.example.utils.ResourceLoader;
+import com.example.utils.SpriteAtlas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Compares the cost of drawing a sprite facing left by flipping its frame while drawing, with a negative width, against
+ * drawing the frame mirrored ahead of time in the {@link SpriteAtlas}. Both ways draw every frame of the knight into an
+ * image the size of the Play screen, both at the size the game draws it and at the size of the frame.
+ * <p>
+ * Can be started from the command line with {@code java com.example.metrics.FlipBenchmark [draws]}, which prints the
+ * median time of a draw both ways at both sizes.
+ */
+public class FlipBenchmark {
+    public static final int DEFAULT_DRAWS = 200_000;
+    private static final int ROUNDS = 7;
+    private static final int SPRITE_SIZE = 128;
+    private static final int FRAME_SIZE = 192;
+
+    private final AtlasRegion[] frames;
+    private final AtlasRegion[] mirroredFrames;
+    private final BufferedImage target;
+
+    /**
+     * Constructs a benchmark drawing the frames of the knight from the default atlas into an image of the given size.
+     *
+     * @param width  The width of the image drawn into. Must be larger than a frame.
+     * @param height The height of the image drawn into. Must be larger than a frame.
+     */
+    public FlipBenchmark(int width, int height) {
+        if (width <= FRAME_SIZE || height <= FRAME_SIZE) {
+            throw new IllegalArgumentException("Target must be larger than a sprite: " + width + "x" + height);
+        }
+        SpriteAtlas atlas = SpriteAtlas.getDefault();
+        frames = new AtlasRegion[12];
+        mirroredFrames = new AtlasRegion[12];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = atlas.getRegion(ResourceLoader.KNIGHT_PATH, i);
+            mirroredFrames[i] = atlas.getMirroredRegion(ResourceLoader.KNIGHT_PATH, i);
+        }
+        target = ResourceLoader.toCompatibleImage(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+    }
+
+    /**
+     * Draws the given number of sprites facing left and returns the time taken per draw.
+     *
+     * @param draws       The number of sprites to draw.
+     * @param premirrored True to draw the frames mirrored ahead of time, false to flip the frames while drawing.
+     * @param size        The width and height the sprites are drawn at. Must be positive and fit in the image.
+     * @return The average time of a draw in nanoseconds.
+     */
+    public double measure(int draws, boolean premirrored, int size) {
+        if (size <= 0 || size >= target.getWidth() || size >= target.getHeight()) {
+            throw new IllegalArgumentException("Sprite size does not fit: " + size);
+        }
+        Graphics2D g = target.createGraphics();
+        try {
+            int columns = (target.getWidth() - size) / 8;
+            int rows = (target.getHeight() - size) / 8;
+            long start = System.nanoTime();
+            for (int i = 0; i < draws; i++) {
+                int x = i % columns * 8;
+                int y = i / columns % rows * 8;
+                AtlasRegion frame = (premirrored ? mirroredFrames : frames)[i % frames.length];
+                if (premirrored) {
+                    frame.draw(g, x, y, size, size);
+                } else {
+                    frame.draw(g, x + size, y, -size, size);
+                }
+            }
+            return (System.nanoTime() - start) / (double) draws;
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Measures both ways of drawing a sprite facing left several times, alternating between them, and prints the
+     * median time of a draw each way.
+     *
+     * @param args The optional number of draws per round.
+     */
+    public static void main(String[] args) {
+        int draws = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DRAWS;
+        FlipBenchmark benchmark = new FlipBenchmark(1250, 875);
+        for (int size : new int[]{SPRITE_SIZE, FRAME_SIZE}) {
+            double[] flipped = new double[ROUNDS];
+            double[] premirrored = new double[ROUNDS];
+            benchmark.measure(draws, false, size);
+            benchmark.measure(draws, true, size);
+            for (int i = 0; i < ROUNDS; i++) {
+                flipped[i] = benchmark.measure(draws, false, size);
+                premirrored[i] = benchmark.measure(draws, true, size);
+            }
+            Arrays.sort(flipped);
+            Arrays.sort(premirrored);
+            System.out.printf("%d px: flipped while drawing %.0f ns/draw, mirrored ahead of time %.0f ns/draw%n",
+                    size, flipped[ROUNDS / 2], premirrored[ROUNDS / 2]);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.metrics;
+
+/**
+ * Counts how the game loop keeps up with its update rate. Each iteration of the loop that updates the game reports how
+ * many updates it ran and how many due updates it dropped. An iteration that runs more than one update is a catch-up
+ * burst; updates are dropped when the loop falls further behind than it is allowed to catch up with.
+ * <p>
+ * The counters are written by the game loop and may be read from any thread.
+ */
+public class LoopStats {
+    private volatile long updates;
+    private volatile long droppedTicks;
+    private volatile long catchUpBursts;
+    private volatile int longestBurst;
+
+    /**
+     * Records one iteration of the game loop.
+     *
+     * @param updatesRun   The number of updates run by the iteration.
+     * @param ticksDropped The number of due updates the iteration skipped.
+     */
+    public void record(int updatesRun, long ticksDropped) {
+        updates += updatesRun;
+        droppedTicks += ticksDropped;
+        if (updatesRun > 1) {
+            catchUpBursts++;
+        }
+        if (updatesRun > longestBurst) {
+            longestBurst = updatesRun;
+        }
+    }
+
+    /**
+     * Returns the number of updates run.
+     *
+     * @return The total number of updates.
+     */
+    public long getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Returns the number of due updates that were skipped because the loop had fallen too far behind.
+     *
+     * @return The total number of dropped updates.
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * Returns the number of loop iterations that ran more than one update to catch up.
+     *
+     * @return The number of catch-up bursts.
+     */
+    public long getCatchUpBursts() {
+        return catchUpBursts;
+    }
+
+    /**
+     * Returns the highest number of updates run by a single loop iteration.
+     *
+     * @return The size of the longest burst, 1 if the loop never had to catch up.
+     */
+    public int getLongestBurst() {
+        return longestBurst;
+    }
+
+    /**
+     * Clears every counter.
+     */
+    public void reset() {
+        updates = 0;
+        droppedTicks = 0;
+        catchUpBursts = 0;
+        longestBurst = 0;
+    }
+
+    /**
+     * Formats the counters on one line.
+     *
+     * @return A summary of the counters.
+     */
+    public String report() {
+        return String.format("updates %d, dropped %d, catch-up bursts %d, longest burst %d%n",
+                updates, droppedTicks, catchUpBursts, longestBurst);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.metrics;
+
+/**
+ * The Phase enum names the stages of an update or a frame that are timed by a {@link Profiler}.
+ */
+public enum Phase {
+    /**
+     * One complete update of the playing state.
+     */
+    TICK,
+    /**
+     * Moving the knight and the camera.
+     */
+    KNIGHT_UPDATE,
+    /**
+     * Moving the goblins, including their pathfinding, and checking whether they catch the knight.
+     */
+    GOBLIN_UPDATE,
+    /**
+     * Checking the knight against the dynamites, houses, meats and coins.
+     */
+    PICKUP_UPDATE,
+    /**
+     * Filling and publishing the snapshot of the world the next frames are drawn from.
+     */
+    SNAPSHOT,
+    /**
+     * The time an input event waits between being queued by a listener and being applied by the game loop.
+     */
+    INPUT_LATENCY,
+    /**
+     * One complete frame of the game, including the overlay of the current state and, when rendering actively, showing
+     * it on the screen.
+     */
+    FRAME,
+    /**
+     * Drawing the ground of the board.
+     */
+    BOARD_RENDER,
+    /**
+     * Drawing the trees, houses, rewards, dynamites, goblins and the knight.
+     */
+    ENTITY_RENDER,
+    /**
+     * Stretching the board and entities drawn at a reduced resolution over the view.
+     */
+    UPSCALE,
+    /**
+     * Drawing the timer, the scoreboard and the help information.
+     */
+    HUD_RENDER
+}
@@ -0,0 +1,130 @@
+package com.example.metrics;
+
+import java.io.PrintStream;
+
+/**
+ * Times the stages of updates and frames into one {@link LatencyHistogram} per {@link Phase}. A stage is timed by
+ * calling {@link #start()} before it and {@link #stop(Phase, long)} after it:
+ * <pre>
+ *     long start = profiler.start();
+ *     knight.update();
+ *     profiler.stop(Phase.KNIGHT_UPDATE, start);
+ * </pre>
+ * Timing a stage reads the clock twice and never allocates. Each phase should only be timed from a single thread.
+ */
+public class Profiler {
+    private final LatencyHistogram[] histograms;
+    private volatile boolean enabled;
+
+    /**
+     * Constructs an enabled profiler with an empty histogram for every phase.
+     */
+    public Profiler() {
+        Phase[] phases = Phase.values();
+        histograms = new LatencyHistogram[phases.length];
+        for (Phase phase : phases) {
+            histograms[phase.ordinal()] = new LatencyHistogram();
+        }
+        enabled = true;
+    }
+
+    /**
+     * Marks the start of a timed stage.
+     *
+     * @return The start time to pass to {@link #stop(Phase, long)}, or 0 if the profiler is disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Marks the end of a timed stage and records its duration.
+     *
+     * @param phase     The phase the stage belongs to.
+     * @param startTime The value returned by {@link #start()} at the start of the stage.
+     */
+    public void stop(Phase phase, long startTime) {
+        if (enabled && startTime != 0L) {
+            histograms[phase.ordinal()].record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Records a duration measured by the caller, for phases that do not start and stop on the same thread.
+     *
+     * @param phase The phase the duration belongs to.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        if (enabled) {
+            histograms[phase.ordinal()].record(nanos);
+        }
+    }
+
+    /**
+     * Returns the histogram of the durations recorded for a phase.
+     *
+     * @param phase The phase to look up.
+     * @return The histogram of the phase.
+     */
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Checks whether stages are being timed.
+     *
+     * @return True if the profiler records durations.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether stages are timed. A disabled profiler does not read the clock.
+     *
+     * @param enabled True to record durations, false to ignore them.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Forgets the durations recorded for every phase.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Formats the count, median, 99th percentile and maximum of every phase that has been recorded, in microseconds.
+     *
+     * @return One header line followed by one line per recorded phase.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-14s %10s %10s %10s %10s%n", "phase", "count", "p50 us", "p99 us", "max us"));
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = histograms[phase.ordinal()];
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            report.append(String.format("%-14s %10d %10.1f %10.1f %10.1f%n", phase, histogram.getCount(),
+                    histogram.getPercentile(50) / 1000.0, histogram.getPercentile(99) / 1000.0,
+                    histogram.getMax() / 1000.0));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Prints {@link #report()} to the given stream.
+     *
+     * @param out The stream to print to, for example System.out.
+     */
+    public void dump(PrintStream out) {
+        out.print(report());
+        out.flush();
+    }
+}
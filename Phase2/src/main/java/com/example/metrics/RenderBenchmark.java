@@ -0,0 +1,262 @@
+package com.example.metrics;
+
+import com.example.game.HeadlessEngine;
+import com.example.game.QualityController;
+import com.example.game.QualityTier;
+import com.example.gamestate.Play;
+import com.example.levels.Board;
+import com.example.utils.ResourceLoader;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the cost of drawing the playing state without a screen. A level is loaded into a {@link Play} state, whose
+ * own render code draws frames into an image the size of the Play screen while the camera follows a scripted path over
+ * the board: along its top edge, down its right edge, back along its bottom edge, up its left edge and through its
+ * middle. Nothing else moves, so every run draws the same frames.
+ * <p>
+ * The time of each frame is recorded in a {@link LatencyHistogram}, and the memory the drawing thread allocates is
+ * counted where the JVM can report it. The phases of each frame are timed by the profiler of the state as usual.
+ * <p>
+ * Can be started from the command line with
+ * {@code java com.example.metrics.RenderBenchmark [level] [frames] [speed] [resolution]}, which runs with
+ * {@code java.awt.headless=true}, draws a round of warm-up frames, and prints the percentiles of the frame time, the
+ * bytes allocated per frame and the timings of the render phases. The resolution is the one the board and entities are
+ * drawn at, as set by {@link Play#setRenderResolution(float)}. An optional fifth argument is a frame budget in
+ * milliseconds, under which the frames follow the tiers of a {@link QualityController} as the game loop's do, see
+ * {@link #setQualityController(QualityController)}.
+ */
+public class RenderBenchmark {
+    public static final int DEFAULT_FRAMES = 3000;
+    public static final int DEFAULT_WARMUP_FRAMES = 1000;
+    public static final float DEFAULT_SPEED = 8f;
+
+    private final Play play;
+    private final BufferedImage target;
+    private final float[] pathX;
+    private final float[] pathY;
+    private final float[] pathDistance;
+    private final float speed;
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long allocatedBytes;
+    private long step;
+    private QualityController quality;
+    private QualityTier appliedTier;
+    private long dueFrames;
+
+    /**
+     * Constructs a benchmark on the level stored at the given path.
+     *
+     * @param levelPath The path of the level, as accepted by {@link ResourceLoader#getLevel(String)}.
+     * @param speed     How far the point followed by the camera moves between two frames, in pixels. Must be positive.
+     */
+    public RenderBenchmark(String levelPath, float speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive: " + speed);
+        }
+        this.play = new HeadlessEngine(levelPath).getPlay();
+        this.speed = speed;
+        Dimension screen = play.getBoardDimension();
+        target = ResourceLoader.toCompatibleImage(new BufferedImage(screen.width, screen.height,
+                BufferedImage.TYPE_INT_RGB));
+        Board board = play.getBoard();
+        float width = board.getBoardWidthPixels();
+        float height = board.getBoardHeightPixels();
+        pathX = new float[]{0, width, width, 0, 0, width / 2, 0};
+        pathY = new float[]{0, 0, height, height, 0, height / 2, 0};
+        pathDistance = new float[pathX.length];
+        for (int i = 1; i < pathX.length; i++) {
+            pathDistance[i] = pathDistance[i - 1]
+                    + (float) Math.hypot(pathX[i] - pathX[i - 1], pathY[i] - pathY[i - 1]);
+        }
+    }
+
+    /**
+     * Has the frames follow the quality tiers of the given controller, as the game loop does. Every frame of a run then
+     * counts as a due frame, but only those at the frame interval of the current tier are drawn. Drawn frames use the
+     * rendering hints and heads-up display refresh interval of the tier, and their times are handed to the controller.
+     *
+     * @param quality The controller choosing the tier, or null to draw every frame at the tier the state was left at.
+     */
+    public void setQualityController(QualityController quality) {
+        this.quality = quality;
+        this.appliedTier = null;
+        this.dueFrames = 0;
+    }
+
+    /**
+     * Moves the camera along the path the given number of times, drawing a frame after each move, and records the times
+     * of the frames. Under a {@link QualityController} frames skipped by the tier are not drawn nor recorded. The path
+     * is followed from where the previous run stopped, and starts over once it is done.
+     *
+     * @param frames The number of frames that fall due. Must not be negative.
+     */
+    public void run(int frames) {
+        if (frames < 0) {
+            throw new IllegalArgumentException("Frame count must not be negative: " + frames);
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = getAllocatedBytes(threadId);
+        Graphics2D g = target.createGraphics();
+        try {
+            for (int i = 0; i < frames; i++) {
+                moveCamera(step++ * speed);
+                if (quality != null && !applyQualityTier(g)) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                play.render(g);
+                long frameNanos = System.nanoTime() - start;
+                frameTimes.record(frameNanos);
+                if (quality != null) {
+                    quality.record(frameNanos);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        if (allocatedBefore >= 0) {
+            allocatedBytes += getAllocatedBytes(threadId) - allocatedBefore;
+        }
+    }
+
+    /**
+     * Counts a due frame and, if the current tier draws it, applies the tier as the game loop does.
+     *
+     * @return True if the due frame should be drawn.
+     */
+    private boolean applyQualityTier(Graphics2D g) {
+        QualityTier tier = quality.getTier();
+        if (dueFrames++ % tier.getFrameInterval() != 0) {
+            return false;
+        }
+        if (tier != appliedTier) {
+            play.getHud().setRefreshFrames(tier.getHudRefreshFrames());
+            appliedTier = tier;
+        }
+        tier.applyHints(g);
+        return true;
+    }
+
+    private void moveCamera(float distance) {
+        float length = pathDistance[pathDistance.length - 1];
+        distance %= length;
+        int segment = 1;
+        while (pathDistance[segment] < distance) {
+            segment++;
+        }
+        float segmentLength = pathDistance[segment] - pathDistance[segment - 1];
+        float t = segmentLength == 0 ? 0 : (distance - pathDistance[segment - 1]) / segmentLength;
+        play.moveCamera(pathX[segment - 1] + (pathX[segment] - pathX[segment - 1]) * t,
+                pathY[segment - 1] + (pathY[segment] - pathY[segment - 1]) * t);
+    }
+
+    /**
+     * Returns the bytes allocated so far by the given thread, or -1 if the JVM does not count them.
+     */
+    private long getAllocatedBytes(long threadId) {
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return allocations.getThreadAllocatedBytes(threadId);
+    }
+
+    /**
+     * Forgets the frames recorded so far, along with the timings of the profiler of the state, without moving the
+     * camera back to the start of the path. Used to drop the frames drawn while warming up.
+     */
+    public void reset() {
+        frameTimes.reset();
+        allocatedBytes = 0;
+        play.getProfiler().reset();
+    }
+
+    /**
+     * Returns the times of the frames drawn since the benchmark was constructed or reset.
+     *
+     * @return The histogram of frame times, in nanoseconds.
+     */
+    public LatencyHistogram getFrameTimes() {
+        return frameTimes;
+    }
+
+    /**
+     * Returns the average number of bytes allocated by the drawing thread per frame since the benchmark was
+     * constructed or reset.
+     *
+     * @return The bytes allocated per frame, or -1 if the JVM does not count allocations per thread.
+     */
+    public double getAllocatedBytesPerFrame() {
+        if (getAllocatedBytes(Thread.currentThread().getId()) < 0) {
+            return -1;
+        }
+        long frames = frameTimes.getCount();
+        return frames == 0 ? 0 : allocatedBytes / (double) frames;
+    }
+
+    /**
+     * Returns the controller choosing the quality tier of the frames.
+     *
+     * @return The controller, or null if every frame is drawn.
+     */
+    public QualityController getQualityController() {
+        return quality;
+    }
+
+    /**
+     * Returns the playing state being drawn.
+     *
+     * @return The state of the benchmark.
+     */
+    public Play getPlay() {
+        return play;
+    }
+
+    /**
+     * Describes the recorded frames: their number, the percentiles of their times and the bytes allocated per frame.
+     *
+     * @return The report, ending with a line break.
+     */
+    public String report() {
+        return String.format("%d frames: mean %.3f ms, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms, "
+                        + "%.0f bytes allocated per frame%n", frameTimes.getCount(), frameTimes.getMean() / 1e6,
+                frameTimes.getPercentile(50) / 1e6, frameTimes.getPercentile(90) / 1e6,
+                frameTimes.getPercentile(99) / 1e6, frameTimes.getMax() / 1e6, getAllocatedBytesPerFrame());
+    }
+
+    /**
+     * Draws a level along the camera path without a display and prints how long the frames took.
+     *
+     * @param args The optional level path, number of frames, camera speed in pixels per frame, render resolution and
+     *             frame budget in milliseconds, in that order.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        String levelPath = args.length > 0 ? args[0] : ResourceLoader.LEVEL_ONE_PATH;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+        float speed = args.length > 2 ? Float.parseFloat(args[2]) : DEFAULT_SPEED;
+        float resolution = args.length > 3 ? Float.parseFloat(args[3]) : 1f;
+        RenderBenchmark benchmark = new RenderBenchmark(levelPath, speed);
+        benchmark.getPlay().setRenderResolution(resolution);
+        benchmark.run(DEFAULT_WARMUP_FRAMES);
+        benchmark.reset();
+        if (args.length > 4) {
+            long budgetNanos = Math.round(Double.parseDouble(args[4]) * 1_000_000);
+            benchmark.setQualityController(new QualityController(budgetNanos, QualityTier.HIGH));
+        }
+        benchmark.run(frames);
+        System.out.print(benchmark.report());
+        if (benchmark.getQualityController() != null) {
+            System.out.print(benchmark.getQualityController().report());
+        }
+        benchmark.getPlay().getProfiler().dump(System.out);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.replay;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Records the input of a session update by update and saves it to a file once the session ends. The recorder is fed by
+ * the thread running the updates, and may be finished from another thread such as a shutdown hook.
+ */
+public class InputRecorder {
+    private final InputRecording recording;
+    private final File file;
+    private long lastStateChecksum;
+    private boolean finished;
+
+    /**
+     * Constructs a recorder that fills the given recording and saves it to the given file.
+     *
+     * @param recording The empty recording describing the level and update rate of the session.
+     * @param file      The file the recording is saved to when the session ends.
+     */
+    public InputRecorder(InputRecording recording, File file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    /**
+     * Records one update. Ignored once the recorder is finished.
+     *
+     * @param inputMask     The movement keys held by the playing state during the update.
+     * @param paused        True if the game was paused during the update.
+     * @param stateChecksum The checksum of the playing state after the update.
+     */
+    public synchronized void recordTick(int inputMask, boolean paused, long stateChecksum) {
+        if (finished) {
+            return;
+        }
+        recording.append(paused ? inputMask | InputRecording.PAUSED : inputMask);
+        lastStateChecksum = stateChecksum;
+    }
+
+    /**
+     * Ends the recording with the state of the last recorded update and saves it. Only the first call has an effect.
+     */
+    public synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        recording.setEndStateChecksum(lastStateChecksum);
+        try {
+            recording.save(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Checks whether the recording has ended.
+     *
+     * @return True once {@link #finish()} has been called.
+     */
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Returns the recording being filled.
+     *
+     * @return The recording.
+     */
+    public InputRecording getRecording() {
+        return recording;
+    }
+}
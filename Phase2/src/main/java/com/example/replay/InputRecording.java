@@ -0,0 +1,242 @@
+package com.example.replay;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The input consumed by the playing state on every update of one session, together with everything needed to replay
+ * it: the level, a checksum of the level's layout, the update rate and a checksum of the state the session ended in.
+ * The game has no randomness, so replaying the same input on the same level at the same rate reproduces the session.
+ * <p>
+ * The input of an update is a mask of the movement keys held (the INPUT_ bits of
+ * {@link com.example.gamestate.Play}) plus {@link #PAUSED} while the game is paused. Consecutive updates with the same
+ * mask are stored as a single run, so long stretches of holding a key take a few bytes.
+ */
+public class InputRecording {
+    public static final int PAUSED = 16;
+
+    private static final int MAGIC = 0x4D5A5250;
+    private static final int VERSION = 1;
+
+    private final String levelPath;
+    private final int levelChecksum;
+    private final int ticksPerSecond;
+    private int[] runMasks = new int[64];
+    private long[] runLengths = new long[64];
+    private int runCount;
+    private long tickCount;
+    private long endStateChecksum;
+
+    /**
+     * Constructs an empty recording.
+     *
+     * @param levelPath      The path of the level played, as accepted by
+     *                       {@link com.example.utils.ResourceLoader#getLevel(String)}.
+     * @param levelChecksum  The checksum of the level's layout, from {@link #checksumLevel(int[][])}.
+     * @param ticksPerSecond The update rate of the session.
+     */
+    public InputRecording(String levelPath, int levelChecksum, int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Ticks per second must be positive: " + ticksPerSecond);
+        }
+        this.levelPath = levelPath;
+        this.levelChecksum = levelChecksum;
+        this.ticksPerSecond = ticksPerSecond;
+    }
+
+    /**
+     * Computes a checksum of a level's layout, used to check that a recording is replayed on the level it was made on.
+     *
+     * @param level The layout of the level.
+     * @return The CRC-32 of the layout.
+     */
+    public static int checksumLevel(int[][] level) {
+        CRC32 crc = new CRC32();
+        for (int[] row : level) {
+            for (int cell : row) {
+                crc.update(cell);
+            }
+            crc.update(-1);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Appends the input of the next update.
+     *
+     * @param mask The movement bits held during the update, plus {@link #PAUSED} if the game was paused.
+     */
+    public void append(int mask) {
+        appendRun(mask, 1);
+    }
+
+    private void appendRun(int mask, long length) {
+        if (runCount > 0 && runMasks[runCount - 1] == mask) {
+            runLengths[runCount - 1] += length;
+        } else {
+            if (runCount == runMasks.length) {
+                runMasks = Arrays.copyOf(runMasks, runCount * 2);
+                runLengths = Arrays.copyOf(runLengths, runCount * 2);
+            }
+            runMasks[runCount] = mask;
+            runLengths[runCount] = length;
+            runCount++;
+        }
+        tickCount += length;
+    }
+
+    /**
+     * Returns the number of runs of updates sharing the same input.
+     *
+     * @return The number of runs.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Returns the input of a run.
+     *
+     * @param run The index of the run, from 0 to {@link #getRunCount()} - 1.
+     * @return The input mask shared by the updates of the run.
+     */
+    public int getRunMask(int run) {
+        return runMasks[run];
+    }
+
+    /**
+     * Returns the number of updates in a run.
+     *
+     * @param run The index of the run, from 0 to {@link #getRunCount()} - 1.
+     * @return The number of consecutive updates with the run's input.
+     */
+    public long getRunLength(int run) {
+        return runLengths[run];
+    }
+
+    /**
+     * Returns the number of recorded updates.
+     *
+     * @return The number of updates.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public String getLevelPath() {
+        return levelPath;
+    }
+
+    public int getLevelChecksum() {
+        return levelChecksum;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    /**
+     * Returns the checksum of the state the session ended in, from
+     * {@link com.example.gamestate.Play#getStateChecksum()}.
+     *
+     * @return The checksum of the final state.
+     */
+    public long getEndStateChecksum() {
+        return endStateChecksum;
+    }
+
+    public void setEndStateChecksum(long endStateChecksum) {
+        this.endStateChecksum = endStateChecksum;
+    }
+
+    /**
+     * Writes the recording to a file.
+     *
+     * @param file The file to write, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            write(out);
+        }
+    }
+
+    /**
+     * Reads a recording from a file written by {@link #save(File)}.
+     *
+     * @param file The file to read.
+     * @return The recording stored in the file.
+     * @throws IOException If the file cannot be read or is not a recording.
+     */
+    public static InputRecording load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Writes the recording to a stream.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(levelPath);
+        out.writeInt(levelChecksum);
+        out.writeInt(ticksPerSecond);
+        out.writeLong(endStateChecksum);
+        writeVarLong(out, runCount);
+        for (int i = 0; i < runCount; i++) {
+            out.writeByte(runMasks[i]);
+            writeVarLong(out, runLengths[i]);
+        }
+    }
+
+    /**
+     * Reads a recording written by {@link #write(DataOutputStream)}.
+     *
+     * @param in The stream to read from.
+     * @return The recording read.
+     * @throws IOException If the stream cannot be read or does not hold a recording.
+     */
+    public static InputRecording read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported input recording version: " + version);
+        }
+        InputRecording recording = new InputRecording(in.readUTF(), in.readInt(), in.readInt());
+        recording.setEndStateChecksum(in.readLong());
+        long runs = readVarLong(in);
+        for (long i = 0; i < runs; i++) {
+            int mask = in.readUnsignedByte();
+            recording.appendRun(mask, readVarLong(in));
+        }
+        return recording;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed run length");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.replay;
+
+import com.example.game.HeadlessEngine;
+import com.example.game.InputScript;
+import com.example.gamestate.Gamestate;
+import com.example.gamestate.Play;
+import com.example.utils.ResourceLoader;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Replays an {@link InputRecording} on a {@link HeadlessEngine} as fast as possible. The replay runs on the recorded
+ * level at the recorded update rate and applies the recorded input before each update, so it ends in the same state as
+ * the recorded session. This makes a recorded session a repeatable scenario for measuring the engine.
+ * <p>
+ * Can be started from the command line with {@code java com.example.replay.InputReplay <recording>}, which prints the
+ * replay speed and whether the final state matches the recording, and exits with status 1 if it does not.
+ */
+public class InputReplay {
+    private static final int MOVEMENT_MASK = Play.INPUT_UP | Play.INPUT_LEFT | Play.INPUT_DOWN | Play.INPUT_RIGHT;
+
+    private final InputRecording recording;
+    private final HeadlessEngine engine;
+
+    /**
+     * Prepares the replay of a recording. Sets the update rate of the simulation to the recorded one.
+     *
+     * @param recording The recording to replay.
+     */
+    public InputReplay(InputRecording recording) {
+        int[][] level = ResourceLoader.getLevel(recording.getLevelPath());
+        if (InputRecording.checksumLevel(level) != recording.getLevelChecksum()) {
+            throw new IllegalArgumentException("Level " + recording.getLevelPath() + " differs from the recorded one");
+        }
+        this.recording = recording;
+        this.engine = new HeadlessEngine(level, new InputScript());
+        engine.setTicksPerSecond(recording.getTicksPerSecond());
+    }
+
+    /**
+     * Replays every recorded update.
+     *
+     * @return The number of updates replayed.
+     */
+    public long run() {
+        for (int run = 0; run < recording.getRunCount(); run++) {
+            int mask = recording.getRunMask(run);
+            long length = recording.getRunLength(run);
+            for (long i = 0; i < length; i++) {
+                apply(mask);
+                engine.step();
+            }
+        }
+        return engine.getTicks();
+    }
+
+    private void apply(int mask) {
+        engine.getPlay().applyInputMask(mask & MOVEMENT_MASK);
+        boolean paused = (mask & InputRecording.PAUSED) != 0;
+        if (paused && engine.isCurrentState(Gamestate.PLAYING)) {
+            engine.setCurrentState(Gamestate.PAUSE);
+        } else if (!paused && engine.isCurrentState(Gamestate.PAUSE)) {
+            engine.setCurrentState(Gamestate.PLAYING);
+        }
+    }
+
+    /**
+     * Checks whether the replay ended in the recorded state after the recorded number of updates.
+     *
+     * @return True if the replay reproduced the recorded session.
+     */
+    public boolean matchesRecording() {
+        return engine.getTicks() == recording.getTickCount()
+                && engine.getPlay().getStateChecksum() == recording.getEndStateChecksum();
+    }
+
+    /**
+     * Returns the engine the recording is replayed on.
+     *
+     * @return The engine of the replay.
+     */
+    public HeadlessEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Replays a recording without a display and reports its speed and outcome.
+     *
+     * @param args The path of the recording.
+     * @throws IOException If the recording cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: InputReplay <recording>");
+            System.exit(2);
+        }
+        System.setProperty("java.awt.headless", "true");
+        InputReplay replay = new InputReplay(InputRecording.load(new File(args[0])));
+        long start = System.nanoTime();
+        long ticks = replay.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        boolean matches = replay.matchesRecording();
+        System.out.printf("%d ticks in %.3f s (%.0f ticks/s), final state %s, %s%n", ticks, seconds, ticks / seconds,
+                replay.getEngine().getCurrentState(), matches ? "matches the recording" : "DIFFERS from the recording");
+        replay.getEngine().getPlay().getProfiler().dump(System.out);
+        if (!matches) {
+            System.exit(1);
+        }
+    }
+}
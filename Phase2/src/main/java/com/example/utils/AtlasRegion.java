@@ -0,0 +1,146 @@
+package com.example.utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A rectangle of an image holding one sprite or animation frame, usually within a {@link SpriteAtlas}. Drawing a region
+ * copies only its rectangle, so sprites packed into the same image are drawn from a single image object.
+ */
+public class AtlasRegion {
+    private final BufferedImage image;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private BufferedImage subimage;
+    private volatile AtlasRegion scaled;
+
+    /**
+     * Constructs a region of an image.
+     *
+     * @param image  The image holding the region.
+     * @param x      The x coordinate of the top left corner of the region in the image.
+     * @param y      The y coordinate of the top left corner of the region in the image.
+     * @param width  The width of the region.
+     * @param height The height of the region.
+     */
+    public AtlasRegion(BufferedImage image, int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || width <= 0 || height <= 0 || x + width > image.getWidth()
+                || y + height > image.getHeight()) {
+            throw new IllegalArgumentException("Region " + width + "x" + height + " at " + x + "," + y
+                    + " lies outside the image");
+        }
+        this.image = image;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Draws the region at its own size, copying it pixel for pixel.
+     *
+     * @param g     The graphics object used for drawing.
+     * @param destX The x coordinate to draw the left edge of the region at.
+     * @param destY The y coordinate to draw the top edge of the region at.
+     */
+    public void draw(Graphics g, int destX, int destY) {
+        g.drawImage(image, destX, destY, destX + width, destY + height, x, y, x + width, y + height, null);
+    }
+
+    /**
+     * Draws the region scaled to the given rectangle. As with {@link Graphics#drawImage(Image, int, int, int, int,
+     * java.awt.image.ImageObserver)}, a negative width or height mirrors the region, with the rectangle then extending
+     * to the left of or above the given point.
+     *
+     * @param g          The graphics object used for drawing.
+     * @param destX      The x coordinate to draw the left edge of the region at.
+     * @param destY      The y coordinate to draw the top edge of the region at.
+     * @param destWidth  The width to draw the region with.
+     * @param destHeight The height to draw the region with.
+     */
+    public void draw(Graphics g, int destX, int destY, int destWidth, int destHeight) {
+        g.drawImage(image, destX, destY, destX + destWidth, destY + destHeight, x, y, x + width, y + height, null);
+    }
+
+    /**
+     * Returns the region resampled to the given size with {@link ResourceLoader#resample}, to be drawn at its own size
+     * with {@link #draw(Graphics, int, int)}. The resampled region is kept for later calls with the same size, and made
+     * again when asked for another size.
+     *
+     * @param scaledWidth  The width to resample the region to. Must be positive.
+     * @param scaledHeight The height to resample the region to. Must be positive.
+     * @return The resampled region, or this region if it already has that size.
+     */
+    public AtlasRegion getScaled(int scaledWidth, int scaledHeight) {
+        if (scaledWidth == width && scaledHeight == height) {
+            return this;
+        }
+        AtlasRegion current = scaled;
+        if (current == null || current.width != scaledWidth || current.height != scaledHeight) {
+            current = new AtlasRegion(ResourceLoader.resample(image, x, y, width, height, scaledWidth, scaledHeight),
+                    0, 0, scaledWidth, scaledHeight);
+            scaled = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the region as an image of its own, sharing the pixels of the image holding it. The image is created on
+     * the first call; drawing goes through {@link #draw(Graphics, int, int, int, int)} instead.
+     *
+     * @return The pixels of the region.
+     */
+    public BufferedImage getImage() {
+        if (subimage == null) {
+            subimage = image.getSubimage(x, y, width, height);
+        }
+        return subimage;
+    }
+
+    /**
+     * Returns the image holding the region.
+     *
+     * @return The atlas or sheet the region lies in.
+     */
+    public BufferedImage getSource() {
+        return image;
+    }
+
+    /**
+     * Returns the x coordinate of the top left corner of the region in its image.
+     *
+     * @return The x coordinate of the top left corner of the region in its image.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the y coordinate of the top left corner of the region in its image.
+     *
+     * @return The y coordinate of the top left corner of the region in its image.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Returns the width of the region.
+     *
+     * @return The width of the region.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the region.
+     *
+     * @return The height of the region.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
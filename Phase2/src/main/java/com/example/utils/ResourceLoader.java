@@ -6,8 +6,10 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 /**
  * Class made for returning buffered image resources. Loads images from resources folder based on final String chosen.
+ * Images, levels and fonts are loaded once and then shared by every caller, so they must be treated as read-only.
  * The path for every asset used in this game is saved as a String in this class. Game assets excluding fonts are from a
  * pack on itch.io by pixelfrog, found at the link <a href="https://pixelfrog-assets.itch.io/tiny-swords">...</a>.
  *
@@ -42,6 +44,11 @@ public class ResourceLoader {
     //Old London font by Dieter Steffmann from www.dafont.com.
     public static final String MEDIEVAL_FONT = "fonts/BLKCHCRY.ttf";
 
+    private static final ConcurrentHashMap<String, BufferedImage> IMAGES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, BufferedImage> IMAGE_PARTS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, int[][]> LEVELS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Font> FONTS = new ConcurrentHashMap<>();
+
 
     /**
      * A static method that returns one of the static String paths of this class as a
@@ -49,28 +56,150 @@ public class ResourceLoader {
      *
      * @param filename The path to image. Generally one of the static paths of this class.
      * @return An object of Type BufferedImage that contains the image found at the file path, if it exists.
-     * If not, returns a null BufferedImage.
+     * If not, returns a null BufferedImage. The image is decoded on the first request, converted to a layout the
+     * screen can draw quickly (see {@link #toCompatibleImage(BufferedImage)}) and shared afterwards, so it must not be
+     * drawn on.
      * @throws IOException Throws IOException if the file is not found.
      * @author Pardeep Singh Manhas
      */
     public static BufferedImage getImage(String filename) throws IOException {
+        BufferedImage cached = IMAGES.get(filename);
+        if (cached != null) {
+            return cached;
+        }
         InputStream is = ResourceLoader.class.getResourceAsStream("/" + filename);
         BufferedImage img = null;
         img = ImageIO.read(is);
-        return img;
+        if (img == null) {
+            return null;
+        }
+        img = toCompatibleImage(img);
+        BufferedImage previous = IMAGES.putIfAbsent(filename, img);
+        return previous != null ? previous : img;
+    }
+
+    /**
+     * Returns a part of one of the images of {@link #getImage(String)} as an image of its own, copied into the layout
+     * of the screen. The part is copied on the first request and shared afterwards, so it must not be drawn on.
+     *
+     * @param filename The path to the image. Generally one of the static paths of this class.
+     * @param x        The x coordinate of the top left corner of the part.
+     * @param y        The y coordinate of the top left corner of the part.
+     * @param width    The width of the part.
+     * @param height   The height of the part.
+     * @return The part of the image, or null if the image is not found.
+     * @throws IOException If the image cannot be read.
+     */
+    public static BufferedImage getImagePart(String filename, int x, int y, int width, int height) throws IOException {
+        String key = filename + "@" + x + "," + y + "," + width + "x" + height;
+        BufferedImage cached = IMAGE_PARTS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BufferedImage image = getImage(filename);
+        if (image == null) {
+            return null;
+        }
+        BufferedImage part = toCompatibleImage(image.getSubimage(x, y, width, height));
+        BufferedImage previous = IMAGE_PARTS.putIfAbsent(key, part);
+        return previous != null ? previous : part;
+    }
+
+    /**
+     * Copies an image into the pixel layout of the screen, so that Java2D can keep it in video memory and draw it with
+     * its fast loops instead of converting every pixel on each draw. Without a screen, the copy uses premultiplied
+     * ARGB pixels, which software drawing blends fastest. Parts of an image taken with {@code getSubimage} should be
+     * copied too, as they cannot be cached on their own; {@link #getImagePart} copies them once.
+     *
+     * @param image The image to copy.
+     * @return A copy of the image in a layout compatible with the screen, with the same size and transparency.
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image) {
+        BufferedImage compatible;
+        if (GraphicsEnvironment.isHeadless()) {
+            compatible = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            compatible = configuration.createCompatibleImage(image.getWidth(), image.getHeight(),
+                    image.getTransparency());
+        }
+        Graphics2D g = compatible.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return compatible;
+    }
+
+    /**
+     * Resamples a part of an image to the given size with bilinear filtering, into a new image compatible with the
+     * screen. Filtering is done on premultiplied pixels so that transparent edges do not darken. Shrinking by more than
+     * half is done in steps of halving the image, so that every source pixel still counts towards the result.
+     *
+     * @param image        The image holding the part to resample.
+     * @param x            The x coordinate of the top left corner of the part.
+     * @param y            The y coordinate of the top left corner of the part.
+     * @param width        The width of the part.
+     * @param height       The height of the part.
+     * @param scaledWidth  The width of the resampled image. Must be positive.
+     * @param scaledHeight The height of the resampled image. Must be positive.
+     * @return The resampled part of the image.
+     */
+    public static BufferedImage resample(BufferedImage image, int x, int y, int width, int height, int scaledWidth,
+                                         int scaledHeight) {
+        if (scaledWidth <= 0 || scaledHeight <= 0) {
+            throw new IllegalArgumentException("Size must be positive: " + scaledWidth + "x" + scaledHeight);
+        }
+        BufferedImage current = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D copy = current.createGraphics();
+        try {
+            copy.setComposite(AlphaComposite.Src);
+            copy.drawImage(image, 0, 0, width, height, x, y, x + width, y + height, null);
+        } finally {
+            copy.dispose();
+        }
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(scaledWidth, currentWidth > scaledWidth * 2 ? currentWidth / 2 : scaledWidth);
+            currentHeight = Math.max(scaledHeight, currentHeight > scaledHeight * 2 ? currentHeight / 2 : scaledHeight);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (currentWidth != scaledWidth || currentHeight != scaledHeight);
+        return toCompatibleImage(current);
     }
 
     /**
      * A static method that converts a file comprised of a matrix of integers into a 2d array for
      * the process of level building.
      *
-     * @param filename A file path to the level data. The provided file should be a matrix of integers.
-     * @return A 2d integer Array that represents the game world.
+     * @param filename A file path to the level data. The provided file should be a matrix of integers. Paths that are
+     *                 not found among the resources are read from the file system.
+     * @return A 2d integer Array that represents the game world. The level is read on the first request and shared
+     * afterwards, so the array must not be modified.
      */
     public static int[][] getLevel(String filename) {
+        return LEVELS.computeIfAbsent(filename, ResourceLoader::readLevel);
+    }
+
+    private static int[][] readLevel(String filename) {
         InputStream is = ResourceLoader.class.getResourceAsStream("/" + filename);
         ArrayList<String> lines = new ArrayList<>();
         try {
+            if (is == null && new File(filename).isFile()) {
+                is = new FileInputStream(filename);
+            }
             InputStreamReader isReader = new InputStreamReader(Objects.requireNonNull(is), StandardCharsets.UTF_8);
             BufferedReader reader = new BufferedReader(isReader);
             for (String line; (line = reader.readLine()) != null; ) {
@@ -91,7 +220,18 @@ public class ResourceLoader {
         return levelData;
     }
 
+    /**
+     * A static method that returns the TrueType font stored at one of the static paths of this class. The font is read
+     * on the first request and shared afterwards; fonts are immutable, so callers derive sized versions from it.
+     *
+     * @param filename The path to the font. Generally one of the static paths of this class.
+     * @return The font, at a size of 1 point.
+     */
     public static Font getFont(String filename){
+        return FONTS.computeIfAbsent(filename, ResourceLoader::readFont);
+    }
+
+    private static Font readFont(String filename) {
         InputStream is = ResourceLoader.class.getResourceAsStream("/" + filename);
         Font font = null;
         try {
@@ -103,4 +243,14 @@ public class ResourceLoader {
         }
         return font;
     }
+
+    /**
+     * Forgets every loaded image, level and font, so that the next request loads them again.
+     */
+    public static void clearCaches() {
+        IMAGES.clear();
+        IMAGE_PARTS.clear();
+        LEVELS.clear();
+        FONTS.clear();
+    }
 }
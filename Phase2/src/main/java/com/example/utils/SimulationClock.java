@@ -0,0 +1,59 @@
+package com.example.utils;
+
+/**
+ * The SimulationClock class holds the rate at which the world of one game session is updated. Movement and animation
+ * speeds of the entities were tuned for 144 updates per second; entities multiply them by {@link #getTickScale()} so
+ * that the game plays at the same speed whatever the update rate is. Each session owns its clock, so sessions running
+ * side by side may update at different rates.
+ */
+public class SimulationClock {
+    public static final int REFERENCE_TICKS_PER_SECOND = 144;
+    private volatile int ticksPerSecond;
+
+    /**
+     * Constructs a clock running at the reference rate of {@value #REFERENCE_TICKS_PER_SECOND} updates per second.
+     */
+    public SimulationClock() {
+        this(REFERENCE_TICKS_PER_SECOND);
+    }
+
+    /**
+     * Constructs a clock running at the given rate.
+     *
+     * @param ticksPerSecond The number of times per second the game world is updated. Must be positive.
+     */
+    public SimulationClock(int ticksPerSecond) {
+        setTicksPerSecond(ticksPerSecond);
+    }
+
+    /**
+     * Returns the number of times per second the game world is updated.
+     *
+     * @return The current update rate.
+     */
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    /**
+     * Sets the number of times per second the game world is updated.
+     *
+     * @param ticksPerSecond The new update rate. Must be positive.
+     */
+    public void setTicksPerSecond(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Ticks per second must be positive: " + ticksPerSecond);
+        }
+        this.ticksPerSecond = ticksPerSecond;
+    }
+
+    /**
+     * Returns how many reference updates a single update stands for. Speeds expressed per reference update are multiplied
+     * by this value to get the distance covered in one update at the current rate.
+     *
+     * @return 1 at 144 updates per second, 2.4 at 60 updates per second, and so on.
+     */
+    public float getTickScale() {
+        return (float) REFERENCE_TICKS_PER_SECOND / ticksPerSecond;
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Packs the frames of several sprite sheets into one image and keeps a table of the region of every frame, keyed by the
+ * sprite and the index of the frame. Drawing every entity from one image means one image object in memory instead of a
+ * sheet plus a copy of every frame, and lets Java2D keep drawing from the same cached texture.
+ * <p>
+ * Sheets are added with {@link #add(String, BufferedImage, int, int, int, int, boolean)} and then packed once with
+ * {@link #pack()}, row by row from the tallest frame to the shortest. Frames are numbered row by row within their
+ * sheet. The frames of a sheet can also be looked up from the sheet itself, which is how animations built from a sheet
+ * loaded by {@link ResourceLoader} find theirs. Sheets of sprites that face both ways can be packed with a mirrored copy
+ * of every frame, so that sprites facing left are drawn from their own frames rather than flipped while drawing.
+ * <p>
+ * Sprites drawn smaller or larger than their frames can be drawn from a copy of the atlas with every frame resampled to
+ * the size it is drawn at, returned by {@link #getScaled(float)}. The copy is made the first time a scale is asked for
+ * and kept for later calls, so a draw copies the frame pixel for pixel instead of scaling it again every frame.
+ * <p>
+ * {@link #getDefault()} returns an atlas of the sprites of the entities drawn on the Play screen, packed when it is
+ * first used.
+ */
+public class SpriteAtlas {
+    public static final int DEFAULT_MAX_WIDTH = 2048;
+
+    private final int maxWidth;
+    private final List<Sheet> sheets = new ArrayList<>();
+    private final HashMap<String, AtlasRegion[]> regionsBySprite = new HashMap<>();
+    private final HashMap<String, AtlasRegion[]> mirroredRegionsBySprite = new HashMap<>();
+    private final IdentityHashMap<BufferedImage, Sheet> sheetsByImage = new IdentityHashMap<>();
+    private final HashMap<Float, SpriteAtlas> scaledAtlases = new HashMap<>();
+    private BufferedImage image;
+
+    private static final class Sheet {
+        private final String sprite;
+        private final BufferedImage image;
+        private final int frameWidth;
+        private final int frameHeight;
+        private final int rows;
+        private final int columns;
+        private final boolean mirrored;
+
+        private Sheet(String sprite, BufferedImage image, int frameWidth, int frameHeight, int rows, int columns,
+                      boolean mirrored) {
+            this.sprite = sprite;
+            this.image = image;
+            this.frameWidth = frameWidth;
+            this.frameHeight = frameHeight;
+            this.rows = rows;
+            this.columns = columns;
+            this.mirrored = mirrored;
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final SpriteAtlas ATLAS = createDefault();
+    }
+
+    /**
+     * Constructs an empty atlas whose image is at most the given width.
+     *
+     * @param maxWidth The highest width of the packed image. Must be positive.
+     */
+    public SpriteAtlas(int maxWidth) {
+        if (maxWidth <= 0) {
+            throw new IllegalArgumentException("Max width must be positive: " + maxWidth);
+        }
+        this.maxWidth = maxWidth;
+    }
+
+    /**
+     * Adds the frames of a sprite sheet to the atlas, without mirrored frames. See
+     * {@link #add(String, BufferedImage, int, int, int, int, boolean)}.
+     *
+     * @param sprite      The key of the sprite, usually its resource path.
+     * @param sheet       The sprite sheet.
+     * @param frameWidth  The width of a frame. Must fit in the atlas.
+     * @param frameHeight The height of a frame.
+     * @param rows        The number of rows of frames to pack.
+     * @param columns     The number of frames per row to pack.
+     */
+    public void add(String sprite, BufferedImage sheet, int frameWidth, int frameHeight, int rows, int columns) {
+        add(sprite, sheet, frameWidth, frameHeight, rows, columns, false);
+    }
+
+    /**
+     * Adds the frames of a sprite sheet to the atlas. Only the given number of rows and columns of frames, starting at
+     * the top left corner of the sheet, are packed.
+     *
+     * @param sprite      The key of the sprite, usually its resource path.
+     * @param sheet       The sprite sheet.
+     * @param frameWidth  The width of a frame. Must fit in the atlas.
+     * @param frameHeight The height of a frame.
+     * @param rows        The number of rows of frames to pack.
+     * @param columns     The number of frames per row to pack.
+     * @param mirrored    True to also pack a copy of every frame mirrored from left to right.
+     */
+    public void add(String sprite, BufferedImage sheet, int frameWidth, int frameHeight, int rows, int columns,
+                    boolean mirrored) {
+        if (image != null) {
+            throw new IllegalStateException("The atlas is already packed");
+        }
+        if (regionsBySprite.containsKey(sprite)) {
+            throw new IllegalArgumentException("Sprite " + sprite + " is already in the atlas");
+        }
+        if (frameWidth <= 0 || frameHeight <= 0 || rows <= 0 || columns <= 0 || frameWidth > maxWidth
+                || frameWidth * columns > sheet.getWidth() || frameHeight * rows > sheet.getHeight()) {
+            throw new IllegalArgumentException("Sprite " + sprite + " has no " + rows + "x" + columns + " frames of "
+                    + frameWidth + "x" + frameHeight);
+        }
+        Sheet entry = new Sheet(sprite, sheet, frameWidth, frameHeight, rows, columns, mirrored);
+        sheets.add(entry);
+        regionsBySprite.put(sprite, new AtlasRegion[rows * columns]);
+        if (mirrored) {
+            mirroredRegionsBySprite.put(sprite, new AtlasRegion[rows * columns]);
+        }
+        sheetsByImage.put(sheet, entry);
+    }
+
+    /**
+     * Packs every added frame into the image of the atlas and fills the region table. Frames are placed on rows from
+     * left to right, sorted from the tallest to the shortest, and a new row is started when a frame no longer fits.
+     */
+    public void pack() {
+        if (image != null) {
+            throw new IllegalStateException("The atlas is already packed");
+        }
+        List<int[]> frames = new ArrayList<>();
+        for (int s = 0; s < sheets.size(); s++) {
+            Sheet sheet = sheets.get(s);
+            for (int frame = 0; frame < sheet.rows * sheet.columns; frame++) {
+                frames.add(new int[]{s, frame, 0});
+                if (sheet.mirrored) {
+                    frames.add(new int[]{s, frame, 1});
+                }
+            }
+        }
+        frames.sort(Comparator.comparingInt((int[] frame) -> -sheets.get(frame[0]).frameHeight));
+
+        int[][] positions = new int[frames.size()][];
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        int width = 1;
+        for (int i = 0; i < frames.size(); i++) {
+            Sheet sheet = sheets.get(frames.get(i)[0]);
+            if (x + sheet.frameWidth > maxWidth) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            positions[i] = new int[]{x, y};
+            x += sheet.frameWidth;
+            width = Math.max(width, x);
+            rowHeight = Math.max(rowHeight, sheet.frameHeight);
+        }
+        int height = Math.max(1, y + rowHeight);
+
+        BufferedImage packed = ResourceLoader.toCompatibleImage(
+                new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+        Graphics2D g = packed.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            for (int i = 0; i < frames.size(); i++) {
+                Sheet sheet = sheets.get(frames.get(i)[0]);
+                int frame = frames.get(i)[1];
+                int sourceX = frame % sheet.columns * sheet.frameWidth;
+                int sourceY = frame / sheet.columns * sheet.frameHeight;
+                int destX = positions[i][0];
+                int destY = positions[i][1];
+                boolean mirrored = frames.get(i)[2] == 1;
+                // A mirrored frame is copied with its left and right edges swapped.
+                int leftX = mirrored ? destX + sheet.frameWidth : destX;
+                int rightX = mirrored ? destX : destX + sheet.frameWidth;
+                g.drawImage(sheet.image, leftX, destY, rightX, destY + sheet.frameHeight,
+                        sourceX, sourceY, sourceX + sheet.frameWidth, sourceY + sheet.frameHeight, null);
+                AtlasRegion[] regions = mirrored ? mirroredRegionsBySprite.get(sheet.sprite)
+                        : regionsBySprite.get(sheet.sprite);
+                regions[frame] = new AtlasRegion(packed, destX, destY, sheet.frameWidth, sheet.frameHeight);
+            }
+        } finally {
+            g.dispose();
+        }
+        image = packed;
+    }
+
+    /**
+     * Returns the region of a frame of a sprite.
+     *
+     * @param sprite The key the sprite was added with.
+     * @param frame  The index of the frame, counted row by row within the sheet.
+     * @return The region of the frame, or null if the sprite is not in the packed atlas or has no such frame.
+     */
+    public AtlasRegion getRegion(String sprite, int frame) {
+        AtlasRegion[] regions = regionsBySprite.get(sprite);
+        if (image == null || regions == null || frame < 0 || frame >= regions.length) {
+            return null;
+        }
+        return regions[frame];
+    }
+
+    /**
+     * Returns the region of the mirrored copy of a frame of a sprite.
+     *
+     * @param sprite The key the sprite was added with.
+     * @param frame  The index of the frame, counted row by row within the sheet.
+     * @return The region of the mirrored frame, or null if the sprite is not in the packed atlas, was added without
+     * mirrored frames or has no such frame.
+     */
+    public AtlasRegion getMirroredRegion(String sprite, int frame) {
+        AtlasRegion[] regions = mirroredRegionsBySprite.get(sprite);
+        if (image == null || regions == null || frame < 0 || frame >= regions.length) {
+            return null;
+        }
+        return regions[frame];
+    }
+
+    /**
+     * Returns the regions of the mirrored copies of the frames cut from a sprite sheet, if the sheet was added to this
+     * atlas with mirrored frames of the given size.
+     *
+     * @param sheet       The sprite sheet, compared by identity.
+     * @param frameWidth  The width of a frame.
+     * @param frameHeight The height of a frame.
+     * @return The regions of the mirrored frames of the sheet, row by row, or null if the sheet is not packed with
+     * mirrored frames of that size.
+     */
+    public AtlasRegion[] getMirroredFrames(BufferedImage sheet, int frameWidth, int frameHeight) {
+        Sheet entry = sheetsByImage.get(sheet);
+        if (image == null || entry == null || entry.frameWidth != frameWidth || entry.frameHeight != frameHeight) {
+            return null;
+        }
+        return mirroredRegionsBySprite.get(entry.sprite);
+    }
+
+    /**
+     * Returns the regions of the frames cut from a sprite sheet, if the sheet was added to this atlas with frames of
+     * the given size.
+     *
+     * @param sheet       The sprite sheet, compared by identity.
+     * @param frameWidth  The width of a frame.
+     * @param frameHeight The height of a frame.
+     * @return The regions of the frames of the sheet, row by row, or null if the sheet is not packed with frames of
+     * that size.
+     */
+    public AtlasRegion[] getFrames(BufferedImage sheet, int frameWidth, int frameHeight) {
+        Sheet entry = sheetsByImage.get(sheet);
+        if (image == null || entry == null || entry.frameWidth != frameWidth || entry.frameHeight != frameHeight) {
+            return null;
+        }
+        return regionsBySprite.get(entry.sprite);
+    }
+
+    /**
+     * Returns the regions of the frames cut from a sprite sheet in the copy of this atlas resampled to the given scale,
+     * if the sheet was added to this atlas with frames of the given size. See {@link #getScaled(float)}.
+     *
+     * @param sheet       The sprite sheet, compared by identity.
+     * @param frameWidth  The width of a frame in the sheet.
+     * @param frameHeight The height of a frame in the sheet.
+     * @param scale       The scale the frames are drawn at. Must be positive.
+     * @param mirrored    True for the mirrored copies of the frames, false for the frames as they are in the sheet.
+     * @return The regions of the resampled frames of the sheet, row by row, or null if the sheet is not packed with
+     * frames of that size, or without mirrored frames when they are asked for.
+     */
+    public AtlasRegion[] getFrames(BufferedImage sheet, int frameWidth, int frameHeight, float scale,
+                                   boolean mirrored) {
+        Sheet entry = sheetsByImage.get(sheet);
+        if (image == null || entry == null || entry.frameWidth != frameWidth || entry.frameHeight != frameHeight) {
+            return null;
+        }
+        SpriteAtlas scaled = getScaled(scale);
+        return mirrored ? scaled.mirroredRegionsBySprite.get(entry.sprite) : scaled.regionsBySprite.get(entry.sprite);
+    }
+
+    /**
+     * Returns a copy of this atlas with every frame resampled to the given scale, keyed by the same sprites and frame
+     * indexes. Frames are resampled one by one with {@link ResourceLoader#resample}, so that no frame bleeds into its
+     * neighbours, and are then packed like the frames of this atlas. The copy is made on the first call for a scale and
+     * shared afterwards.
+     *
+     * @param scale The scale to resample the frames to. Must be positive.
+     * @return The resampled atlas, or this atlas for a scale of 1.
+     */
+    public synchronized SpriteAtlas getScaled(float scale) {
+        if (image == null) {
+            throw new IllegalStateException("The atlas is not packed yet");
+        }
+        if (!(scale > 0)) {
+            throw new IllegalArgumentException("Scale must be positive: " + scale);
+        }
+        if (scale == 1f) {
+            return this;
+        }
+        SpriteAtlas scaled = scaledAtlases.get(scale);
+        if (scaled == null) {
+            scaled = new SpriteAtlas(maxWidth);
+            for (Sheet sheet : sheets) {
+                int width = Math.max(1, Math.round(sheet.frameWidth * scale));
+                int height = Math.max(1, Math.round(sheet.frameHeight * scale));
+                BufferedImage scaledSheet = ResourceLoader.toCompatibleImage(new BufferedImage(width * sheet.columns,
+                        height * sheet.rows, BufferedImage.TYPE_INT_ARGB));
+                Graphics2D g = scaledSheet.createGraphics();
+                try {
+                    g.setComposite(AlphaComposite.Src);
+                    for (int row = 0; row < sheet.rows; row++) {
+                        for (int column = 0; column < sheet.columns; column++) {
+                            g.drawImage(ResourceLoader.resample(sheet.image, column * sheet.frameWidth,
+                                    row * sheet.frameHeight, sheet.frameWidth, sheet.frameHeight, width, height),
+                                    column * width, row * height, null);
+                        }
+                    }
+                } finally {
+                    g.dispose();
+                }
+                scaled.add(sheet.sprite, scaledSheet, width, height, sheet.rows, sheet.columns, sheet.mirrored);
+            }
+            scaled.pack();
+            scaledAtlases.put(scale, scaled);
+        }
+        return scaled;
+    }
+
+    /**
+     * Returns the packed image holding every frame.
+     *
+     * @return The image of the atlas, or null if it has not been packed yet.
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * Returns the number of frames in the region table, mirrored copies included.
+     *
+     * @return The number of regions.
+     */
+    public int getRegionCount() {
+        int count = 0;
+        for (AtlasRegion[] regions : regionsBySprite.values()) {
+            count += regions.length;
+        }
+        for (AtlasRegion[] regions : mirroredRegionsBySprite.values()) {
+            count += regions.length;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the atlas of the knight, goblin, dynamite, meat, gold, tree and house sprites, with the frames the game
+     * cuts from them and mirrored frames of the knight and goblin. It is loaded and packed on the first call and shared
+     * afterwards.
+     *
+     * @return The atlas of the entity sprites.
+     */
+    public static SpriteAtlas getDefault() {
+        return DefaultHolder.ATLAS;
+    }
+
+    private static SpriteAtlas createDefault() {
+        SpriteAtlas atlas = new SpriteAtlas(DEFAULT_MAX_WIDTH);
+        try {
+            // The animated sheets are cut into two rows of six frames, and the other sprites are drawn whole. The knight
+            // and goblins face the way they move, so their frames are packed mirrored as well.
+            atlas.add(ResourceLoader.KNIGHT_PATH, ResourceLoader.getImage(ResourceLoader.KNIGHT_PATH), 192, 192, 2, 6,
+                    true);
+            atlas.add(ResourceLoader.GOBLIN_PATH, ResourceLoader.getImage(ResourceLoader.GOBLIN_PATH), 192, 192, 2, 6,
+                    true);
+            atlas.add(ResourceLoader.TNT_PATH, ResourceLoader.getImage(ResourceLoader.TNT_PATH), 128, 128, 2, 6);
+            addWhole(atlas, ResourceLoader.MEAT_PATH);
+            addWhole(atlas, ResourceLoader.GOLD_PATH);
+            addWhole(atlas, ResourceLoader.TREES2_PATH);
+            addWhole(atlas, ResourceLoader.END_HOUSE_PATH);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        atlas.pack();
+        return atlas;
+    }
+
+    private static void addWhole(SpriteAtlas atlas, String path) throws IOException {
+        BufferedImage sheet = ResourceLoader.getImage(path);
+        atlas.add(path, sheet, sheet.getWidth(), sheet.getHeight(), 1, 1);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.entities;
 
+import com.example.utils.AtlasRegion;
 import com.example.utils.ResourceLoader;
+import com.example.utils.SimulationClock;
 import org.junit.jupiter.api.*;
 
 import java.awt.image.BufferedImage;
@@ -75,6 +77,21 @@ public class AnimationTest {
         assertEquals(123, animation.getCurrentFrame());
     }
 
+    @Test
+    public void updateFollowsTickRateChangeTest() {
+        SimulationClock clock = new SimulationClock();
+        animation.setClock(clock);
+        animation.update(0);
+        clock.setTicksPerSecond(72);
+        // Each update at 72 per second stands for 2 reference updates, so the 11 reference updates left take 5.5 more.
+        for (int i = 0; i < 5; i++) {
+            animation.update(0);
+        }
+        assertEquals(0, animation.getCurrentFrame());
+        animation.update(0);
+        assertEquals(1, animation.getCurrentFrame());
+    }
+
     @Test
     public void getAnimationSpeedTest() {
         int expected = 12;
@@ -95,4 +112,38 @@ public class AnimationTest {
         int actual = animation.getANIMATION_DEFAULT_SPEED();
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void mirroredRegionTest() {
+        BufferedImage sheet = new BufferedImage(120, 40, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < 120; x++) {
+            for (int y = 0; y < 40; y++) {
+                sheet.setRGB(x, y, 0xFF000000 | x);
+            }
+        }
+        Animation unpacked = new Animation(new GameImage(sheet, 20, 20));
+        BufferedImage frame = unpacked.getCurrentRegion(false).getImage();
+        BufferedImage mirrored = unpacked.getCurrentRegion(true).getImage();
+        for (int x = 0; x < 20; x++) {
+            assertEquals(frame.getRGB(x, 5), mirrored.getRGB(19 - x, 5));
+        }
+        assertSame(mirrored, new Animation(new GameImage(sheet, 20, 20)).getCurrentRegion(true).getImage());
+        assertNotSame(animation.getCurrentRegion(false), animation.getCurrentRegion(true));
+    }
+
+    @Test
+    public void scaledRegionTest() {
+        AtlasRegion region = animation.getCurrentRegion(false, GameEntity.DEFAULT_RENDER_SCALE);
+        assertEquals(128, region.getWidth());
+        assertEquals(128, region.getHeight());
+        assertSame(region, animation.getCurrentRegion(false, GameEntity.DEFAULT_RENDER_SCALE));
+        assertEquals(128, animation.getCurrentRegion(true, GameEntity.DEFAULT_RENDER_SCALE).getWidth());
+        assertEquals(96, animation.getCurrentRegion(false, 0.5f).getWidth());
+        assertSame(animation.getCurrentRegion(false), animation.getCurrentRegion(false, 1f));
+
+        BufferedImage sheet = new BufferedImage(120, 40, BufferedImage.TYPE_INT_ARGB);
+        Animation unpacked = new Animation(new GameImage(sheet, 20, 20));
+        assertEquals(10, unpacked.getCurrentRegion(true, 0.5f).getWidth());
+        assertThrows(IllegalArgumentException.class, () -> unpacked.getCurrentRegion(false, -1f));
+    }
 }
@@ -7,6 +7,7 @@ import com.example.levels.Board;
 import com.example.utils.EntityStates;
 import com.example.utils.Position;
 import com.example.utils.ResourceLoader;
+import com.example.utils.SimulationClock;
 import org.junit.jupiter.api.*;
 import org.mockito.MockitoAnnotations;
 
@@ -52,6 +53,20 @@ public class GoblinTest {
     }
 
 
+    @Test
+    public void updateScalesWithTickRate() {
+        goblin.setClock(new SimulationClock(60));
+        float x = goblin.getCollisionBox().x;
+        float y = goblin.getCollisionBox().y;
+        goblin.setEnraged(true);
+        goblin.update();
+        float dx = Math.abs(goblin.getCollisionBox().x - x);
+        float dy = Math.abs(goblin.getCollisionBox().y - y);
+        // One update at 60 per second covers the distance of 2.4 updates at 144 per second.
+        assertEquals(2.4f, Math.max(dx, dy), 0.0001f);
+    }
+
+
     @Test
     public void isEnraged() {
         boolean expected = false;
@@ -0,0 +1,75 @@
+package com.example.game;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSettingsTest {
+	private GameSettings settings;
+
+	@BeforeEach
+	void setup() {
+		settings = new GameSettings();
+	}
+
+	@Test
+	public void defaultsTest() {
+		assertEquals(144, settings.getUpdatesPerSecond());
+		assertEquals(144, settings.getFramesPerSecond());
+		assertEquals(FramePacing.CAPPED, settings.getFramePacing());
+		assertTrue(settings.isActiveRendering());
+		assertEquals(2, settings.getBufferCount());
+		assertTrue(settings.isRenderThread());
+		assertEquals(5, settings.getMaxUpdatesPerFrame());
+		assertFalse(settings.isProfileReportOnExit());
+		assertEquals(0f, settings.getOverlayDim());
+		assertEquals(0, settings.getOverlayBlurRadius());
+		assertFalse(settings.isAdaptiveQuality());
+		assertEquals(QualityTier.HIGH, settings.getQualityTier());
+		assertEquals(1f, settings.getRenderResolution());
+	}
+
+	@Test
+	public void fromSystemPropertiesTest() {
+		System.setProperty("game.updatesPerSecond", "60");
+		System.setProperty("game.framePacing", "UNCAPPED");
+		System.setProperty("game.renderThread", "false");
+		System.setProperty("game.qualityTier", "LOW");
+		System.setProperty("game.renderResolution", "0.5");
+		try {
+			GameSettings fromProperties = GameSettings.fromSystemProperties();
+			assertEquals(60, fromProperties.getUpdatesPerSecond());
+			assertEquals(FramePacing.UNCAPPED, fromProperties.getFramePacing());
+			assertEquals(144, fromProperties.getFramesPerSecond());
+			assertFalse(fromProperties.isRenderThread());
+			assertEquals(QualityTier.LOW, fromProperties.getQualityTier());
+			assertEquals(0.5f, fromProperties.getRenderResolution());
+		} finally {
+			System.clearProperty("game.updatesPerSecond");
+			System.clearProperty("game.framePacing");
+			System.clearProperty("game.renderThread");
+			System.clearProperty("game.qualityTier");
+			System.clearProperty("game.renderResolution");
+		}
+	}
+
+	@Test
+	public void invalidValuesTest() {
+		assertThrows(IllegalArgumentException.class, () -> settings.setUpdatesPerSecond(0));
+		assertThrows(IllegalArgumentException.class, () -> settings.setFramesPerSecond(-5));
+		assertThrows(IllegalArgumentException.class, () -> settings.setBufferCount(1));
+		assertThrows(IllegalArgumentException.class, () -> settings.setBufferCount(4));
+		assertThrows(IllegalArgumentException.class, () -> settings.setMaxUpdatesPerFrame(0));
+		assertThrows(IllegalArgumentException.class, () -> settings.setOverlayDim(1.5f));
+		assertThrows(IllegalArgumentException.class, () -> settings.setOverlayBlurRadius(-1));
+		assertThrows(IllegalArgumentException.class, () -> settings.setQualityTier(null));
+		assertThrows(IllegalArgumentException.class, () -> settings.setRenderResolution(0f));
+		assertThrows(IllegalArgumentException.class, () -> settings.setRenderResolution(1.25f));
+	}
+
+	@Test
+	public void setBufferCountTest() {
+		settings.setBufferCount(3);
+		assertEquals(3, settings.getBufferCount());
+	}
+}
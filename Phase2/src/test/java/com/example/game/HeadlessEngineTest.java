@@ -0,0 +1,109 @@
+package com.example.game;
+
+import com.example.gamestate.Gamestate;
+import com.example.utils.ResourceLoader;
+import org.junit.jupiter.api.*;
+
+import java.awt.event.KeyEvent;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeadlessEngineTest {
+	private HeadlessEngine engine;
+
+	@BeforeEach
+	void setup() {
+		engine = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH);
+	}
+
+	@Test
+	public void runTest() {
+		assertEquals(Gamestate.PLAYING, engine.getCurrentState());
+		assertEquals(500, engine.run(500));
+		assertEquals(500, engine.getTicks());
+	}
+
+	@Test
+	public void scriptedInputTest() {
+		InputScript script = InputScript.parse("0:+S,20:-S");
+		engine = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH, script);
+		float y = engine.getPlay().getPlayer().getCollisionBox().y;
+		engine.run(20);
+		float moved = engine.getPlay().getPlayer().getCollisionBox().y;
+		assertTrue(moved > y);
+		engine.run(40);
+		assertEquals(moved, engine.getPlay().getPlayer().getCollisionBox().y);
+	}
+
+	@Test
+	public void pauseTest() {
+		InputScript script = new InputScript().press(0, KeyEvent.VK_ESCAPE).press(0, KeyEvent.VK_S);
+		engine = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH, script);
+		float y = engine.getPlay().getPlayer().getCollisionBox().y;
+		engine.run(20);
+		assertEquals(Gamestate.PAUSE, engine.getCurrentState());
+		assertEquals(y, engine.getPlay().getPlayer().getCollisionBox().y);
+		engine.pressKey(KeyEvent.VK_ESCAPE);
+		assertTrue(engine.isCurrentState(Gamestate.PLAYING));
+	}
+
+	@Test
+	public void defeatStopsSimulationTest() {
+		engine = new HeadlessEngine(ResourceLoader.LEVEL_TEST_PATH);
+		long ticks = engine.run(HeadlessEngine.DEFAULT_MAX_TICKS);
+		assertTrue(engine.isFinished());
+		assertEquals(Gamestate.DEFEAT, engine.getCurrentState());
+		engine.step();
+		assertEquals(ticks, engine.getTicks());
+	}
+
+	@Test
+	public void invalidScriptTest() {
+		assertThrows(IllegalArgumentException.class, () -> InputScript.parse("0:+Q"));
+		assertThrows(IllegalArgumentException.class, () -> InputScript.parse("10"));
+		assertThrows(IllegalArgumentException.class, () -> InputScript.parse("-1:+W"));
+		assertEquals(0, InputScript.parse("").size());
+	}
+
+	/**
+	 * Builds an open square level bordered by trees, with the knight in the top left corner and a goblin every few cells.
+	 */
+	static int[][] goblinField(int size, int spacing) {
+		int[][] level = new int[size][size];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				boolean border = i == 0 || j == 0 || i == size - 1 || j == size - 1;
+				if (border) {
+					level[i][j] = 1;
+				} else if (i % spacing == 0 && j % spacing == 0 && i + j > 6) {
+					level[i][j] = 7;
+				}
+			}
+		}
+		level[1][1] = 2;
+		return level;
+	}
+
+	@Test
+	public void parallelGoblinsMatchSequentialTest() {
+		int[][] level = goblinField(42, 4);
+		HeadlessEngine sequential = new HeadlessEngine(level, InputScript.parse("0:+S,0:+D,300:-S"));
+		sequential.getPlay().setParallelGoblinThreshold(Integer.MAX_VALUE);
+		HeadlessEngine parallel = new HeadlessEngine(level, InputScript.parse("0:+S,0:+D,300:-S"));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			parallel.getPlay().setGoblinPool(pool);
+			parallel.getPlay().setParallelGoblinThreshold(1);
+			for (int i = 0; i < 1500 && !sequential.isFinished(); i++) {
+				sequential.step();
+				parallel.step();
+				assertEquals(sequential.getPlay().getStateChecksum(), parallel.getPlay().getStateChecksum());
+			}
+			assertEquals(sequential.getCurrentState(), parallel.getCurrentState());
+			assertEquals(sequential.getTicks(), parallel.getTicks());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
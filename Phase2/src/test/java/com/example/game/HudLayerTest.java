@@ -0,0 +1,98 @@
+package com.example.game;
+
+import org.junit.jupiter.api.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HudLayerTest {
+	private Scoreboard scoreboard;
+	private HudLayer hud;
+	private BufferedImage screen;
+
+	@BeforeEach
+	void setup() {
+		scoreboard = new Scoreboard(3);
+		hud = new HudLayer(new HelpBanner(), new GameTimer(), scoreboard, new HelpInformation());
+		screen = new BufferedImage(1250, 875, BufferedImage.TYPE_INT_RGB);
+	}
+
+	private void render() {
+		Graphics g = screen.getGraphics();
+		hud.render(g);
+		g.dispose();
+	}
+
+	@Test
+	public void redrawsOnlyOnChangeTest() {
+		render();
+		render();
+		assertEquals(1, hud.getRedraws());
+		scoreboard.updateCurrentScore(10);
+		render();
+		render();
+		assertEquals(2, hud.getRedraws());
+		scoreboard.incrementMeatCount();
+		render();
+		scoreboard.resetScores(4);
+		render();
+		assertEquals(4, hud.getRedraws());
+		hud.invalidate();
+		render();
+		assertEquals(5, hud.getRedraws());
+	}
+
+	@Test
+	public void refreshIntervalHoldsBackChangesTest() {
+		hud.setRefreshFrames(3);
+		render();
+		scoreboard.updateCurrentScore(10);
+		render();
+		render();
+		assertEquals(1, hud.getRedraws());
+		render();
+		assertEquals(2, hud.getRedraws());
+		hud.invalidate();
+		render();
+		assertEquals(3, hud.getRedraws());
+		assertThrows(IllegalArgumentException.class, () -> hud.setRefreshFrames(0));
+	}
+
+	@Test
+	public void drawsGivenValuesTest() {
+		Graphics g = screen.getGraphics();
+		hud.render(g, 5, 20, 1, 3);
+		scoreboard.updateCurrentScore(50);
+		hud.render(g, 5, 20, 1, 3);
+		assertEquals(1, hud.getRedraws());
+		BufferedImage first = copy(screen);
+		hud.render(g, 6, 20, 1, 3);
+		assertEquals(2, hud.getRedraws());
+		hud.render(g, 5, 20, 1, 3);
+		g.dispose();
+		assertEquals(3, hud.getRedraws());
+		for (int y = 0; y < HudLayer.HEIGHT; y++) {
+			for (int x = 0; x < HudLayer.WIDTH; x++) {
+				assertEquals(first.getRGB(x, y), screen.getRGB(x, y));
+			}
+		}
+	}
+
+	private static BufferedImage copy(BufferedImage image) {
+		BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+		Graphics g = copy.getGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return copy;
+	}
+
+	@Test
+	public void drawsOnlyInTopLeftCornerTest() {
+		render();
+		assertNotEquals(0, screen.getRGB(20, 20) & 0xFFFFFF);
+		assertEquals(0, screen.getRGB(HudLayer.WIDTH + 1, 20) & 0xFFFFFF);
+		assertEquals(0, screen.getRGB(20, HudLayer.HEIGHT + 1) & 0xFFFFFF);
+	}
+}
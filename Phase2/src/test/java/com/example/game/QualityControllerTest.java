@@ -0,0 +1,74 @@
+package com.example.game;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QualityControllerTest {
+	private static final long BUDGET = 7_000_000L;
+	private QualityController controller;
+
+	@BeforeEach
+	void setup() {
+		controller = new QualityController(BUDGET, QualityTier.HIGH, 10, true);
+	}
+
+	private void record(int frames, long frameNanos) {
+		for (int i = 0; i < frames; i++) {
+			controller.record(frameNanos);
+		}
+	}
+
+	@Test
+	public void stepsDownUnderPressureTest() {
+		record(9, 2 * BUDGET);
+		assertEquals(QualityTier.HIGH, controller.getTier());
+		record(1, 2 * BUDGET);
+		assertEquals(QualityTier.BALANCED, controller.getTier());
+		assertEquals(2.0, controller.getLoad(), 1e-9);
+		record(10, 12 * BUDGET / 10);
+		assertEquals(QualityTier.LOW, controller.getTier());
+		record(50, 12 * BUDGET / 10);
+		assertEquals(QualityTier.LOW, controller.getTier());
+		assertEquals(0.6, controller.getLoad(), 1e-9);
+		assertEquals(2, controller.getStepsDown());
+		assertEquals(0, controller.getStepsUp());
+	}
+
+	@Test
+	public void stepsBackUpWithHeadroomTest() {
+		record(20, 2 * BUDGET);
+		assertEquals(QualityTier.LOW, controller.getTier());
+		record(10, BUDGET / 2);
+		assertEquals(QualityTier.BALANCED, controller.getTier());
+		record(10, BUDGET / 2);
+		assertEquals(QualityTier.HIGH, controller.getTier());
+		record(10, 9 * BUDGET / 10);
+		assertEquals(QualityTier.HIGH, controller.getTier());
+		assertEquals(2, controller.getStepsUp());
+		assertTrue(controller.report().startsWith("quality HIGH, budget 7.00 ms"));
+	}
+
+	@Test
+	public void fixedTierOnlyMeasuresTest() {
+		QualityController fixed = new QualityController(BUDGET, QualityTier.BALANCED, 10, false);
+		for (int i = 0; i < 30; i++) {
+			fixed.record(3 * BUDGET);
+		}
+		assertEquals(QualityTier.BALANCED, fixed.getTier());
+		assertEquals(3.0, fixed.getLoad(), 1e-9);
+		assertFalse(fixed.isAdaptive());
+		assertEquals(BUDGET, fixed.getBudgetNanos());
+	}
+
+	@Test
+	public void tiersAreOrderedTest() {
+		assertEquals(QualityTier.HIGH, QualityTier.HIGH.higher());
+		assertEquals(QualityTier.LOW, QualityTier.LOW.lower());
+		assertEquals(QualityTier.BALANCED, QualityTier.HIGH.lower());
+		assertTrue(QualityTier.LOW.getFrameInterval() > QualityTier.HIGH.getFrameInterval());
+		assertTrue(QualityTier.LOW.getHudRefreshFrames() > QualityTier.HIGH.getHudRefreshFrames());
+		assertThrows(IllegalArgumentException.class, () -> new QualityController(0, QualityTier.HIGH));
+		assertThrows(IllegalArgumentException.class, () -> new QualityController(BUDGET, QualityTier.HIGH, 0, true));
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.game;
+
+import com.example.gamestate.Play;
+import com.example.utils.ResourceLoader;
+import org.junit.jupiter.api.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SceneSnapshotTest {
+	private Play play;
+	private BufferedImage screen;
+
+	@BeforeEach
+	void setup() {
+		play = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH).getPlay();
+		screen = new BufferedImage(1250, 875, BufferedImage.TYPE_INT_RGB);
+	}
+
+	private void render(SceneSnapshot snapshot) {
+		Graphics g = screen.getGraphics();
+		snapshot.render(g, play);
+		g.dispose();
+	}
+
+	@Test
+	public void capturesOnceTest() {
+		SceneSnapshot snapshot = new SceneSnapshot(1250, 875);
+		assertFalse(snapshot.isValid());
+		render(snapshot);
+		render(snapshot);
+		assertTrue(snapshot.isValid());
+		assertEquals(1, snapshot.getCaptures());
+
+		BufferedImage live = new BufferedImage(1250, 875, BufferedImage.TYPE_INT_RGB);
+		Graphics g = live.getGraphics();
+		play.render(g);
+		g.dispose();
+		assertEquals(live.getRGB(600, 400), screen.getRGB(600, 400));
+
+		snapshot.invalidate();
+		render(snapshot);
+		assertEquals(2, snapshot.getCaptures());
+	}
+
+	@Test
+	public void dimTest() {
+		render(new SceneSnapshot(1250, 875));
+		int bright = screen.getRGB(600, 400);
+		render(new SceneSnapshot(1250, 875, 0.5f, 0));
+		int dimmed = screen.getRGB(600, 400);
+		assertTrue((dimmed >> 8 & 0xFF) < (bright >> 8 & 0xFF));
+		render(new SceneSnapshot(1250, 875, 1f, 2));
+		assertEquals(0, screen.getRGB(600, 400) & 0xFFFFFF);
+	}
+
+	@Test
+	public void invalidSnapshotTest() {
+		assertThrows(IllegalArgumentException.class, () -> new SceneSnapshot(0, 875));
+		assertThrows(IllegalArgumentException.class, () -> new SceneSnapshot(1250, 875, -0.1f, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SceneSnapshot(1250, 875, 0f, -1));
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.game;
+
+import com.example.utils.ResourceLoader;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionHostTest {
+	private SessionHost host;
+
+	@BeforeEach
+	void setup() {
+		host = new SessionHost(8, ResourceLoader.LEVEL_ONE_PATH, () -> InputScript.parse("0:+S,0:+D,150:-S"));
+	}
+
+	@Test
+	public void runAllSessionsTest() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			assertEquals(8 * 300, host.run(300, executor));
+		} finally {
+			executor.shutdown();
+		}
+		long checksum = host.getSession(0).getPlay().getStateChecksum();
+		for (int i = 0; i < host.getSessionCount(); i++) {
+			assertEquals(300, host.getSession(i).getTicks());
+			assertEquals(checksum, host.getSession(i).getPlay().getStateChecksum());
+			assertTrue(host.getSessionTicksPerSecond(i) > 0);
+		}
+		assertTrue(host.getTotalTicksPerSecond() > 0);
+		assertTrue(host.report().startsWith("8 sessions"));
+	}
+
+	@Test
+	public void sessionsShareLevelTest() {
+		assertNotSame(host.getSession(0).getPlay(), host.getSession(1).getPlay());
+		assertSame(ResourceLoader.getLevel(ResourceLoader.LEVEL_ONE_PATH),
+				ResourceLoader.getLevel(ResourceLoader.LEVEL_ONE_PATH));
+	}
+
+	@Test
+	public void sessionsKeepTheirOwnRateTest() throws InterruptedException {
+		SessionHost sessions = new SessionHost(2, ResourceLoader.LEVEL_ONE_PATH, () -> InputScript.parse("0:+D"));
+		sessions.setSessionTicksPerSecond(1, 72);
+		float startX = sessions.getSession(0).getPlay().getPlayer().getCollisionBox().x;
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			sessions.run(10, executor);
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(144, sessions.getSession(0).getTicksPerSecond());
+		assertEquals(72, sessions.getSession(1).getTicksPerSecond());
+		float fullRate = sessions.getSession(0).getPlay().getPlayer().getCollisionBox().x - startX;
+		float halfRate = sessions.getSession(1).getPlay().getPlayer().getCollisionBox().x - startX;
+		assertTrue(fullRate > 0);
+		// A tick at 72 per second stands for two ticks at 144 per second, so the knight covers twice the distance.
+		assertEquals(2 * fullRate, halfRate, 0.001f);
+		for (int i = 0; i < 2; i++) {
+			float x = sessions.getSession(i).getPlay().getPlayer().getCollisionBox().x;
+			sessions.getSession(i).step();
+			float step = sessions.getSession(i).getPlay().getPlayer().getCollisionBox().x - x;
+			assertEquals(i == 0 ? fullRate / 10 : halfRate / 10, step, 0.001f);
+		}
+	}
+
+	@Test
+	public void invalidSessionCountTest() {
+		assertThrows(IllegalArgumentException.class, () ->
+				new SessionHost(0, ResourceLoader.LEVEL_ONE_PATH, InputScript::new));
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.game;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickSchedulerTest {
+	private TickScheduler scheduler;
+
+	@BeforeEach
+	void setup() {
+		scheduler = new TickScheduler(200);
+	}
+
+	@Test
+	public void getPeriodNanosTest() {
+		assertEquals(5_000_000L, scheduler.getPeriodNanos());
+		scheduler.setTicksPerSecond(100);
+		assertEquals(10_000_000L, scheduler.getPeriodNanos());
+	}
+
+	@Test
+	public void invalidRateTest() {
+		assertThrows(IllegalArgumentException.class, () -> scheduler.setTicksPerSecond(0));
+		assertThrows(IllegalArgumentException.class, () -> new TickScheduler(-1));
+	}
+
+	private void parkUntilNextTick() {
+		scheduler.parkUntil(scheduler.getNextTickTime());
+		scheduler.advance();
+	}
+
+	@Test
+	public void parkUntilTest() {
+		long start = System.nanoTime();
+		scheduler.start();
+		for (int i = 0; i < 20; i++) {
+			parkUntilNextTick();
+		}
+		long elapsed = System.nanoTime() - start;
+		// 20 ticks at 200 per second should take 100ms, never less.
+		assertTrue(elapsed >= 100_000_000L);
+		assertTrue(elapsed < 1_000_000_000L);
+	}
+
+	@Test
+	public void deadlinesDoNotDriftTest() {
+		scheduler.start();
+		long firstDeadline = scheduler.getNextTickTime();
+		for (int i = 0; i < 10; i++) {
+			parkUntilNextTick();
+		}
+		assertEquals(firstDeadline + 10 * scheduler.getPeriodNanos(), scheduler.getNextTickTime());
+	}
+
+	@Test
+	public void getIdleRatioTest() {
+		scheduler.start();
+		for (int i = 0; i < 10; i++) {
+			parkUntilNextTick();
+		}
+		double idle = scheduler.getIdleRatio();
+		assertTrue(idle > 0.5);
+		assertTrue(idle <= 1.0);
+	}
+
+	@Test
+	public void dropDueTicksTest() {
+		scheduler.start();
+		long deadline = scheduler.getNextTickTime();
+		long period = scheduler.getPeriodNanos();
+		assertEquals(0, scheduler.getDueTicks(deadline - 1));
+		assertEquals(1, scheduler.getDueTicks(deadline));
+		assertEquals(4, scheduler.getDueTicks(deadline + 3 * period + 1));
+		assertEquals(4, scheduler.dropDueTicks(deadline + 3 * period + 1));
+		assertEquals(deadline + 4 * period, scheduler.getNextTickTime());
+		assertEquals(0, scheduler.dropDueTicks(deadline + 3 * period + 1));
+	}
+}
@@ -0,0 +1,113 @@
+package com.example.gamestate;
+
+import com.example.game.HeadlessEngine;
+import com.example.metrics.Phase;
+import com.example.utils.ResourceLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SceneBufferTest {
+    private static final int HUD_HEIGHT = 200;
+    private static final int TEXT_RGB = new Color(59, 68, 75).getRGB();
+
+    private Play play;
+
+    @BeforeEach
+    void setUp() {
+        play = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH).getPlay();
+    }
+
+    @Test
+    void testPresentStretchesSceneOverView() {
+        SceneBuffer buffer = new SceneBuffer();
+        BufferedImage view = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+        Graphics g = view.getGraphics();
+        Graphics2D scene = buffer.createGraphics(g, 20, 10);
+        scene.setColor(Color.RED);
+        scene.fillRect(0, 0, 10, 10);
+        scene.setColor(Color.BLUE);
+        scene.fillRect(10, 0, 10, 10);
+        scene.dispose();
+        assertTrue(buffer.present(g, 40, 20));
+        g.dispose();
+        assertEquals(Color.RED.getRGB(), view.getRGB(19, 19));
+        assertEquals(Color.BLUE.getRGB(), view.getRGB(20, 0));
+        assertEquals(20, buffer.getWidth());
+        buffer.flush();
+        assertEquals(0, buffer.getWidth());
+        assertThrows(IllegalArgumentException.class, () -> buffer.createGraphics(g, 0, 10));
+    }
+
+    @Test
+    void testReducedResolutionLooksLikeFullResolution() {
+        BufferedImage full = render(play);
+        play.setRenderResolution(0.5f);
+        BufferedImage reduced = render(play);
+        assertEquals(625, play.getSceneBuffer().getWidth());
+        assertEquals(438, play.getSceneBuffer().getHeight());
+        assertEquals(1, play.getProfiler().getHistogram(Phase.UPSCALE).getCount());
+        assertEquals(0.5f, play.getBoard().getStaticLayer().getScale());
+        long difference = 0;
+        for (int y = HUD_HEIGHT; y < full.getHeight(); y++) {
+            for (int x = 0; x < full.getWidth(); x++) {
+                difference += distance(full.getRGB(x, y), reduced.getRGB(x, y));
+            }
+        }
+        double average = difference / (double) (full.getWidth() * (full.getHeight() - HUD_HEIGHT));
+        assertTrue(average < 40, "average difference " + average);
+
+        play.setRenderResolution(1f);
+        render(play);
+        assertEquals(0, play.getSceneBuffer().getWidth());
+        assertEquals(1f, play.getBoard().getStaticLayer().getScale());
+    }
+
+    @Test
+    void testHudStaysAtFullResolution() {
+        play.setRenderResolution(0.5f);
+        BufferedImage reduced = render(play);
+        play.setRenderResolution(1f);
+        BufferedImage full = render(play);
+        int text = 0;
+        int matching = 0;
+        for (int y = 0; y < HUD_HEIGHT; y++) {
+            for (int x = 0; x < full.getWidth(); x++) {
+                if (full.getRGB(x, y) == TEXT_RGB) {
+                    text++;
+                    if (reduced.getRGB(x, y) == TEXT_RGB) {
+                        matching++;
+                    }
+                }
+            }
+        }
+        assertTrue(text > 0);
+        assertTrue(matching > text * 0.9, matching + " of " + text + " text pixels kept");
+    }
+
+    @Test
+    void testInvalidRenderResolution() {
+        assertThrows(IllegalArgumentException.class, () -> play.setRenderResolution(0f));
+        assertThrows(IllegalArgumentException.class, () -> play.setRenderResolution(1.01f));
+        assertThrows(IllegalArgumentException.class, () -> play.setRenderResolution(Float.NaN));
+        assertEquals(1f, play.getRenderResolution());
+    }
+
+    private static BufferedImage render(Play play) {
+        BufferedImage image = new BufferedImage(1250, 875, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        play.render(g);
+        g.dispose();
+        return image;
+    }
+
+    private static int distance(int rgb, int other) {
+        return Math.abs(((rgb >> 16) & 0xFF) - ((other >> 16) & 0xFF))
+                + Math.abs(((rgb >> 8) & 0xFF) - ((other >> 8) & 0xFF))
+                + Math.abs((rgb & 0xFF) - (other & 0xFF));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.gamestate;
+
+import com.example.game.HeadlessEngine;
+import com.example.utils.AtlasRegion;
+import com.example.utils.ResourceLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotBufferTest {
+    private static final int HUD_HEIGHT = 200;
+
+    private SnapshotBuffer buffer;
+    private AtlasRegion region;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new SnapshotBuffer();
+        region = new AtlasRegion(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), 0, 0, 4, 4);
+    }
+
+    @Test
+    void testAcquireReturnsLatestPublished() {
+        assertEquals(0, buffer.acquire().getSequence());
+        buffer.getBack().begin(null, 0, 0, 0, 0);
+        buffer.getBack().add(region, 1, 1, 1, 1);
+        buffer.publish();
+        buffer.getBack().begin(null, 0, 0, 0, 0);
+        buffer.publish();
+        WorldSnapshot latest = buffer.acquire();
+        assertEquals(2, latest.getSequence());
+        assertEquals(0, latest.size());
+        assertSame(latest, buffer.acquire());
+        assertNotSame(latest, buffer.getBack());
+        assertEquals(2, buffer.getPublishedCount());
+    }
+
+    @Test
+    void testWriterNeverTouchesAcquiredSnapshot() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= 20_000; i++) {
+                WorldSnapshot snapshot = buffer.getBack();
+                snapshot.begin(null, i, i, i, i);
+                for (int j = 0; j < i % 7; j++) {
+                    snapshot.add(region, i, i, i, i);
+                }
+                buffer.publish();
+            }
+        });
+        writer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+        writer.start();
+        long lastSequence = 0;
+        while (writer.isAlive()) {
+            WorldSnapshot snapshot = buffer.acquire();
+            long sequence = snapshot.getSequence();
+            assertTrue(sequence >= lastSequence);
+            lastSequence = sequence;
+            if (sequence > 0) {
+                assertEquals(sequence, (long) snapshot.getCameraX(1f));
+                assertEquals(sequence % 7, snapshot.size());
+                for (int j = 0; j < snapshot.size(); j++) {
+                    assertEquals(sequence, (long) snapshot.getX(j, 0.5f));
+                }
+            }
+        }
+        writer.join();
+        assertNull(failure.get());
+        assertEquals(20_000, buffer.acquire().getSequence());
+    }
+
+    @Test
+    void testSnapshotInterpolatesAndGrows() {
+        WorldSnapshot snapshot = new WorldSnapshot(1);
+        snapshot.begin(null, 0, 10, 20, 30);
+        snapshot.add(region, 0, 0, 10, -10);
+        snapshot.add(region, 5, 5, 5, 5);
+        assertEquals(2, snapshot.size());
+        assertTrue(snapshot.getCapacity() >= 2);
+        assertEquals(10f, snapshot.getCameraX(0.5f));
+        assertEquals(30f, snapshot.getCameraY(1f));
+        assertEquals(2.5f, snapshot.getX(0, 0.25f));
+        assertEquals(-10f, snapshot.getY(0, 1f));
+        assertSame(region, snapshot.getRegion(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getX(2, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new WorldSnapshot(0));
+    }
+
+    @Test
+    void testPublishedSnapshotDrawsLikeLiveWorld() {
+        HeadlessEngine engine = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH);
+        Play play = engine.getPlay();
+        engine.pressKey(KeyEvent.VK_D);
+        engine.pressKey(KeyEvent.VK_S);
+        for (int i = 0; i < 30; i++) {
+            engine.step();
+        }
+        BufferedImage live = render(play, 0.5f);
+        play.setPublishingSnapshots(true);
+        assertArrayEquals(pixels(live), pixels(render(play, 0.5f)));
+
+        BufferedImage before = render(play, 1f);
+        engine.step();
+        BufferedImage published = render(play, 1f);
+        assertFalse(Arrays.equals(pixels(before), pixels(published)));
+        play.setPublishingSnapshots(false);
+        assertArrayEquals(pixels(published), pixels(render(play, 1f)));
+    }
+
+    @Test
+    void testAlphaComesFromDrawnSnapshot() {
+        HeadlessEngine engine = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH);
+        Play play = engine.getPlay();
+        play.setPublishingSnapshots(true);
+        engine.pressKey(KeyEvent.VK_D);
+        for (int i = 0; i < 10; i++) {
+            engine.step();
+        }
+        WorldSnapshot latest = play.getSnapshots().acquire();
+        long updateTime = latest.getUpdateTime();
+        assertTrue(updateTime > 0);
+        assertEquals(0f, latest.getAlpha(updateTime - 5, 1000));
+        assertEquals(0.5f, latest.getAlpha(updateTime + 500, 1000));
+        assertEquals(1f, latest.getAlpha(updateTime + 5000, 1000));
+
+        BufferedImage expected = render(play, 0.25f);
+        BufferedImage actual = new BufferedImage(1250, 875, BufferedImage.TYPE_INT_RGB);
+        Graphics g = actual.getGraphics();
+        play.renderAt(g, updateTime + 1_000_000, 4_000_000);
+        g.dispose();
+        assertArrayEquals(pixels(expected), pixels(actual));
+    }
+
+    @Test
+    void testSnapshotKeepsHudValues() {
+        HeadlessEngine engine = new HeadlessEngine(ResourceLoader.LEVEL_ONE_PATH);
+        Play play = engine.getPlay();
+        play.setPublishingSnapshots(true);
+        WorldSnapshot latest = play.getSnapshots().acquire();
+        assertEquals(0, latest.getScore());
+        assertEquals(0, latest.getMeatCount());
+        assertTrue(latest.getTotalMeatCount() > 0);
+        latest.setHud(3, 40, 1, latest.getTotalMeatCount());
+        render(play, 1f);
+        assertEquals(1, play.getHud().getRedraws());
+        latest.setHud(4, 40, 1, latest.getTotalMeatCount());
+        render(play, 1f);
+        assertEquals(2, play.getHud().getRedraws());
+    }
+
+    private static BufferedImage render(Play play, float alpha) {
+        BufferedImage image = new BufferedImage(1250, 875, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        play.render(g, alpha);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Returns the pixels below the timer and scoreboard, which follow the wall clock.
+     */
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, HUD_HEIGHT, image.getWidth(), image.getHeight() - HUD_HEIGHT, null, 0,
+                image.getWidth());
+    }
+}
@@ -5,7 +5,8 @@ import com.example.gamestate.Play;
 import com.example.utils.ResourceLoader;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -147,4 +148,22 @@ public class BoardTest {
         int actual = board.getCellSize();
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void getVisibleCells() {
+        Board large = new Board(new int[100][100], mockplay);
+        assertEquals(new Rectangle(0, 0, 11, 8), large.getVisibleCells(0, 0, 1250, 875));
+        assertEquals(new Rectangle(39, 19, 13, 9), large.getVisibleCells(5000, 2500, 1300, 875));
+        assertEquals(new Rectangle(89, 92, 11, 8), large.getVisibleCells(11250, 11625, 1250, 875));
+        assertEquals(0, large.getVisibleCells(20000, 0, 1250, 875).width);
+    }
+
+    @Test
+    public void renderOnlyVisibleCells() {
+        Board large = new Board(new int[100][100], mockplay);
+        Graphics g = mock(Graphics.class);
+        large.render(g, 5000, 2500, 1250, 875);
+        verify(g, times(12 * 9)).drawImage(any(Image.class), anyInt(), anyInt(), anyInt(), anyInt(), isNull());
+        verify(g).drawImage(any(Image.class), eq(-125), eq(-125), eq(125), eq(125), isNull());
+    }
 }
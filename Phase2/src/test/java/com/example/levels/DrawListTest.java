@@ -0,0 +1,87 @@
+package com.example.levels;
+
+import com.example.entities.GameEntity;
+import org.junit.jupiter.api.*;
+
+import java.awt.geom.Rectangle2D;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DrawListTest {
+    private DrawList drawList;
+
+    @BeforeEach
+    void setup() {
+        drawList = new DrawList(4);
+    }
+
+    private GameEntity entityAt(float y) {
+        GameEntity entity = mock(GameEntity.class);
+        when(entity.getCollisionBox()).thenReturn(new Rectangle2D.Float(0, y, 40, 40));
+        return entity;
+    }
+
+    @Test
+    public void sortsByBottomEdge() {
+        GameEntity low = entityAt(900);
+        GameEntity high = entityAt(-300);
+        GameEntity middle = entityAt(260);
+        drawList.add(low);
+        drawList.add(high);
+        drawList.add(middle);
+        assertEquals(940, drawList.getKey(0));
+        drawList.sort();
+        assertSame(high, drawList.get(0));
+        assertSame(middle, drawList.get(1));
+        assertSame(low, drawList.get(2));
+        assertEquals(-260, drawList.getKey(0));
+    }
+
+    @Test
+    public void sortIsStableAcrossManyKeys() {
+        GameEntity[] entities = new GameEntity[300];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = mock(GameEntity.class);
+            drawList.add(entities[i], (i * 7919) % 100_000 - 50_000);
+        }
+        GameEntity same = mock(GameEntity.class);
+        drawList.add(same, drawList.getKey(10));
+        drawList.sort();
+        assertEquals(301, drawList.size());
+        assertTrue(drawList.getCapacity() >= 301);
+        for (int i = 1; i < drawList.size(); i++) {
+            assertTrue(drawList.getKey(i - 1) <= drawList.getKey(i));
+            if (drawList.get(i) == same) {
+                assertSame(entities[10], drawList.get(i - 1));
+            }
+        }
+    }
+
+    @Test
+    public void keepsEachSpriteOnceInDrawingOrder() {
+        GameEntity front = entityAt(500);
+        GameEntity back = entityAt(100);
+        drawList.add(front);
+        drawList.add(back);
+        drawList.add(front);
+        drawList.sort();
+        assertEquals(2, drawList.size());
+        assertSame(back, drawList.get(0));
+        assertSame(front, drawList.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> drawList.get(2));
+    }
+
+    @Test
+    public void clearKeepsCapacity() {
+        for (int i = 0; i < 10; i++) {
+            drawList.add(entityAt(i));
+        }
+        int capacity = drawList.getCapacity();
+        drawList.clear();
+        assertEquals(0, drawList.size());
+        assertEquals(capacity, drawList.getCapacity());
+        assertThrows(IndexOutOfBoundsException.class, () -> drawList.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new DrawList(0));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.levels;
+
+import com.example.entities.GameEntity;
+import org.junit.jupiter.api.*;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SpatialGridTest {
+    private SpatialGrid<GameEntity> grid;
+    private ArrayList<GameEntity> result;
+
+    @BeforeEach
+    void setup() {
+        grid = new SpatialGrid<>(5000, 4000, 500);
+        result = new ArrayList<>();
+    }
+
+    private GameEntity entityAt(float x, float y) {
+        // The grid keeps the bucket of an entity on the entity, so the mock runs the real methods of GameEntity.
+        GameEntity entity = mock(GameEntity.class, withSettings().useConstructor(null, null, null, null)
+                .defaultAnswer(CALLS_REAL_METHODS));
+        doReturn(new Rectangle2D.Float(x, y, 40, 40)).when(entity).getCollisionBox();
+        return entity;
+    }
+
+    @Test
+    public void queryReturnsNearbyEntities() {
+        GameEntity near = entityAt(600, 700);
+        GameEntity far = entityAt(4200, 3600);
+        grid.add(near);
+        grid.add(far);
+        grid.add(near);
+        assertEquals(2, grid.size());
+        grid.query(0, 0, 1250, 875, result);
+        assertEquals(1, result.size());
+        assertSame(near, result.get(0));
+        result.clear();
+        grid.query(-1000, -1000, 10000, 10000, result);
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    public void moveChangesBucketOnlyWhenCrossingIt() {
+        GameEntity goblin = entityAt(480, 100);
+        grid.add(goblin);
+        goblin.getCollisionBox().x = 490;
+        assertFalse(grid.move(goblin));
+        goblin.getCollisionBox().x = 2600;
+        assertTrue(grid.move(goblin));
+        grid.query(0, 0, 1000, 1000, result);
+        assertTrue(result.isEmpty());
+        grid.query(2500, 0, 500, 500, result);
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    public void removeAndClear() {
+        GameEntity meat = entityAt(100, 100);
+        GameEntity coin = entityAt(150, 100);
+        GameEntity outside = entityAt(-300, 9000);
+        grid.add(meat);
+        grid.add(coin);
+        grid.add(outside);
+        assertTrue(grid.remove(meat));
+        assertFalse(grid.remove(meat));
+        assertFalse(grid.move(meat));
+        grid.query(0, 3500, 500, 500, result);
+        assertEquals(1, result.size());
+        assertSame(outside, result.get(0));
+        grid.clear();
+        assertEquals(0, grid.size());
+        result.clear();
+        grid.query(0, 0, 5000, 4000, result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void bucketIsKeptOnEntity() {
+        GameEntity goblin = entityAt(600, 100);
+        assertEquals(-1, goblin.getGridBucket());
+        grid.add(goblin);
+        assertEquals(1, goblin.getGridBucket());
+        goblin.getCollisionBox().y = 1200;
+        assertTrue(grid.move(goblin));
+        assertEquals(21, goblin.getGridBucket());
+        assertTrue(grid.remove(goblin));
+        assertEquals(-1, goblin.getGridBucket());
+        grid.add(goblin);
+        grid.clear();
+        assertEquals(-1, goblin.getGridBucket());
+    }
+
+    @Test
+    public void invalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialGrid<GameEntity>(0, 100, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialGrid<GameEntity>(100, 100, 0));
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.levels;
+
+import com.example.entities.House;
+import com.example.entities.Tree;
+import com.example.gamestate.Play;
+import org.junit.jupiter.api.*;
+import org.mockito.MockedStatic;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StaticLayerTest {
+    private Board board;
+    private StaticLayer layer;
+
+    @BeforeEach
+    void setup() {
+        int[][] level = new int[20][20];
+        for (int i = 0; i < 20; i++) {
+            level[0][i] = 1;
+            level[19][i] = 1;
+            level[i][0] = 1;
+            level[i][19] = 1;
+        }
+        level[8][7] = 1;
+        level[7][8] = 3;
+        level[12][15] = 3;
+        board = new Board(level, mock(Play.class));
+        layer = board.getStaticLayer();
+    }
+
+    private BufferedImage drawDirectly(int xOff, int yOff, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        board.render(g, xOff, yOff, width, height);
+        for (Tree tree : board.getTrees()) {
+            tree.render(g, xOff, yOff);
+        }
+        for (House house : board.getHouses()) {
+            house.render(g, xOff, yOff);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private BufferedImage drawFromLayer(int xOff, int yOff, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        board.renderStaticLayer(g, xOff, yOff, width, height);
+        g.dispose();
+        return image;
+    }
+
+    @Test
+    public void matchesDirectDrawing() {
+        int[][] views = {{0, 0}, {640, 530}, {1250, 1625}};
+        for (int[] view : views) {
+            BufferedImage expected = drawDirectly(view[0], view[1], 1250, 875);
+            BufferedImage actual = drawFromLayer(view[0], view[1], 1250, 875);
+            for (int y = 0; y < 875; y++) {
+                for (int x = 0; x < 1250; x++) {
+                    assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void drawsTilesOnce() {
+        drawFromLayer(0, 0, 1250, 875);
+        assertEquals(2, layer.getTilesDrawn());
+        drawFromLayer(10, 20, 1250, 875);
+        assertEquals(2, layer.getTilesDrawn());
+        drawFromLayer(1250, 1625, 1250, 875);
+        assertEquals(6, layer.getTilesDrawn());
+        assertEquals(0, layer.getContentLosses());
+        layer.flush();
+        drawFromLayer(0, 0, 1250, 875);
+        assertEquals(8, layer.getTilesDrawn());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedTiles() {
+        layer = new StaticLayer(board, 4, 3);
+        Graphics g = new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB).getGraphics();
+        layer.render(g, 0, 0, 500, 500);
+        layer.render(g, 500, 0, 500, 500);
+        layer.render(g, 1000, 0, 500, 500);
+        layer.render(g, 0, 0, 500, 500);
+        assertEquals(3, layer.getCachedTiles());
+        assertEquals(1, layer.getHits());
+        assertEquals(3, layer.getMisses());
+        layer.render(g, 1500, 0, 500, 500);
+        assertEquals(1, layer.getEvictions());
+        layer.render(g, 0, 0, 500, 500);
+        layer.render(g, 1000, 0, 500, 500);
+        assertEquals(3, layer.getHits());
+        layer.render(g, 500, 0, 500, 500);
+        assertEquals(2, layer.getEvictions());
+        assertEquals(3, layer.getCachedTiles());
+        assertEquals(layer.getMisses(), layer.getTilesDrawn());
+        g.dispose();
+    }
+
+    @Test
+    public void countsRedrawnVolatileTilesAsMisses() {
+        GraphicsConfiguration configuration = mock(GraphicsConfiguration.class);
+        VolatileImage tile = mock(VolatileImage.class);
+        when(tile.getGraphics()).thenReturn(mock(Graphics.class));
+        when(tile.validate(configuration)).thenReturn(VolatileImage.IMAGE_INCOMPATIBLE, VolatileImage.IMAGE_RESTORED,
+                VolatileImage.IMAGE_OK);
+        when(configuration.createCompatibleVolatileImage(anyInt(), anyInt(), anyInt())).thenReturn(tile);
+        Graphics2D g = mock(Graphics2D.class);
+        when(g.getDeviceConfiguration()).thenReturn(configuration);
+        try (MockedStatic<GraphicsEnvironment> environment = mockStatic(GraphicsEnvironment.class)) {
+            environment.when(GraphicsEnvironment::isHeadless).thenReturn(false);
+            layer.render(g, 0, 0, 10, 10);
+            assertEquals(1, layer.getMisses());
+            layer.render(g, 0, 0, 10, 10);
+            assertEquals(0, layer.getHits());
+            assertEquals(2, layer.getMisses());
+            layer.render(g, 0, 0, 10, 10);
+            assertEquals(0, layer.getHits());
+            assertEquals(3, layer.getMisses());
+            layer.render(g, 0, 0, 10, 10);
+        }
+        assertEquals(1, layer.getHits());
+        assertEquals(3, layer.getTilesDrawn());
+        assertEquals(1, layer.getContentLosses());
+    }
+
+    @Test
+    public void drawsScaledTilesWithoutGaps() {
+        drawFromLayer(0, 0, 1250, 875);
+        layer.setScale(0.5f);
+        assertEquals(0, layer.getCachedTiles());
+        int[][] views = {{0, 0}, {640, 530}, {1250, 1625}};
+        for (int[] view : views) {
+            BufferedImage image = new BufferedImage(625, 438, BufferedImage.TYPE_INT_RGB);
+            Graphics g = image.getGraphics();
+            g.setColor(Color.MAGENTA);
+            g.fillRect(0, 0, 625, 438);
+            layer.render(g, view[0], view[1], 1250, 875);
+            g.dispose();
+            for (int y = 0; y < 438; y++) {
+                for (int x = 0; x < 625; x++) {
+                    assertNotEquals(Color.MAGENTA.getRGB(), image.getRGB(x, y), "pixel " + x + "," + y);
+                }
+            }
+        }
+        assertEquals(0.5f, layer.getScale());
+        int tilesDrawn = layer.getTilesDrawn();
+        layer.setScale(0.5f);
+        drawFromLayer(1250, 1625, 1250, 875);
+        assertEquals(tilesDrawn, layer.getTilesDrawn());
+    }
+
+    @Test
+    public void invalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new StaticLayer(board, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new StaticLayer(board, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> layer.setScale(0f));
+        assertThrows(IllegalArgumentException.class, () -> layer.setScale(1.5f));
+    }
+}
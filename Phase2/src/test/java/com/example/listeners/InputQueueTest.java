@@ -0,0 +1,92 @@
+package com.example.listeners;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Component;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class InputQueueTest {
+
+    private InputQueue queue;
+    private Component source;
+
+    @BeforeEach
+    void setUp() {
+        queue = new InputQueue(4);
+        source = mock(Component.class);
+    }
+
+    private KeyEvent press(int keyCode) {
+        return new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+    }
+
+    @Test
+    void testDrainInOrder() {
+        KeyEvent w = press(KeyEvent.VK_W);
+        KeyEvent a = press(KeyEvent.VK_A);
+        long before = System.nanoTime();
+        assertTrue(queue.offer(w));
+        assertTrue(queue.offer(a));
+        assertEquals(2, queue.size());
+
+        List<InputEvent> drained = new ArrayList<>();
+        List<Long> times = new ArrayList<>();
+        assertEquals(2, queue.drain((event, offerTime) -> {
+            drained.add(event);
+            times.add(offerTime);
+        }));
+        assertEquals(w, drained.get(0));
+        assertEquals(a, drained.get(1));
+        assertTrue(times.get(0) >= before);
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.drain((event, offerTime) -> fail("Queue should be empty")));
+    }
+
+    @Test
+    void testFullQueueDropsEvents() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(press(KeyEvent.VK_S)));
+        }
+        assertFalse(queue.offer(press(KeyEvent.VK_D)));
+        assertEquals(1, queue.getDroppedEvents());
+        queue.drain((event, offerTime) -> { });
+        // Slots are reused once drained.
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(press(KeyEvent.VK_S)));
+        }
+    }
+
+    @Test
+    void testConcurrentProducer() throws InterruptedException {
+        InputQueue large = new InputQueue(64);
+        int total = 100_000;
+        KeyEvent event = press(KeyEvent.VK_W);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                while (!large.offer(event)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        int[] received = new int[1];
+        while (received[0] < total) {
+            large.drain((e, offerTime) -> received[0]++);
+        }
+        producer.join();
+        assertEquals(total, received[0]);
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new InputQueue(0));
+        assertThrows(IllegalArgumentException.class, () -> new InputQueue(3));
+    }
+}
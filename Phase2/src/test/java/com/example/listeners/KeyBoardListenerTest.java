@@ -39,8 +39,9 @@ class KeyBoardListenerTest {
         KeyEvent escPressed = new KeyEvent(mockComponent, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_ESCAPE, KeyEvent.CHAR_UNDEFINED);
         keyboardListener.keyPressed(escPressed);
 
-        // Verify the game state changes to PAUSE
-        verify(mockGame, times(1)).setCurrentState(Gamestate.PAUSE);
+        // Verify the press is queued for the game loop, which switches to PAUSE at its next update
+        verify(mockGame, times(1)).queueInput(escPressed);
+        verify(mockGame, never()).setCurrentState(any());
     }
 
     @Test
@@ -52,8 +53,9 @@ class KeyBoardListenerTest {
         KeyEvent escPressed = new KeyEvent(mockComponent, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_ESCAPE, KeyEvent.CHAR_UNDEFINED);
         keyboardListener.keyPressed(escPressed);
 
-        // Verify the game state changes back to PLAYING
-        verify(mockGame, times(1)).setCurrentState(Gamestate.PLAYING);
+        // Verify the press is queued for the game loop, which switches back to PLAYING at its next update
+        verify(mockGame, times(1)).queueInput(escPressed);
+        verify(mockGame, never()).setCurrentState(any());
     }
 
     @Test
@@ -62,8 +64,8 @@ class KeyBoardListenerTest {
         KeyEvent anyKeyReleased = new KeyEvent(mockComponent, KeyEvent.KEY_RELEASED, System.currentTimeMillis(), 0, KeyEvent.VK_A, 'A');
         keyboardListener.keyReleased(anyKeyReleased);
 
-        // Verify the key release is handled by the game
-        verify(mockGame, times(1)).handleKeyBoardRelease(anyKeyReleased);
+        // Verify the key release is queued for the game
+        verify(mockGame, times(1)).queueInput(anyKeyReleased);
     }
     @Test
     void testKeyPressedOtherThanEscape() {
@@ -71,8 +73,8 @@ class KeyBoardListenerTest {
         KeyEvent keyEventA = new KeyEvent(mockComponent, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_A, 'A');
         keyboardListener.keyPressed(keyEventA);
 
-        // Verify the game's handleKeyBoardPress method is called
-        verify(mockGame, times(1)).handleKeyBoardPress(keyEventA);
+        // Verify the key press is queued for the game
+        verify(mockGame, times(1)).queueInput(keyEventA);
     }
     @Test
     void testKeyTypedDoesNotThrowException() {
@@ -30,13 +30,13 @@ class MouseListenerTest {
     @Test
     void testMousePressed() {
         mouseListener.mousePressed(mockEvent);
-        verify(mockGame, times(1)).handleMousePressed(mockEvent);
+        verify(mockGame, times(1)).queueInput(mockEvent);
     }
 
     @Test
     void testMouseReleased() {
         mouseListener.mouseReleased(mockEvent);
-        verify(mockGame, times(1)).handleMouseReleased(mockEvent);
+        verify(mockGame, times(1)).queueInput(mockEvent);
     }
 
     @Test
@@ -0,0 +1,82 @@
+package com.example.metrics;
+
+import org.junit.jupiter.api.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+	private LatencyHistogram histogram;
+
+	@BeforeEach
+	void setup() {
+		histogram = new LatencyHistogram();
+	}
+
+	@Test
+	public void emptyTest() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getPercentile(99));
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getMean());
+	}
+
+	@Test
+	public void percentileTest() {
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1_000_000L, histogram.getMax());
+		assertEquals(500_500.0, histogram.getMean(), 0.001);
+		long p50 = histogram.getPercentile(50);
+		long p99 = histogram.getPercentile(99);
+		// Percentiles are reported at the top of their bucket, at most 12.5% above the true value.
+		assertTrue(p50 >= 500_000L && p50 <= 562_500L);
+		assertTrue(p99 >= 990_000L && p99 <= 1_000_000L);
+		assertEquals(1_000_000L, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void smallAndLargeValuesTest() {
+		histogram.record(-5);
+		histogram.record(3);
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(0, histogram.getPercentile(0));
+		assertEquals(3, histogram.getPercentile(50));
+		assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void invalidPercentileTest() {
+		assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+		assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(-1));
+	}
+
+	@Test
+	public void resetTest() {
+		histogram.record(42);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+	}
+
+	@Test
+	public void recordDoesNotAllocateTest() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		long threadId = Thread.currentThread().getId();
+		for (int i = 0; i < 100_000; i++) {
+			histogram.record(i);
+		}
+		long before = allocations.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 100_000; i++) {
+			histogram.record(i * 31L);
+		}
+		long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+		assertTrue(allocated < 1024, "Recording allocated " + allocated + " bytes");
+	}
+}
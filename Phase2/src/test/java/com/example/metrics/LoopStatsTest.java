@@ -0,0 +1,40 @@
+package com.example.metrics;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoopStatsTest {
+	private LoopStats stats;
+
+	@BeforeEach
+	void setup() {
+		stats = new LoopStats();
+	}
+
+	@Test
+	public void recordTest() {
+		stats.record(1, 0);
+		stats.record(1, 0);
+		assertEquals(2, stats.getUpdates());
+		assertEquals(0, stats.getCatchUpBursts());
+		assertEquals(1, stats.getLongestBurst());
+
+		stats.record(5, 37);
+		stats.record(3, 0);
+		assertEquals(10, stats.getUpdates());
+		assertEquals(37, stats.getDroppedTicks());
+		assertEquals(2, stats.getCatchUpBursts());
+		assertEquals(5, stats.getLongestBurst());
+	}
+
+	@Test
+	public void resetTest() {
+		stats.record(4, 2);
+		stats.reset();
+		assertEquals(0, stats.getUpdates());
+		assertEquals(0, stats.getDroppedTicks());
+		assertEquals(0, stats.getCatchUpBursts());
+		assertEquals(0, stats.getLongestBurst());
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.metrics;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProfilerTest {
+	private Profiler profiler;
+
+	@BeforeEach
+	void setup() {
+		profiler = new Profiler();
+	}
+
+	@Test
+	public void stopRecordsDurationTest() {
+		long start = profiler.start();
+		LockSupport.parkNanos(2_000_000L);
+		profiler.stop(Phase.TICK, start);
+		LatencyHistogram tick = profiler.getHistogram(Phase.TICK);
+		assertEquals(1, tick.getCount());
+		assertTrue(tick.getMax() >= 2_000_000L);
+		assertEquals(0, profiler.getHistogram(Phase.FRAME).getCount());
+	}
+
+	@Test
+	public void disabledTest() {
+		profiler.setEnabled(false);
+		assertFalse(profiler.isEnabled());
+		profiler.stop(Phase.TICK, profiler.start());
+		assertEquals(0, profiler.getHistogram(Phase.TICK).getCount());
+	}
+
+	@Test
+	public void reportTest() {
+		profiler.stop(Phase.GOBLIN_UPDATE, profiler.start());
+		String report = profiler.report();
+		assertTrue(report.contains("GOBLIN_UPDATE"));
+		assertFalse(report.contains("BOARD_RENDER"));
+		profiler.reset();
+		assertEquals(0, profiler.getHistogram(Phase.GOBLIN_UPDATE).getCount());
+	}
+}
@@ -0,0 +1,61 @@
+package com.example.metrics;
+
+import com.example.game.QualityController;
+import com.example.game.QualityTier;
+import com.example.utils.ResourceLoader;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderBenchmarkTest {
+	private RenderBenchmark benchmark;
+
+	@BeforeEach
+	void setup() {
+		benchmark = new RenderBenchmark(ResourceLoader.LEVEL_ONE_PATH, 50f);
+	}
+
+	@Test
+	public void recordsEveryFrameTest() {
+		benchmark.run(40);
+		assertEquals(40, benchmark.getFrameTimes().getCount());
+		assertTrue(benchmark.getFrameTimes().getPercentile(50) > 0);
+		assertEquals(40, benchmark.getPlay().getProfiler().getHistogram(Phase.HUD_RENDER).getCount());
+		double allocated = benchmark.getAllocatedBytesPerFrame();
+		assertTrue(allocated == -1 || allocated >= 0);
+		assertTrue(benchmark.report().startsWith("40 frames"));
+		benchmark.reset();
+		assertEquals(0, benchmark.getFrameTimes().getCount());
+	}
+
+	@Test
+	public void cameraFollowsPathTest() {
+		benchmark.run(1);
+		float startX = benchmark.getPlay().getCamera().getCameraXPos();
+		benchmark.run(40);
+		assertTrue(benchmark.getPlay().getCamera().getCameraXPos() > startX);
+	}
+
+	@Test
+	public void qualityTiersHoldFrameBudgetTest() {
+		benchmark.run(300);
+		benchmark.reset();
+		benchmark.run(300);
+		long frameNanos = Math.round(benchmark.getFrameTimes().getMean());
+		// Every due frame cannot fit in a budget of 70% of a frame, but every other one can.
+		QualityController quality = new QualityController(frameNanos * 7 / 10, QualityTier.HIGH, 30, true);
+		benchmark.setQualityController(quality);
+		benchmark.reset();
+		benchmark.run(600);
+		assertEquals(QualityTier.LOW, quality.getTier(), quality.report());
+		assertTrue(quality.getLoad() <= 1, quality.report());
+		assertTrue(benchmark.getFrameTimes().getCount() < 450);
+		assertEquals(QualityTier.LOW.getHudRefreshFrames(), benchmark.getPlay().getHud().getRefreshFrames());
+	}
+
+	@Test
+	public void invalidValuesTest() {
+		assertThrows(IllegalArgumentException.class, () -> new RenderBenchmark(ResourceLoader.LEVEL_ONE_PATH, 0f));
+		assertThrows(IllegalArgumentException.class, () -> benchmark.run(-1));
+	}
+}
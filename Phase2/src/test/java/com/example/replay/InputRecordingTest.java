@@ -0,0 +1,73 @@
+package com.example.replay;
+
+import com.example.gamestate.Play;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputRecordingTest {
+	private InputRecording recording;
+
+	@BeforeEach
+	void setup() {
+		recording = new InputRecording("levels/testlevel.txt", 1234, 144);
+	}
+
+	@Test
+	public void appendMergesRunsTest() {
+		for (int i = 0; i < 500; i++) {
+			recording.append(Play.INPUT_RIGHT);
+		}
+		recording.append(Play.INPUT_RIGHT | InputRecording.PAUSED);
+		recording.append(0);
+		recording.append(0);
+		assertEquals(503, recording.getTickCount());
+		assertEquals(3, recording.getRunCount());
+		assertEquals(Play.INPUT_RIGHT, recording.getRunMask(0));
+		assertEquals(500, recording.getRunLength(0));
+		assertEquals(2, recording.getRunLength(2));
+	}
+
+	@Test
+	public void saveAndLoadTest(@TempDir File directory) throws IOException {
+		for (int i = 0; i < 100_000; i++) {
+			recording.append(i < 60_000 ? Play.INPUT_DOWN : Play.INPUT_UP | Play.INPUT_LEFT);
+		}
+		recording.setEndStateChecksum(-42L);
+		File file = new File(directory, "run.rec");
+		recording.save(file);
+		// Two runs of a hundred thousand updates take a few bytes past the header.
+		assertTrue(file.length() < 64);
+
+		InputRecording loaded = InputRecording.load(file);
+		assertEquals("levels/testlevel.txt", loaded.getLevelPath());
+		assertEquals(1234, loaded.getLevelChecksum());
+		assertEquals(144, loaded.getTicksPerSecond());
+		assertEquals(-42L, loaded.getEndStateChecksum());
+		assertEquals(100_000, loaded.getTickCount());
+		assertEquals(2, loaded.getRunCount());
+		assertEquals(60_000, loaded.getRunLength(0));
+		assertEquals(Play.INPUT_UP | Play.INPUT_LEFT, loaded.getRunMask(1));
+	}
+
+	@Test
+	public void loadRejectsOtherFilesTest(@TempDir File directory) throws IOException {
+		File file = new File(directory, "other.rec");
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+		}
+		assertThrows(IOException.class, () -> InputRecording.load(file));
+	}
+
+	@Test
+	public void checksumLevelTest() {
+		int[][] level = {{1, 1}, {1, 2}};
+		int[][] same = {{1, 1}, {1, 2}};
+		int[][] other = {{1, 1}, {2, 1}};
+		assertEquals(InputRecording.checksumLevel(level), InputRecording.checksumLevel(same));
+		assertNotEquals(InputRecording.checksumLevel(level), InputRecording.checksumLevel(other));
+	}
+}
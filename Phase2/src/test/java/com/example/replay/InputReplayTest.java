@@ -0,0 +1,89 @@
+package com.example.replay;
+
+import com.example.game.HeadlessEngine;
+import com.example.game.InputScript;
+import com.example.gamestate.Gamestate;
+import com.example.utils.ResourceLoader;
+import com.example.utils.SimulationClock;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputReplayTest {
+	private static final String LEVEL = ResourceLoader.LEVEL_ONE_PATH;
+
+	private InputRecording record(String script, long ticks, File file) throws IOException {
+		return record(script, ticks, SimulationClock.REFERENCE_TICKS_PER_SECOND, file);
+	}
+
+	private InputRecording record(String script, long ticks, int ticksPerSecond, File file) throws IOException {
+		HeadlessEngine engine = new HeadlessEngine(LEVEL, InputScript.parse(script));
+		engine.getPlay().getClock().setTicksPerSecond(ticksPerSecond);
+		InputRecording recording = new InputRecording(LEVEL,
+				InputRecording.checksumLevel(ResourceLoader.getLevel(LEVEL)), ticksPerSecond);
+		InputRecorder recorder = new InputRecorder(recording, file);
+		engine.setRecorder(recorder);
+		engine.run(ticks);
+		recorder.finish();
+		assertTrue(recorder.isFinished());
+		return InputRecording.load(file);
+	}
+
+	@Test
+	public void replayMatchesRecordingTest(@TempDir File directory) throws IOException {
+		InputRecording recording = record("0:+S,150:-S,150:+ESC,200:+ESC,200:+D,260:+W,400:-W,400:-D", 2000,
+				new File(directory, "run.rec"));
+		assertEquals(2000, recording.getTickCount());
+
+		InputReplay replay = new InputReplay(recording);
+		assertEquals(2000, replay.run());
+		assertTrue(replay.matchesRecording());
+		assertEquals(Gamestate.PLAYING, replay.getEngine().getCurrentState());
+	}
+
+	@Test
+	public void replayAtRecordedRateTest(@TempDir File directory) throws IOException {
+		InputRecording recording = record("0:+S,60:-S,60:+D,200:-D", 400, 60, new File(directory, "slow.rec"));
+		assertEquals(60, recording.getTicksPerSecond());
+
+		InputReplay replay = new InputReplay(recording);
+		assertEquals(60, replay.getEngine().getPlay().getClock().getTicksPerSecond());
+		replay.run();
+		assertTrue(replay.matchesRecording());
+		assertEquals(SimulationClock.REFERENCE_TICKS_PER_SECOND,
+				new HeadlessEngine(LEVEL).getPlay().getClock().getTicksPerSecond());
+	}
+
+	@Test
+	public void replayEndsInDefeatTest(@TempDir File directory) throws IOException {
+		InputRecording recording = record("0:+S,400:-S", 100_000, new File(directory, "defeat.rec"));
+		InputReplay replay = new InputReplay(recording);
+		replay.run();
+		assertTrue(replay.matchesRecording());
+		assertEquals(Gamestate.DEFEAT, replay.getEngine().getCurrentState());
+	}
+
+	@Test
+	public void changedInputDiffersTest(@TempDir File directory) throws IOException {
+		InputRecording recording = record("0:+S,150:-S", 300, new File(directory, "run.rec"));
+		InputRecording changed = new InputRecording(recording.getLevelPath(), recording.getLevelChecksum(),
+				recording.getTicksPerSecond());
+		changed.setEndStateChecksum(recording.getEndStateChecksum());
+		for (int i = 0; i < recording.getTickCount(); i++) {
+			changed.append(0);
+		}
+		InputReplay replay = new InputReplay(changed);
+		replay.run();
+		assertFalse(replay.matchesRecording());
+	}
+
+	@Test
+	public void otherLevelIsRejectedTest() {
+		InputRecording recording = new InputRecording(LEVEL, 0, 144);
+		assertThrows(IllegalArgumentException.class, () -> new InputReplay(recording));
+	}
+}
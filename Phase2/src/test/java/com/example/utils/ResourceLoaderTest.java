@@ -0,0 +1,74 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceLoaderTest {
+
+	@BeforeEach
+	void setup() {
+		ResourceLoader.clearCaches();
+	}
+
+	@Test
+	public void imageIsSharedTest() throws IOException {
+		assertSame(ResourceLoader.getImage(ResourceLoader.GOBLIN_PATH), ResourceLoader.getImage(ResourceLoader.GOBLIN_PATH));
+	}
+
+	@Test
+	public void levelIsSharedTest() {
+		int[][] level = ResourceLoader.getLevel(ResourceLoader.LEVEL_TEST_PATH);
+		assertSame(level, ResourceLoader.getLevel(ResourceLoader.LEVEL_TEST_PATH));
+		ResourceLoader.clearCaches();
+		int[][] reloaded = ResourceLoader.getLevel(ResourceLoader.LEVEL_TEST_PATH);
+		assertNotSame(level, reloaded);
+		assertArrayEquals(level, reloaded);
+	}
+
+	@Test
+	public void imagesAreCompatibleTest() throws IOException {
+		BufferedImage image = ResourceLoader.getImage(ResourceLoader.GOBLIN_PATH);
+		BufferedImage expected = GraphicsEnvironment.isHeadless()
+				? new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE)
+				: GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(1, 1, image.getTransparency());
+		assertEquals(expected.getType(), image.getType());
+		assertEquals(expected.getColorModel(), image.getColorModel());
+		BufferedImage frame = ResourceLoader.toCompatibleImage(image.getSubimage(192, 0, 192, 192));
+		assertEquals(192, frame.getWidth());
+		assertEquals(image.getRGB(250, 90), frame.getRGB(58, 90));
+	}
+
+	@Test
+	public void imagePartIsSharedTest() throws IOException {
+		BufferedImage image = ResourceLoader.getImage(ResourceLoader.GOBLIN_PATH);
+		BufferedImage part = ResourceLoader.getImagePart(ResourceLoader.GOBLIN_PATH, 192, 0, 192, 192);
+		assertSame(part, ResourceLoader.getImagePart(ResourceLoader.GOBLIN_PATH, 192, 0, 192, 192));
+		assertNotSame(part, ResourceLoader.getImagePart(ResourceLoader.GOBLIN_PATH, 0, 0, 192, 192));
+		assertEquals(192, part.getWidth());
+		assertEquals(image.getType(), part.getType());
+		assertEquals(image.getRGB(250, 90), part.getRGB(58, 90));
+	}
+
+	@Test
+	public void resampleTest() {
+		BufferedImage image = new BufferedImage(100, 60, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < 60; y++) {
+			for (int x = 50; x < 100; x++) {
+				image.setRGB(x, y, 0xFF00FF00);
+			}
+		}
+		BufferedImage resampled = ResourceLoader.resample(image, 50, 0, 50, 60, 10, 12);
+		assertEquals(10, resampled.getWidth());
+		assertEquals(12, resampled.getHeight());
+		assertEquals(0xFF00FF00, resampled.getRGB(0, 0));
+		assertEquals(0xFF00FF00, resampled.getRGB(9, 11));
+		assertEquals(0, ResourceLoader.resample(image, 0, 0, 50, 60, 40, 48).getRGB(20, 20));
+		assertThrows(IllegalArgumentException.class, () -> ResourceLoader.resample(image, 0, 0, 50, 60, 0, 10));
+	}
+}
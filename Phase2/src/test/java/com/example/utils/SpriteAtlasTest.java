@@ -0,0 +1,143 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpriteAtlasTest {
+	private SpriteAtlas atlas;
+	private BufferedImage sheet;
+
+	@BeforeEach
+	void setup() {
+		atlas = new SpriteAtlas(100);
+		sheet = new BufferedImage(90, 60, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < 60; y++) {
+			for (int x = 0; x < 90; x++) {
+				sheet.setRGB(x, y, 0xFF000000 | (x << 16) | (y << 8) | (x / 30 + 3 * (y / 30)));
+			}
+		}
+	}
+
+	@Test
+	public void packCopiesEveryFrameTest() {
+		BufferedImage tall = new BufferedImage(20, 50, BufferedImage.TYPE_INT_ARGB);
+		atlas.add("sheet", sheet, 30, 30, 2, 3);
+		atlas.add("tall", tall, 20, 50, 1, 1);
+		atlas.pack();
+		assertEquals(7, atlas.getRegionCount());
+		assertTrue(atlas.getImage().getWidth() <= 100);
+		for (int frame = 0; frame < 6; frame++) {
+			AtlasRegion region = atlas.getRegion("sheet", frame);
+			assertEquals(30, region.getWidth());
+			for (int y = 0; y < 30; y += 7) {
+				for (int x = 0; x < 30; x += 7) {
+					int sourceX = frame % 3 * 30 + x;
+					int sourceY = frame / 3 * 30 + y;
+					assertEquals(sheet.getRGB(sourceX, sourceY),
+							atlas.getImage().getRGB(region.getX() + x, region.getY() + y));
+				}
+			}
+			for (int other = 0; other < frame; other++) {
+				AtlasRegion previous = atlas.getRegion("sheet", other);
+				assertFalse(new Rectangle(region.getX(), region.getY(), 30, 30).intersects(
+						new Rectangle(previous.getX(), previous.getY(), 30, 30)));
+			}
+		}
+		assertEquals(new Point(0, 0), new Point(atlas.getRegion("tall", 0).getX(), atlas.getRegion("tall", 0).getY()));
+		assertNull(atlas.getRegion("sheet", 6));
+		assertNull(atlas.getRegion("other", 0));
+	}
+
+	@Test
+	public void framesByIdentityTest() {
+		atlas.add("sheet", sheet, 30, 30, 2, 3);
+		assertNull(atlas.getFrames(sheet, 30, 30));
+		atlas.pack();
+		assertEquals(6, atlas.getFrames(sheet, 30, 30).length);
+		assertNull(atlas.getFrames(sheet, 45, 30));
+		assertNull(atlas.getFrames(new BufferedImage(90, 60, BufferedImage.TYPE_INT_ARGB), 30, 30));
+		assertThrows(IllegalStateException.class, () -> atlas.add("late", sheet, 30, 30, 1, 1));
+	}
+
+	@Test
+	public void mirroredFramesTest() {
+		atlas.add("sheet", sheet, 30, 30, 2, 3, true);
+		atlas.pack();
+		assertEquals(12, atlas.getRegionCount());
+		assertEquals(6, atlas.getMirroredFrames(sheet, 30, 30).length);
+		for (int frame = 0; frame < 6; frame++) {
+			AtlasRegion region = atlas.getMirroredRegion("sheet", frame);
+			for (int y = 0; y < 30; y += 7) {
+				for (int x = 0; x < 30; x += 7) {
+					int sourceX = frame % 3 * 30 + 29 - x;
+					int sourceY = frame / 3 * 30 + y;
+					assertEquals(sheet.getRGB(sourceX, sourceY),
+							atlas.getImage().getRGB(region.getX() + x, region.getY() + y));
+				}
+			}
+		}
+		assertNull(atlas.getMirroredRegion("sheet", 6));
+	}
+
+	@Test
+	public void invalidFramesTest() {
+		assertThrows(IllegalArgumentException.class, () -> atlas.add("sheet", sheet, 30, 30, 3, 3));
+		assertThrows(IllegalArgumentException.class, () -> atlas.add("wide", new BufferedImage(200, 10,
+				BufferedImage.TYPE_INT_ARGB), 200, 10, 1, 1));
+		atlas.add("sheet", sheet, 30, 30, 1, 1);
+		assertThrows(IllegalArgumentException.class, () -> atlas.add("sheet", sheet, 30, 30, 1, 1));
+	}
+
+	@Test
+	public void defaultAtlasTest() {
+		SpriteAtlas atlas = SpriteAtlas.getDefault();
+		assertEquals(64, atlas.getRegionCount());
+		assertEquals(192, atlas.getRegion(ResourceLoader.GOBLIN_PATH, 11).getHeight());
+		assertNotNull(atlas.getMirroredRegion(ResourceLoader.KNIGHT_PATH, 11));
+		assertNull(atlas.getMirroredRegion(ResourceLoader.TNT_PATH, 0));
+		assertSame(atlas.getImage(), atlas.getRegion(ResourceLoader.MEAT_PATH, 0).getSource());
+	}
+
+	@Test
+	public void scaledAtlasTest() {
+		atlas.add("sheet", sheet, 30, 30, 2, 3, true);
+		assertThrows(IllegalStateException.class, () -> atlas.getScaled(0.5f));
+		atlas.pack();
+		assertSame(atlas, atlas.getScaled(1f));
+		SpriteAtlas scaled = atlas.getScaled(2 / 3f);
+		assertSame(scaled, atlas.getScaled(2 / 3f));
+		assertEquals(12, scaled.getRegionCount());
+		AtlasRegion[] frames = atlas.getFrames(sheet, 30, 30, 2 / 3f, false);
+		assertEquals(6, frames.length);
+		assertSame(scaled.getRegion("sheet", 4), frames[4]);
+		assertSame(scaled.getMirroredRegion("sheet", 4), atlas.getFrames(sheet, 30, 30, 2 / 3f, true)[4]);
+		assertEquals(20, frames[4].getWidth());
+		assertEquals(20, frames[4].getHeight());
+		// Every frame is resampled on its own, so its blue channel keeps the index of the frame up to its edges.
+		for (int frame = 0; frame < 6; frame++) {
+			AtlasRegion region = frames[frame];
+			for (int y = 0; y < 20; y += 19) {
+				for (int x = 0; x < 20; x += 19) {
+					assertEquals(frame, scaled.getImage().getRGB(region.getX() + x, region.getY() + y) & 0xFF);
+				}
+			}
+		}
+		assertNull(atlas.getFrames(sheet, 45, 30, 2 / 3f, false));
+		assertThrows(IllegalArgumentException.class, () -> atlas.getScaled(0));
+	}
+
+	@Test
+	public void scaledRegionTest() {
+		AtlasRegion region = new AtlasRegion(sheet, 30, 0, 30, 30);
+		assertSame(region, region.getScaled(30, 30));
+		AtlasRegion scaled = region.getScaled(25, 25);
+		assertEquals(25, scaled.getWidth());
+		assertSame(scaled, region.getScaled(25, 25));
+		assertEquals(1, scaled.getImage().getRGB(12, 12) & 0xFF);
+		assertEquals(40, region.getScaled(40, 20).getWidth());
+	}
+}